@@ -4,9 +4,12 @@ import lombok.Getter;
 import net.swofty.anticheat.api.modifier.CustomModifierRegistry;
 import net.swofty.anticheat.api.player.BypassManager;
 import net.swofty.anticheat.api.player.PlayerDataRegistry;
+import net.swofty.anticheat.engine.SwoftyEngine;
+import net.swofty.anticheat.engine.TickPipeline;
 import net.swofty.anticheat.flag.FlagType;
 import net.swofty.anticheat.prediction.modifier.FrictionModifier;
 import net.swofty.anticheat.prediction.modifier.VelocityModifier;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 
@@ -159,4 +162,15 @@ public class AnticheatAPI {
     public static void clearBypasses(UUID uuid) {
         bypassManager.clearBypasses(uuid);
     }
+
+    /**
+     * Get how long each stage of the anticheat tick took, and how many ticks were backlogged.
+     *
+     * @param reset Whether to start a new measuring window after reading
+     * @return the tick metrics, or null if the anticheat has not started ticking
+     */
+    public static @Nullable TickPipeline.Metrics getTickMetrics(boolean reset) {
+        TickPipeline pipeline = SwoftyEngine.getTickPipeline();
+        return pipeline == null ? null : pipeline.snapshotMetrics(reset);
+    }
 }
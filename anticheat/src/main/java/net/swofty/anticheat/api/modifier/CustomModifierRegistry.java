@@ -6,25 +6,32 @@ import net.swofty.anticheat.prediction.modifier.VelocityModifier;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class CustomModifierRegistry {
     private final List<VelocityModifier> customVelocityModifiers = new CopyOnWriteArrayList<>();
     private final List<FrictionModifier> customFrictionModifiers = new CopyOnWriteArrayList<>();
+    // Bumped on every change so prediction engines know when to recompile their modifier chains
+    private final AtomicLong version = new AtomicLong();
 
     public void registerVelocityModifier(VelocityModifier modifier) {
         customVelocityModifiers.add(modifier);
+        version.incrementAndGet();
     }
 
     public void registerFrictionModifier(FrictionModifier modifier) {
         customFrictionModifiers.add(modifier);
+        version.incrementAndGet();
     }
 
     public void unregisterVelocityModifier(Class<? extends VelocityModifier> modifierClass) {
         customVelocityModifiers.removeIf(modifier -> modifier.getClass().equals(modifierClass));
+        version.incrementAndGet();
     }
 
     public void unregisterFrictionModifier(Class<? extends FrictionModifier> modifierClass) {
         customFrictionModifiers.removeIf(modifier -> modifier.getClass().equals(modifierClass));
+        version.incrementAndGet();
     }
 
     public List<VelocityModifier> getCustomVelocityModifiers() {
@@ -35,8 +42,13 @@ public class CustomModifierRegistry {
         return new ArrayList<>(customFrictionModifiers);
     }
 
+    public long getVersion() {
+        return version.get();
+    }
+
     public void clear() {
         customVelocityModifiers.clear();
         customFrictionModifiers.clear();
+        version.incrementAndGet();
     }
 }
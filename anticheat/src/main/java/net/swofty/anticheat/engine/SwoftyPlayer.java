@@ -1,5 +1,6 @@
 package net.swofty.anticheat.engine;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.swofty.anticheat.api.AnticheatAPI;
 import net.swofty.anticheat.event.SwoftyEventHandler;
@@ -17,14 +18,22 @@ import org.jetbrains.annotations.NotNull;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Getter
 public class SwoftyPlayer {
     public static final Map<UUID, SwoftyPlayer> players = new ConcurrentHashMap<>();
     private final UUID uuid;
 
-    private List<PlayerTickInformation> lastTicks = new ArrayList<>();
-    private PlayerTickInformation currentTick = new PlayerTickInformation(new Pos(0, 0, 0), new Vel(0, 0, 0), false);
+    private static final int HISTORY_SIZE = 20;
+
+    private final TickHistory history = new TickHistory(HISTORY_SIZE);
+    private PlayerTickInformation lastTick;
+
+    // Latest state reported by movement packets, turned into a tick once per server tick.
+    // Published as one snapshot so a tick never mixes fields from two packets
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<Movement> movement = new AtomicReference<>(new Movement(new Pos(0, 0, 0), false));
     private final PlayerWorld world = new PlayerWorld();
 
     private final LinkedBlockingDeque<PingRequest> pingRequests = new LinkedBlockingDeque<>();
@@ -45,40 +54,81 @@ public class SwoftyPlayer {
     }
 
     private void forgetTicks() {
-        lastTicks.clear();
-        currentTick = null;
+        history.clear();
+        lastTick = null;
     }
 
-    public void moveTickOn() {
-        if (currentTick == null) return;
+    public record Movement(Pos pos, boolean onGround) {
+    }
 
-        Pos currentPos = currentTick.getPos();
-        Pos lastPos = !lastTicks.isEmpty() ? lastTicks.getLast().getPos() : currentPos;
-        Vel calculatedVelocity = currentPos.sub(lastPos).asVel();
+    public void moveTickOn() {
+        Movement movement = this.movement.get();
+        Pos pos = movement.pos();
+        double x = pos.x(), y = pos.y(), z = pos.z();
+        boolean onGround = movement.onGround();
+
+        double vx = 0, vy = 0, vz = 0;
+        if (!history.isEmpty()) {
+            vx = x - history.posX(0);
+            vy = y - history.posY(0);
+            vz = z - history.posZ(0);
+        }
+        history.append(x, y, z, pos.yaw(), pos.pitch(), vx, vy, vz, onGround, ping);
 
-        currentTick = new PlayerTickInformation(currentTick.getPos(), calculatedVelocity, currentTick.isOnGround());
+        PlayerTickInformation currentTick = new PlayerTickInformation(
+                pos, new Vel(vx, vy, vz), onGround);
         currentTick.setPing(ping);
 
-        if (lastTicks.isEmpty()) {
-            lastTicks.add(currentTick);
-            return;
-        }
+        PlayerTickInformation previousTick = lastTick;
+        lastTick = currentTick;
+        if (previousTick == null) return;
+
+        // Only the neighbouring ticks are linked; older ticks are read from the history
+        previousTick.updateContext(currentTick, null);
+        currentTick.updateContext(null, previousTick);
 
         SwoftyEventHandler.callEvent(new PlayerPositionUpdateEvent(this,
-                lastTicks.getLast(),
+                previousTick,
                 currentTick
         ));
+    }
 
-        lastTicks.add(currentTick);
-        // Remove any ticks that are older than 20 ticks
-        if (lastTicks.size() > 20) lastTicks.removeFirst();
+    /**
+     * @return the latest position reported by the client, which may be ahead of the last tick
+     */
+    public Pos getCurrentPos() {
+        return movement.get().pos();
+    }
 
-        // Resort contexts
-        for (int i = 0; i < lastTicks.size(); i++) {
-            lastTicks.get(i).updateContext(i == lastTicks.size() - 1 ? null : lastTicks.get(i + 1), i == 0 ? null : lastTicks.get(i - 1));
-        }
+    /**
+     * @return the latest position and ground state reported by the client, read together
+     */
+    public Movement getMovement() {
+        return movement.get();
+    }
+
+    public double getX() {
+        return getCurrentPos().x();
+    }
 
-        currentTick = new PlayerTickInformation(currentTick.getPos(), currentTick.getVel(), currentTick.isOnGround());
+    public double getY() {
+        return getCurrentPos().y();
+    }
+
+    public double getZ() {
+        return getCurrentPos().z();
+    }
+
+    public float getYaw() {
+        return getCurrentPos().yaw();
+    }
+
+    public float getPitch() {
+        return getCurrentPos().pitch();
+    }
+
+    public boolean isOnGround() {
+        return movement.get().onGround();
     }
 
     public int ticksSinceLastPingResponse() {
@@ -126,7 +176,7 @@ public class SwoftyPlayer {
     }
 
     public void flag(FlagType flagType, double certainty) {
-        if (lastTicks.size() == 1) return; // We need at least 2 ticks to flag
+        if (history.size() == 1) return; // We need at least 2 ticks to flag
 
         // Check if player has bypass for this flag type
         if (AnticheatAPI.hasBypass(uuid, flagType)) {
@@ -136,12 +186,30 @@ public class SwoftyPlayer {
         flagManager.addFlag(flagType, certainty);
     }
 
+    public void processMovement(double x, double y, double z, float yaw, float pitch, boolean onGround) {
+        processMovement(new Pos(x, y, z, yaw, pitch), onGround);
+    }
+
     public void processMovement(@NotNull Pos packetPosition, boolean onGround) {
-        currentTick = new PlayerTickInformation(
-                packetPosition,
-                currentTick.getVel(),
-                onGround
-        );
+        movement.set(new Movement(packetPosition, onGround));
+    }
+
+    /**
+     * Updates the position and keeps the last reported rotation
+     */
+    public void processPosition(double x, double y, double z, boolean onGround) {
+        movement.updateAndGet(current -> new Movement(current.pos().withCoord(x, y, z), onGround));
+    }
+
+    /**
+     * Updates the rotation and keeps the last reported position and ground state
+     */
+    public void processRotation(float yaw, float pitch) {
+        movement.updateAndGet(current -> new Movement(current.pos().withView(yaw, pitch), current.onGround()));
+    }
+
+    public void processOnGround(boolean onGround) {
+        movement.updateAndGet(current -> new Movement(current.pos(), onGround));
     }
 
     public void sendPacket(SwoftyPacket packet) {
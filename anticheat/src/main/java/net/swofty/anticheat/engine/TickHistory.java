@@ -0,0 +1,138 @@
+package net.swofty.anticheat.engine;
+
+/**
+ * Fixed-capacity ring buffer of a player's most recent ticks.
+ * <p>
+ * Every field is kept in its own primitive array, so appending a tick overwrites the oldest
+ * slot in place and allocates nothing. Ticks are read either by age, where 0 is the newest,
+ * or by their tick number.
+ */
+public class TickHistory {
+    private final int capacity;
+    private final long[] ticks;
+    private final double[] posX, posY, posZ;
+    private final float[] yaw, pitch;
+    private final double[] velX, velY, velZ;
+    private final boolean[] onGround;
+    private final long[] ping;
+
+    private long nextTick;
+    private int size;
+
+    public TickHistory(int capacity) {
+        this.capacity = capacity;
+        this.ticks = new long[capacity];
+        this.posX = new double[capacity];
+        this.posY = new double[capacity];
+        this.posZ = new double[capacity];
+        this.yaw = new float[capacity];
+        this.pitch = new float[capacity];
+        this.velX = new double[capacity];
+        this.velY = new double[capacity];
+        this.velZ = new double[capacity];
+        this.onGround = new boolean[capacity];
+        this.ping = new long[capacity];
+    }
+
+    /**
+     * @return the tick number given to the appended tick
+     */
+    public long append(double x, double y, double z, float yaw, float pitch,
+                       double vx, double vy, double vz, boolean onGround, long ping) {
+        long tick = nextTick++;
+        int slot = (int) (tick % capacity);
+        this.ticks[slot] = tick;
+        this.posX[slot] = x;
+        this.posY[slot] = y;
+        this.posZ[slot] = z;
+        this.yaw[slot] = yaw;
+        this.pitch[slot] = pitch;
+        this.velX[slot] = vx;
+        this.velY[slot] = vy;
+        this.velZ[slot] = vz;
+        this.onGround[slot] = onGround;
+        this.ping[slot] = ping;
+        if (size < capacity) size++;
+        return tick;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of the newest tick, or -1 if there is none
+     */
+    public long latestTick() {
+        return size == 0 ? -1 : nextTick - 1;
+    }
+
+    /**
+     * @return how many ticks ago the given tick was, or -1 if it is no longer retained
+     */
+    public int ageOf(long tick) {
+        if (size == 0 || tick < 0 || tick >= nextTick) return -1;
+        int age = (int) (nextTick - 1 - tick);
+        if (age >= size || ticks[(int) (tick % capacity)] != tick) return -1;
+        return age;
+    }
+
+    public double posX(int age) {
+        return posX[slot(age)];
+    }
+
+    public double posY(int age) {
+        return posY[slot(age)];
+    }
+
+    public double posZ(int age) {
+        return posZ[slot(age)];
+    }
+
+    public float yaw(int age) {
+        return yaw[slot(age)];
+    }
+
+    public float pitch(int age) {
+        return pitch[slot(age)];
+    }
+
+    public double velX(int age) {
+        return velX[slot(age)];
+    }
+
+    public double velY(int age) {
+        return velY[slot(age)];
+    }
+
+    public double velZ(int age) {
+        return velZ[slot(age)];
+    }
+
+    public boolean onGround(int age) {
+        return onGround[slot(age)];
+    }
+
+    public long ping(int age) {
+        return ping[slot(age)];
+    }
+
+    private int slot(int age) {
+        if (age < 0 || age >= size) {
+            throw new IndexOutOfBoundsException("Tick " + age + " ago is not retained, history holds " + size);
+        }
+        return (int) ((nextTick - 1 - age) % capacity);
+    }
+}
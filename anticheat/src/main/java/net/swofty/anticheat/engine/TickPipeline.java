@@ -0,0 +1,159 @@
+package net.swofty.anticheat.engine;
+
+import net.swofty.anticheat.api.AnticheatAPI;
+import net.swofty.anticheat.flag.FlagType;
+import net.swofty.anticheat.loader.Loader;
+import net.swofty.anticheat.loader.SwoftyAnticheat;
+import org.tinylog.Logger;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the anticheat tick for every online player.
+ * <p>
+ * The scheduler thread only reconciles joins and leaves and hands each player to a bounded
+ * worker pool. Each player's ticks run serially: a tick issued while the previous one is
+ * still running is queued behind it and counted as backlogged, never skipped, so every
+ * player sees every tick in order. Time spent in each stage is recorded for
+ * {@link #snapshotMetrics(boolean)}, which {@link AnticheatAPI#getTickMetrics(boolean)} exposes.
+ */
+public class TickPipeline {
+    public enum Stage {
+        RECONCILE,
+        MOVE,
+        PING,
+        FLAGS
+    }
+
+    private final Loader loader;
+    private final ExecutorService workers;
+    // Ticks issued but not yet finished per player, the worker draining them owns the player
+    private final Map<UUID, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    private final EnumMap<Stage, LongAdder> stageNanos = new EnumMap<>(Stage.class);
+    private final EnumMap<Stage, LongAdder> stageCounts = new EnumMap<>(Stage.class);
+    private final EnumMap<Stage, LongAccumulator> stageMaxNanos = new EnumMap<>(Stage.class);
+    private final LongAdder backlogged = new LongAdder();
+
+    public TickPipeline(Loader loader, int workerCount) {
+        this.loader = loader;
+        AtomicInteger threadId = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread t = new Thread(r, "anticheat-tick-" + threadId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        for (Stage stage : Stage.values()) {
+            stageNanos.put(stage, new LongAdder());
+            stageCounts.put(stage, new LongAdder());
+            stageMaxNanos.put(stage, new LongAccumulator(Math::max, 0));
+        }
+    }
+
+    public void tick() {
+        long start = System.nanoTime();
+        Set<UUID> online = new HashSet<>(loader.getOnlinePlayers());
+
+        // Leaves
+        SwoftyPlayer.players.keySet().removeIf(uuid -> {
+            if (online.contains(uuid)) return false;
+            // Clean up player data when they disconnect
+            AnticheatAPI.clearPlayerData(uuid);
+            AnticheatAPI.clearBypasses(uuid);
+            pending.remove(uuid);
+            return true;
+        });
+
+        // Joins
+        List<SwoftyPlayer> players = new ArrayList<>(online.size());
+        for (UUID uuid : online) {
+            SwoftyPlayer player = SwoftyPlayer.players.get(uuid);
+            players.add(player != null ? player : new SwoftyPlayer(uuid));
+        }
+        record(Stage.RECONCILE, start);
+
+        for (SwoftyPlayer player : players) {
+            AtomicInteger queued = pending.computeIfAbsent(player.getUuid(), ignored -> new AtomicInteger());
+            if (queued.getAndIncrement() > 0) {
+                // The worker draining this player picks the tick up once the previous one is done
+                backlogged.increment();
+                continue;
+            }
+            try {
+                workers.execute(() -> drain(player, queued));
+            } catch (RejectedExecutionException e) {
+                queued.set(0);
+            }
+        }
+    }
+
+    private void drain(SwoftyPlayer player, AtomicInteger queued) {
+        do {
+            tickPlayer(player);
+        } while (queued.decrementAndGet() > 0);
+    }
+
+    private void tickPlayer(SwoftyPlayer player) {
+        try {
+            long start = System.nanoTime();
+            player.moveTickOn();
+            start = record(Stage.MOVE, start);
+
+            player.sendPingRequest();
+            start = record(Stage.PING, start);
+
+            if (player.ticksSinceLastPingResponse() > SwoftyAnticheat.getValues().getTicksAllowedToMissPing()) {
+                player.flag(FlagType.TIMEOUT_PING_PACKETS, 100);
+            }
+            record(Stage.FLAGS, start);
+        } catch (Exception e) {
+            Logger.error(e, "Failed to tick anticheat player {}", player.getUuid());
+        }
+    }
+
+    private long record(Stage stage, long start) {
+        long now = System.nanoTime();
+        long elapsed = now - start;
+        stageNanos.get(stage).add(elapsed);
+        stageCounts.get(stage).increment();
+        stageMaxNanos.get(stage).accumulate(elapsed);
+        return now;
+    }
+
+    /**
+     * @param reset whether to start a new measuring window after taking the snapshot
+     */
+    public Metrics snapshotMetrics(boolean reset) {
+        EnumMap<Stage, StageTiming> timings = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            long count = reset ? stageCounts.get(stage).sumThenReset() : stageCounts.get(stage).sum();
+            long nanos = reset ? stageNanos.get(stage).sumThenReset() : stageNanos.get(stage).sum();
+            long max = reset ? stageMaxNanos.get(stage).getThenReset() : stageMaxNanos.get(stage).get();
+            timings.put(stage, new StageTiming(count, nanos, max));
+        }
+        return new Metrics(timings, reset ? backlogged.sumThenReset() : backlogged.sum());
+    }
+
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    public record StageTiming(long count, long totalNanos, long maxNanos) {
+        public double averageMillis() {
+            return count == 0 ? 0 : totalNanos / (double) count / 1_000_000;
+        }
+    }
+
+    /**
+     * @param backlogged ticks that were queued because the player's previous tick had not finished
+     */
+    public record Metrics(Map<Stage, StageTiming> stages, long backlogged) { }
+}
@@ -0,0 +1,27 @@
+package net.swofty.anticheat.engine;
+
+import net.swofty.anticheat.event.AntiCheatListener;
+import net.swofty.anticheat.event.ListenerMethod;
+import net.swofty.anticheat.event.events.AnticheatPacketEvent;
+import net.swofty.anticheat.event.packet.*;
+
+public class WorldEvents extends AntiCheatListener {
+    @ListenerMethod
+    public void onPacketReceive(AnticheatPacketEvent event) {
+        SwoftyPacket packet = event.getPacket();
+        SwoftyPlayer player = packet.getPlayer();
+        if (player == null) return;
+
+        if (packet instanceof BlockUpdatePacket blockUpdatePacket) {
+            player.getWorld().updateBlock(blockUpdatePacket.getX(), blockUpdatePacket.getY(),
+                    blockUpdatePacket.getZ(), blockUpdatePacket.getBlock());
+        } else if (packet instanceof MultiBlockUpdatePacket multiBlockUpdatePacket) {
+            player.getWorld().updateBlocks(multiBlockUpdatePacket.getChanges());
+        } else if (packet instanceof ChunkLoadPacket chunkLoadPacket) {
+            player.getWorld().loadChunk(chunkLoadPacket.getChunkX(), chunkLoadPacket.getChunkZ(),
+                    chunkLoadPacket.getMinSection(), chunkLoadPacket.getSections());
+        } else if (packet instanceof ChunkUnloadPacket chunkUnloadPacket) {
+            player.getWorld().unloadChunk(chunkUnloadPacket.getChunkX(), chunkUnloadPacket.getChunkZ());
+        }
+    }
+}
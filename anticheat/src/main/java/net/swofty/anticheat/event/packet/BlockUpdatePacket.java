@@ -0,0 +1,22 @@
+package net.swofty.anticheat.event.packet;
+
+import lombok.Getter;
+import net.swofty.anticheat.world.Block;
+
+import java.util.UUID;
+
+@Getter
+public class BlockUpdatePacket extends SwoftyPacket {
+    private final int x;
+    private final int y;
+    private final int z;
+    private final Block block;
+
+    public BlockUpdatePacket(UUID uuid, int x, int y, int z, Block block) {
+        super(uuid);
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.block = block;
+    }
+}
@@ -0,0 +1,23 @@
+package net.swofty.anticheat.event.packet;
+
+import lombok.Getter;
+import net.swofty.anticheat.world.BlockSection;
+
+import java.util.UUID;
+
+@Getter
+public class ChunkLoadPacket extends SwoftyPacket {
+    private final int chunkX;
+    private final int chunkZ;
+    private final int minSection;
+    // Per section null for air or the shared section, see PlayerWorld#loadChunk
+    private final BlockSection[] sections;
+
+    public ChunkLoadPacket(UUID uuid, int chunkX, int chunkZ, int minSection, BlockSection[] sections) {
+        super(uuid);
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.minSection = minSection;
+        this.sections = sections;
+    }
+}
@@ -0,0 +1,17 @@
+package net.swofty.anticheat.event.packet;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class ChunkUnloadPacket extends SwoftyPacket {
+    private final int chunkX;
+    private final int chunkZ;
+
+    public ChunkUnloadPacket(UUID uuid, int chunkX, int chunkZ) {
+        super(uuid);
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+    }
+}
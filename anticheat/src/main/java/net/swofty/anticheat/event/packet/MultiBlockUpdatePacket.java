@@ -0,0 +1,17 @@
+package net.swofty.anticheat.event.packet;
+
+import lombok.Getter;
+import net.swofty.anticheat.world.PlayerWorld;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+public class MultiBlockUpdatePacket extends SwoftyPacket {
+    private final List<PlayerWorld.BlockChange> changes;
+
+    public MultiBlockUpdatePacket(UUID uuid, List<PlayerWorld.BlockChange> changes) {
+        super(uuid);
+        this.changes = changes;
+    }
+}
@@ -8,10 +8,11 @@ import net.swofty.anticheat.flag.Flag;
 import net.swofty.anticheat.math.Pos;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AimFlag extends Flag {
     // Track rotation changes per player
-    private static final Map<UUID, RotationData> rotationData = new HashMap<>();
+    private static final Map<UUID, RotationData> rotationData = new ConcurrentHashMap<>();
 
     private static class RotationData {
         List<Float> yawChanges = new ArrayList<>();
@@ -5,10 +5,11 @@ import net.swofty.anticheat.event.events.PlayerAttackEvent;
 import net.swofty.anticheat.flag.Flag;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AutoClickerFlag extends Flag {
     // Track click timings per player
-    private static final Map<UUID, ClickData> clickData = new HashMap<>();
+    private static final Map<UUID, ClickData> clickData = new ConcurrentHashMap<>();
 
     private static class ClickData {
         List<Long> clickTimes = new ArrayList<>();
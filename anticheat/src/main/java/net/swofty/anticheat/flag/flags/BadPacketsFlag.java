@@ -8,10 +8,11 @@ import net.swofty.anticheat.math.Pos;
 import net.swofty.anticheat.math.Vel;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BadPacketsFlag extends Flag {
     // Track packet patterns per player
-    private static final Map<UUID, PacketData> packetData = new HashMap<>();
+    private static final Map<UUID, PacketData> packetData = new ConcurrentHashMap<>();
 
     private static class PacketData {
         long lastPacketTime = 0;
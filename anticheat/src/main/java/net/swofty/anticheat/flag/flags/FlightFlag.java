@@ -1,7 +1,7 @@
 package net.swofty.anticheat.flag.flags;
 
-import net.swofty.anticheat.engine.PlayerTickInformation;
 import net.swofty.anticheat.engine.SwoftyPlayer;
+import net.swofty.anticheat.engine.TickHistory;
 import net.swofty.anticheat.event.ListenerMethod;
 import net.swofty.anticheat.event.events.AnticheatPacketEvent;
 import net.swofty.anticheat.event.events.PlayerPositionUpdateEvent;
@@ -41,7 +41,7 @@ public class FlightFlag extends Flag {
         // Check for impossible upward velocity when not on ground
         // Normal jump velocity is ~0.42, anything significantly higher is suspicious
         if (!onGround && currentVel.y() > MAX_VERTICAL_SPEED * 1.5) {
-            int airTicks = countAirTicks(player.getLastTicks());
+            int airTicks = countAirTicks(player.getHistory());
             // After a few ticks in the air, upward velocity should be impossible without flying
             if (airTicks > 5) {
                 player.flag(FlagType.FLIGHT, 0.9);
@@ -50,11 +50,11 @@ public class FlightFlag extends Flag {
 
         // Check for sustained horizontal flight (no gravity effect)
         if (!onGround) {
-            int airTicks = countAirTicks(player.getLastTicks());
+            int airTicks = countAirTicks(player.getHistory());
             // If in the air for many ticks without falling, likely flying
             if (airTicks >= 15) {
                 // Check if Y velocity is suspiciously stable (not affected by gravity)
-                double avgYVel = calculateAverageYVelocity(player.getLastTicks(), 10);
+                double avgYVel = calculateAverageYVelocity(player.getHistory(), 10);
                 if (avgYVel > -0.01 && avgYVel < 0.01) {
                     // Hovering in place - very suspicious
                     player.flag(FlagType.FLIGHT, 0.85);
@@ -63,10 +63,10 @@ public class FlightFlag extends Flag {
         }
     }
 
-    private int countAirTicks(java.util.List<PlayerTickInformation> ticks) {
+    private int countAirTicks(TickHistory ticks) {
         int count = 0;
-        for (int i = ticks.size() - 1; i >= 0 && i >= ticks.size() - 10; i--) {
-            if (!ticks.get(i).isOnGround()) {
+        for (int age = 0; age < ticks.size() && age < 10; age++) {
+            if (!ticks.onGround(age)) {
                 count++;
             } else {
                 break;
@@ -75,12 +75,12 @@ public class FlightFlag extends Flag {
         return count;
     }
 
-    private double calculateAverageYVelocity(java.util.List<PlayerTickInformation> ticks, int count) {
+    private double calculateAverageYVelocity(TickHistory ticks, int count) {
         if (ticks.isEmpty()) return 0;
         double sum = 0;
         int actualCount = 0;
-        for (int i = ticks.size() - 1; i >= 0 && actualCount < count; i--) {
-            sum += ticks.get(i).getVel().y();
+        for (int age = 0; age < ticks.size() && actualCount < count; age++) {
+            sum += ticks.velY(age);
             actualCount++;
         }
         return actualCount > 0 ? sum / actualCount : 0;
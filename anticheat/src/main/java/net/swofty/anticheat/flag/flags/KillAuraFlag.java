@@ -6,10 +6,11 @@ import net.swofty.anticheat.flag.Flag;
 import net.swofty.anticheat.math.Pos;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class KillAuraFlag extends Flag {
     // Track attack patterns per player
-    private static final Map<UUID, AttackData> attackData = new HashMap<>();
+    private static final Map<UUID, AttackData> attackData = new ConcurrentHashMap<>();
 
     private static class AttackData {
         List<AttackInfo> attacks = new ArrayList<>();
@@ -44,7 +45,7 @@ public class KillAuraFlag extends Flag {
 
         data.addAttack(
             event.getTargetUuid(),
-            event.getAttacker().getCurrentTick().getPos(),
+            event.getAttacker().getCurrentPos(),
             event.getTargetPosition(),
             event.getTimestamp()
         );
@@ -8,15 +8,14 @@ import net.swofty.anticheat.flag.Flag;
 import net.swofty.anticheat.math.Pos;
 import net.swofty.anticheat.math.Vel;
 import net.swofty.anticheat.prediction.PlayerContext;
+import net.swofty.anticheat.prediction.PredictionBatch;
 import net.swofty.anticheat.prediction.PredictionEngine;
-import net.swofty.anticheat.prediction.PredictionEngine.PredictedMovement;
 import net.swofty.anticheat.prediction.compensation.LagCompensator;
 import net.swofty.anticheat.prediction.modifier.impl.*;
 
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Modular prediction-based movement check
@@ -28,8 +27,11 @@ public class PredictionFlag extends Flag {
     private static final PredictionEngine engine = new PredictionEngine();
     private static final LagCompensator lagCompensator = new LagCompensator();
 
+    // Candidates are written into one reusable batch per tick worker thread
+    private static final ThreadLocal<PredictionBatch> batches = ThreadLocal.withInitial(PredictionBatch::new);
+
     // Track transaction IDs per player
-    private static final Map<UUID, Integer> currentTransactions = new HashMap<>();
+    private static final Map<UUID, Integer> currentTransactions = new ConcurrentHashMap<>();
 
     static {
         // Register all velocity modifiers (sorted by priority automatically)
@@ -170,40 +172,21 @@ public class PredictionFlag extends Flag {
     }
 
     /**
-     * Find closest prediction to actual movement
+     * Predict the movements the player could have made since the previous tick into this
+     * thread's batch, and find how far the closest one is from what the player actually did
+     *
+     * @return the offset of the closest prediction, or 0 if there is no previous tick to predict from
      */
-    private PredictionResult findClosestPrediction(List<PredictedMovement> predictions,
-                                                    Pos actualPos, Vel actualVel) {
-        double minOffset = Double.MAX_VALUE;
-        PredictedMovement closest = null;
-
-        for (PredictedMovement prediction : predictions) {
-            double posOffset = calculateDistance(prediction.getPosition(), actualPos);
-            double velOffset = calculateDistance(
-                prediction.getVelocity().asPosition(),
-                actualVel.asPosition()
-            );
-
-            // Weight position more heavily than velocity
-            double totalOffset = posOffset * 0.8 + velOffset * 0.2;
-
-            // Add prediction uncertainty
-            totalOffset -= prediction.getUncertainty();
-
-            if (totalOffset < minOffset) {
-                minOffset = totalOffset;
-                closest = prediction;
-            }
-        }
-
-        return new PredictionResult(closest, Math.max(0, minOffset));
-    }
+    private double predictionOffset(SwoftyPlayer player, PlayerTickInformation tick) {
+        PlayerTickInformation previous = tick.getPrevious();
+        if (previous == null) return 0;
+
+        PredictionBatch batch = batches.get();
+        engine.predictMovements(buildPlayerContext(player, previous), batch);
 
-    private double calculateDistance(Pos pos1, Pos pos2) {
-        double dx = pos1.x() - pos2.x();
-        double dy = pos1.y() - pos2.y();
-        double dz = pos1.z() - pos2.z();
-        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+        int closest = batch.closest(tick.getPos(), tick.getVel());
+        if (closest == -1) return 0;
+        return batch.offset(closest, tick.getPos(), tick.getVel());
     }
 
     /**
@@ -218,14 +201,4 @@ public class PredictionFlag extends Flag {
         if (offset < 0.1) return 0.85;    // Very suspicious
         return 0.95;                       // Extremely suspicious / blatant
     }
-
-    private static class PredictionResult {
-        final PredictedMovement prediction;
-        final double offset;
-
-        PredictionResult(PredictedMovement prediction, double offset) {
-            this.prediction = prediction;
-            this.offset = offset;
-        }
-    }
 }
@@ -12,7 +12,7 @@ public class ReachFlag extends Flag {
 
     @ListenerMethod
     public void onPlayerAttack(PlayerAttackEvent event) {
-        Pos attackerPos = event.getAttacker().getCurrentTick().getPos();
+        Pos attackerPos = event.getAttacker().getCurrentPos();
         Pos targetPos = event.getTargetPosition();
 
         // Calculate 3D distance
@@ -1,20 +1,19 @@
 package net.swofty.anticheat.flag.flags;
 
-import net.swofty.anticheat.engine.PlayerTickInformation;
 import net.swofty.anticheat.engine.SwoftyPlayer;
 import net.swofty.anticheat.event.ListenerMethod;
 import net.swofty.anticheat.event.events.PlayerPositionUpdateEvent;
 import net.swofty.anticheat.flag.Flag;
 import net.swofty.anticheat.loader.SwoftyAnticheat;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TimerFlag extends Flag {
     // Track last packet times per player
-    private static final Map<UUID, Long> lastPacketTimes = new HashMap<>();
-    private static final Map<UUID, Integer> packetCounts = new HashMap<>();
+    private static final Map<UUID, Long> lastPacketTimes = new ConcurrentHashMap<>();
+    private static final Map<UUID, Integer> packetCounts = new ConcurrentHashMap<>();
 
     // Normal tick length is 50ms
     private static final long EXPECTED_TICK_MS = 50;
@@ -27,17 +26,14 @@ public class TimerFlag extends Flag {
         UUID uuid = player.getUuid();
         long currentTime = System.currentTimeMillis();
 
-        if (!lastPacketTimes.containsKey(uuid)) {
-            lastPacketTimes.put(uuid, currentTime);
+        Long lastTime = lastPacketTimes.put(uuid, currentTime);
+        if (lastTime == null) {
             packetCounts.put(uuid, 0);
             return;
         }
-
-        long lastTime = lastPacketTimes.get(uuid);
         long timeDiff = currentTime - lastTime;
 
         // Update tracking
-        lastPacketTimes.put(uuid, currentTime);
         int count = packetCounts.getOrDefault(uuid, 0) + 1;
         packetCounts.put(uuid, count);
 
@@ -47,8 +43,7 @@ public class TimerFlag extends Flag {
         }
 
         // Calculate average tick time over recent samples
-        java.util.List<PlayerTickInformation> ticks = player.getLastTicks();
-        if (ticks.size() < 5) return;
+        if (player.getHistory().size() < 5) return;
 
         // Check if packets are coming too fast
         double tickRatio = (double) timeDiff / EXPECTED_TICK_MS;
@@ -7,13 +7,13 @@ import net.swofty.anticheat.event.events.PlayerPositionUpdateEvent;
 import net.swofty.anticheat.flag.Flag;
 import net.swofty.anticheat.math.Vel;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class VelocityFlag extends Flag {
     // Track expected velocity after knockback per player
-    private static final Map<UUID, KnockbackData> expectedKnockback = new HashMap<>();
+    private static final Map<UUID, KnockbackData> expectedKnockback = new ConcurrentHashMap<>();
 
     private static class KnockbackData {
         Vel expectedVelocity;
@@ -43,12 +43,12 @@ public class VelocityFlag extends Flag {
         SwoftyPlayer player = event.getPlayer();
         UUID uuid = player.getUuid();
 
-        if (!expectedKnockback.containsKey(uuid)) {
+        // Knockback is recorded from another thread, so read it once
+        KnockbackData data = expectedKnockback.get(uuid);
+        if (data == null) {
             return;
         }
 
-        KnockbackData data = expectedKnockback.get(uuid);
-
         // Check if we should still be checking
         data.ticksToCheck--;
         if (data.ticksToCheck <= 0) {
@@ -9,4 +9,6 @@ public class SwoftyValues {
     private boolean shouldPrint = true;
     private int ticksAllowedToMissPing = 40;
     private int tickLength = 50;
+    // Threads running per-player tick work; each player is still ticked by one thread at a time
+    private int tickWorkers = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
 }
@@ -0,0 +1,49 @@
+package net.swofty.anticheat.loader.minestom;
+
+import net.minestom.server.collision.Shape;
+import net.minestom.server.coordinate.Point;
+import net.swofty.anticheat.world.Block;
+import net.swofty.anticheat.world.BoundingBox;
+
+/**
+ * Converts Minestom block state ids to anticheat {@link Block}s. Conversions are cached per state
+ * id, so every chunk and block packet shares the same instances.
+ */
+public final class MinestomBlocks {
+    private static final Block NONE = new Block(false, false, null);
+    private static final Block[] CACHE = new Block[32768];
+
+    private MinestomBlocks() {
+    }
+
+    /**
+     * @return the block for the state id, or null for air and blocks that can be walked through
+     */
+    public static Block fromStateId(int stateId) {
+        if (stateId < 0 || stateId >= CACHE.length) return convert(stateId);
+
+        Block block = CACHE[stateId];
+        if (block == null) {
+            block = convert(stateId);
+            CACHE[stateId] = block == null ? NONE : block;
+        }
+        return block == NONE ? null : block;
+    }
+
+    private static Block convert(int stateId) {
+        net.minestom.server.instance.block.Block block = net.minestom.server.instance.block.Block.fromStateId(stateId);
+        if (block == null || block.isAir()) return null;
+
+        boolean water = block.compare(net.minestom.server.instance.block.Block.WATER);
+        boolean lava = block.compare(net.minestom.server.instance.block.Block.LAVA);
+        if (water || lava) return new Block(water, lava, null);
+        if (!block.isSolid()) return null;
+
+        Shape shape = block.registry().collisionShape();
+        Point start = shape.relativeStart();
+        Point end = shape.relativeEnd();
+        return new Block(false, false, new BoundingBox(
+                (float) start.x(), (float) start.y(), (float) start.z(),
+                (float) end.x(), (float) end.y(), (float) end.z()));
+    }
+}
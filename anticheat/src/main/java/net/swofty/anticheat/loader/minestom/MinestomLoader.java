@@ -2,7 +2,10 @@ package net.swofty.anticheat.loader.minestom;
 
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Chunk;
 import net.minestom.server.event.GlobalEventHandler;
+import net.minestom.server.event.instance.InstanceChunkUnloadEvent;
+import net.minestom.server.event.instance.InstanceUnregisterEvent;
 import net.minestom.server.event.player.PlayerPacketEvent;
 import net.minestom.server.event.player.PlayerPacketOutEvent;
 import net.minestom.server.network.packet.client.ClientPacket;
@@ -16,6 +19,7 @@ import net.swofty.anticheat.loader.Loader;
 import net.swofty.anticheat.loader.LoaderPacketHandler;
 import net.swofty.anticheat.loader.managers.SwoftySchedulerManager;
 import net.swofty.anticheat.loader.minestom.packets.*;
+import net.swofty.anticheat.world.SectionStore;
 import org.tinylog.Logger;
 
 import java.util.ArrayList;
@@ -67,6 +71,22 @@ public class MinestomLoader extends Loader {
                 new MinestomHandlerAnimationPacket());
         registerPacketHandler(SteerVehiclePacket.class,
                 new MinestomHandlerSteerVehiclePacket());
+        registerPacketHandler(BlockUpdatePacket.class,
+                new MinestomHandlerBlockUpdatePacket());
+        registerPacketHandler(MultiBlockUpdatePacket.class,
+                new MinestomHandlerMultiBlockUpdatePacket());
+        registerPacketHandler(ChunkLoadPacket.class,
+                new MinestomHandlerChunkLoadPacket());
+        registerPacketHandler(ChunkUnloadPacket.class,
+                new MinestomHandlerChunkUnloadPacket());
+
+        globalEventHandler.addListener(InstanceChunkUnloadEvent.class, (event) -> {
+            Chunk chunk = event.getChunk();
+            SectionStore.forgetChunk(event.getInstance().getUuid(), chunk.getChunkX(), chunk.getChunkZ(),
+                    chunk.getMinSection(), chunk.getMaxSection());
+        });
+        globalEventHandler.addListener(InstanceUnregisterEvent.class,
+                (event) -> SectionStore.forgetInstance(event.getInstance().getUuid()));
 
         globalEventHandler.addListener(PlayerPacketOutEvent.class, (event) -> {
             ServerPacket packet = event.getPacket();
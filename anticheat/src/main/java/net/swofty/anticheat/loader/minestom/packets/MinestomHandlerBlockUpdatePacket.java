@@ -0,0 +1,32 @@
+package net.swofty.anticheat.loader.minestom.packets;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.network.packet.server.play.BlockChangePacket;
+import net.swofty.anticheat.event.packet.BlockUpdatePacket;
+import net.swofty.anticheat.event.packet.SwoftyPacket;
+import net.swofty.anticheat.loader.LoaderPacketHandler;
+import net.swofty.anticheat.loader.minestom.MinestomBlocks;
+
+import java.util.UUID;
+
+public class MinestomHandlerBlockUpdatePacket
+        extends LoaderPacketHandler<BlockChangePacket> {
+
+    @Override
+    public SwoftyPacket buildSwoftyPacket(UUID uuid, BlockChangePacket packet) {
+        Point position = packet.blockPosition();
+        return new BlockUpdatePacket(uuid,
+                position.blockX(), position.blockY(), position.blockZ(),
+                MinestomBlocks.fromStateId(packet.blockStateId()));
+    }
+
+    @Override
+    public BlockChangePacket buildLoaderPacket(UUID uuid, SwoftyPacket packet) {
+        return null;
+    }
+
+    @Override
+    public Class<BlockChangePacket> getHandledPacketClass() {
+        return BlockChangePacket.class;
+    }
+}
@@ -0,0 +1,68 @@
+package net.swofty.anticheat.loader.minestom.packets;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.swofty.anticheat.event.packet.ChunkLoadPacket;
+import net.swofty.anticheat.event.packet.SwoftyPacket;
+import net.swofty.anticheat.loader.LoaderPacketHandler;
+import net.swofty.anticheat.loader.minestom.MinestomBlocks;
+import net.swofty.anticheat.world.Block;
+import net.swofty.anticheat.world.BlockSection;
+import net.swofty.anticheat.world.SectionStore;
+
+import java.util.List;
+import java.util.UUID;
+
+public class MinestomHandlerChunkLoadPacket
+        extends LoaderPacketHandler<ChunkDataPacket> {
+
+    @Override
+    public SwoftyPacket buildSwoftyPacket(UUID uuid, ChunkDataPacket packet) {
+        // The packet only holds the encoded sections, read the blocks from the chunk it was built from
+        Player player = MinecraftServer.getConnectionManager().getOnlinePlayerByUuid(uuid);
+        if (player == null) return null;
+        Instance instance = player.getInstance();
+        if (instance == null) return null;
+        Chunk chunk = instance.getChunk(packet.chunkX(), packet.chunkZ());
+        if (chunk == null) return null;
+
+        // Sections are shared by every player the chunk is sent to, only decode what changed
+        List<Section> sections = chunk.getSections();
+        BlockSection[] blocks = new BlockSection[sections.size()];
+        for (int i = 0; i < sections.size(); i++) {
+            Palette palette = sections.get(i).blockPalette();
+            if (palette.count() == 0) continue;
+
+            blocks[i] = SectionStore.get(instance.getUuid(), packet.chunkX(), packet.chunkZ(),
+                    chunk.getMinSection() + i, contentHash(palette), () -> decode(palette));
+        }
+        return new ChunkLoadPacket(uuid, packet.chunkX(), packet.chunkZ(), chunk.getMinSection(), blocks);
+    }
+
+    private static long contentHash(Palette palette) {
+        long[] hash = {0xcbf29ce484222325L};
+        palette.getAll((x, y, z, stateId) -> hash[0] = (hash[0] ^ stateId) * 0x100000001b3L);
+        return hash[0];
+    }
+
+    private static Block[] decode(Palette palette) {
+        Block[] section = new Block[4096];
+        palette.getAll((x, y, z, stateId) -> section[(y << 8) | (z << 4) | x] = MinestomBlocks.fromStateId(stateId));
+        return section;
+    }
+
+    @Override
+    public ChunkDataPacket buildLoaderPacket(UUID uuid, SwoftyPacket packet) {
+        return null;
+    }
+
+    @Override
+    public Class<ChunkDataPacket> getHandledPacketClass() {
+        return ChunkDataPacket.class;
+    }
+}
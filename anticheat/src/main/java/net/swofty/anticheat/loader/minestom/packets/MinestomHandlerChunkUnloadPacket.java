@@ -0,0 +1,27 @@
+package net.swofty.anticheat.loader.minestom.packets;
+
+import net.minestom.server.network.packet.server.play.UnloadChunkPacket;
+import net.swofty.anticheat.event.packet.ChunkUnloadPacket;
+import net.swofty.anticheat.event.packet.SwoftyPacket;
+import net.swofty.anticheat.loader.LoaderPacketHandler;
+
+import java.util.UUID;
+
+public class MinestomHandlerChunkUnloadPacket
+        extends LoaderPacketHandler<UnloadChunkPacket> {
+
+    @Override
+    public SwoftyPacket buildSwoftyPacket(UUID uuid, UnloadChunkPacket packet) {
+        return new ChunkUnloadPacket(uuid, packet.chunkX(), packet.chunkZ());
+    }
+
+    @Override
+    public UnloadChunkPacket buildLoaderPacket(UUID uuid, SwoftyPacket packet) {
+        return null;
+    }
+
+    @Override
+    public Class<UnloadChunkPacket> getHandledPacketClass() {
+        return UnloadChunkPacket.class;
+    }
+}
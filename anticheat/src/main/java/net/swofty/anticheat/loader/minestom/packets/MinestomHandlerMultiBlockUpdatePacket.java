@@ -0,0 +1,47 @@
+package net.swofty.anticheat.loader.minestom.packets;
+
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
+import net.swofty.anticheat.event.packet.MultiBlockUpdatePacket;
+import net.swofty.anticheat.event.packet.SwoftyPacket;
+import net.swofty.anticheat.loader.LoaderPacketHandler;
+import net.swofty.anticheat.loader.minestom.MinestomBlocks;
+import net.swofty.anticheat.world.PlayerWorld;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class MinestomHandlerMultiBlockUpdatePacket
+        extends LoaderPacketHandler<MultiBlockChangePacket> {
+
+    @Override
+    public SwoftyPacket buildSwoftyPacket(UUID uuid, MultiBlockChangePacket packet) {
+        // Section position is packed as 22 bits x, 22 bits z, 20 bits y
+        long section = packet.chunkSectionPosition();
+        int sectionX = (int) (section >> 42);
+        int sectionY = (int) (section << 44 >> 44);
+        int sectionZ = (int) (section << 22 >> 42);
+
+        // Each entry is the state id followed by 4 bits each of x, z and y
+        long[] blocks = packet.blocks();
+        List<PlayerWorld.BlockChange> changes = new ArrayList<>(blocks.length);
+        for (long entry : blocks) {
+            changes.add(new PlayerWorld.BlockChange(
+                    (sectionX << 4) + (int) ((entry >>> 8) & 15),
+                    (sectionY << 4) + (int) (entry & 15),
+                    (sectionZ << 4) + (int) ((entry >>> 4) & 15),
+                    MinestomBlocks.fromStateId((int) (entry >>> 12))));
+        }
+        return new MultiBlockUpdatePacket(uuid, changes);
+    }
+
+    @Override
+    public MultiBlockChangePacket buildLoaderPacket(UUID uuid, SwoftyPacket packet) {
+        return null;
+    }
+
+    @Override
+    public Class<MultiBlockChangePacket> getHandledPacketClass() {
+        return MultiBlockChangePacket.class;
+    }
+}
@@ -0,0 +1,114 @@
+package net.swofty.anticheat.prediction;
+
+import net.swofty.anticheat.math.Pos;
+import net.swofty.anticheat.math.Vel;
+import net.swofty.anticheat.prediction.modifier.VelocityModifier;
+
+/**
+ * Reusable output of {@link PredictionEngine#predictMovements(PlayerContext, PredictionBatch)}.
+ * <p>
+ * Every candidate input is one index into a set of parallel primitive arrays, so a tick of
+ * predictions allocates nothing once the batch exists. A batch is not thread safe; keep one
+ * per player or per thread and reuse it every tick.
+ */
+public class PredictionBatch {
+    public static final int INPUT_FORWARD = 1;
+    public static final int INPUT_BACKWARD = 1 << 1;
+    public static final int INPUT_LEFT = 1 << 2;
+    public static final int INPUT_RIGHT = 1 << 3;
+    public static final int INPUT_JUMP = 1 << 4;
+    public static final int INPUT_SNEAK = 1 << 5;
+
+    static final int CAPACITY = 16;
+
+    final int[] inputs = new int[CAPACITY];
+    final double[] posX = new double[CAPACITY];
+    final double[] posY = new double[CAPACITY];
+    final double[] posZ = new double[CAPACITY];
+    final double[] velX = new double[CAPACITY];
+    final double[] velY = new double[CAPACITY];
+    final double[] velZ = new double[CAPACITY];
+    VelocityModifier[] applicable = new VelocityModifier[32];
+    int count;
+    double uncertainty;
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return the candidate input as a mask of the {@code INPUT_} flags
+     */
+    public int getInput(int index) {
+        return inputs[index];
+    }
+
+    public double getPositionX(int index) {
+        return posX[index];
+    }
+
+    public double getPositionY(int index) {
+        return posY[index];
+    }
+
+    public double getPositionZ(int index) {
+        return posZ[index];
+    }
+
+    public double getVelocityX(int index) {
+        return velX[index];
+    }
+
+    public double getVelocityY(int index) {
+        return velY[index];
+    }
+
+    public double getVelocityZ(int index) {
+        return velZ[index];
+    }
+
+    /**
+     * @return the ping uncertainty shared by every candidate of this tick
+     */
+    public double getUncertainty() {
+        return uncertainty;
+    }
+
+    /**
+     * Find the candidate closest to the movement the player actually made, weighting
+     * position over velocity the same way the object-based check does.
+     *
+     * @return the index of the closest candidate, or -1 if the batch is empty
+     */
+    public int closest(Pos actualPos, Vel actualVel) {
+        int best = -1;
+        double bestOffset = Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            double offset = rawOffset(i, actualPos, actualVel);
+            if (offset < bestOffset) {
+                bestOffset = offset;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return how far a candidate is from the actual movement, after uncertainty, never negative
+     */
+    public double offset(int index, Pos actualPos, Vel actualVel) {
+        return Math.max(0, rawOffset(index, actualPos, actualVel));
+    }
+
+    private double rawOffset(int index, Pos actualPos, Vel actualVel) {
+        double px = posX[index] - actualPos.x();
+        double py = posY[index] - actualPos.y();
+        double pz = posZ[index] - actualPos.z();
+        double vx = velX[index] - actualVel.x();
+        double vy = velY[index] - actualVel.y();
+        double vz = velZ[index] - actualVel.z();
+        return Math.sqrt(px * px + py * py + pz * pz) * 0.8
+                + Math.sqrt(vx * vx + vy * vy + vz * vz) * 0.2
+                - uncertainty;
+    }
+}
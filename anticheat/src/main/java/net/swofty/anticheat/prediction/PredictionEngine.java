@@ -2,6 +2,7 @@ package net.swofty.anticheat.prediction;
 
 import lombok.Data;
 import net.swofty.anticheat.api.AnticheatAPI;
+import net.swofty.anticheat.api.modifier.CustomModifierRegistry;
 import net.swofty.anticheat.math.Pos;
 import net.swofty.anticheat.math.Vel;
 import net.swofty.anticheat.prediction.modifier.FrictionModifier;
@@ -19,12 +20,19 @@ public class PredictionEngine {
     private final List<VelocityModifier> velocityModifiers = new ArrayList<>();
     private final List<FrictionModifier> frictionModifiers = new ArrayList<>();
 
+    // Registered and custom modifiers merged and sorted, rebuilt only when either changes
+    private volatile CompiledModifiers compiled;
+
     // Physics constants
     private static final double GRAVITY = 0.08;
     private static final double DRAG = 0.98;
     private static final double DEFAULT_FRICTION = 0.6f;
     private static final double JUMP_VELOCITY = 0.42;
 
+    // Candidate inputs as PredictionBatch input masks, in the order generatePossibleInputs produces them
+    private static final int[] GROUND_INPUTS = candidateInputs(true);
+    private static final int[] AIR_INPUTS = candidateInputs(false);
+
     public PredictionEngine() {
         // Modifiers are registered externally for full flexibility
     }
@@ -32,17 +40,47 @@ public class PredictionEngine {
     /**
      * Register a velocity modifier
      */
-    public void registerVelocityModifier(VelocityModifier modifier) {
+    public synchronized void registerVelocityModifier(VelocityModifier modifier) {
         velocityModifiers.add(modifier);
         velocityModifiers.sort((a, b) -> Integer.compare(b.getPriority(), a.getPriority()));
+        compiled = null;
     }
 
     /**
      * Register a friction modifier
      */
-    public void registerFrictionModifier(FrictionModifier modifier) {
+    public synchronized void registerFrictionModifier(FrictionModifier modifier) {
         frictionModifiers.add(modifier);
         frictionModifiers.sort((a, b) -> Integer.compare(b.getPriority(), a.getPriority()));
+        compiled = null;
+    }
+
+    /**
+     * Get the merged modifier chains, recompiling them if a modifier was registered here
+     * or in the API since they were last built
+     */
+    private CompiledModifiers compiledModifiers() {
+        CustomModifierRegistry registry = AnticheatAPI.getModifierRegistry();
+        CompiledModifiers current = compiled;
+        if (current != null && current.registryVersion == registry.getVersion()) return current;
+
+        synchronized (this) {
+            // Read the version first so a change made while compiling triggers another rebuild
+            long version = registry.getVersion();
+            List<VelocityModifier> allVelocityModifiers = new ArrayList<>(velocityModifiers);
+            allVelocityModifiers.addAll(registry.getCustomVelocityModifiers());
+            allVelocityModifiers.sort((a, b) -> Integer.compare(b.getPriority(), a.getPriority()));
+
+            List<FrictionModifier> allFrictionModifiers = new ArrayList<>(frictionModifiers);
+            allFrictionModifiers.addAll(registry.getCustomFrictionModifiers());
+            allFrictionModifiers.sort((a, b) -> Integer.compare(b.getPriority(), a.getPriority()));
+
+            current = new CompiledModifiers(version,
+                    allVelocityModifiers.toArray(new VelocityModifier[0]),
+                    allFrictionModifiers.toArray(new FrictionModifier[0]));
+            compiled = current;
+            return current;
+        }
     }
 
     /**
@@ -66,6 +104,123 @@ public class PredictionEngine {
         return predictions;
     }
 
+    /**
+     * Predict all possible movements for next tick into a reusable batch.
+     * <p>
+     * Produces the same candidates as {@link #predictMovements(PlayerContext)}, but works
+     * on every candidate at once over primitive arrays: the modifier chain is filtered once
+     * per call instead of once per candidate, and no vectors are allocated.
+     */
+    public void predictMovements(PlayerContext context, PredictionBatch batch) {
+        CompiledModifiers modifiers = compiledModifiers();
+        boolean onGround = context.isOnGround();
+        int[] inputs = onGround ? GROUND_INPUTS : AIR_INPUTS;
+        int count = inputs.length;
+        batch.count = count;
+        batch.uncertainty = calculatePingUncertainty(context);
+
+        double[] x = batch.velX;
+        double[] y = batch.velY;
+        double[] z = batch.velZ;
+
+        // Base movement from input, rotated by yaw
+        double yawRad = Math.toRadians(context.getPosition().yaw());
+        double sin = Math.sin(yawRad);
+        double cos = Math.cos(yawRad);
+        for (int i = 0; i < count; i++) {
+            int input = inputs[i];
+            batch.inputs[i] = input;
+
+            double forward = 0;
+            double strafe = 0;
+            if ((input & PredictionBatch.INPUT_FORWARD) != 0) forward += 1.0;
+            if ((input & PredictionBatch.INPUT_BACKWARD) != 0) forward -= 1.0;
+            if ((input & PredictionBatch.INPUT_LEFT) != 0) strafe += 1.0;
+            if ((input & PredictionBatch.INPUT_RIGHT) != 0) strafe -= 1.0;
+            if (strafe != 0 || forward != 0) {
+                double length = Math.sqrt(forward * forward + strafe * strafe);
+                forward /= length;
+                strafe /= length;
+            }
+
+            double movementSpeed = 0.1;
+            if ((input & PredictionBatch.INPUT_SNEAK) != 0) movementSpeed *= 0.3;
+            double acceleration = onGround ? movementSpeed * 0.1 : 0.02;
+
+            x[i] = (strafe * cos - forward * sin) * acceleration;
+            y[i] = 0;
+            z[i] = (forward * cos + strafe * sin) * acceleration;
+        }
+
+        // Whether a modifier applies depends only on the context, so decide it once for all candidates
+        VelocityModifier[] applicable = batch.applicable;
+        if (applicable.length < modifiers.velocity.length) {
+            applicable = batch.applicable = new VelocityModifier[modifiers.velocity.length];
+        }
+        int applicableCount = 0;
+        for (VelocityModifier modifier : modifiers.velocity) {
+            if (modifier.shouldApply(context)) applicable[applicableCount++] = modifier;
+        }
+        for (int m = 0; m < applicableCount; m++) {
+            applicable[m].applyBatch(x, y, z, count, context);
+        }
+
+        Vel currentVel = context.getVelocity();
+        Pos currentPos = context.getPosition();
+        double jumpVel = JUMP_VELOCITY + context.getJumpBoostLevel() * 0.1;
+        boolean gravity = !onGround && !context.isFlying();
+        double horizontalFriction = onGround ? getFriction(modifiers, context) : 1;
+        for (int i = 0; i < count; i++) {
+            double vx = currentVel.x() + x[i];
+            double vy = currentVel.y() + y[i];
+            double vz = currentVel.z() + z[i];
+
+            if ((batch.inputs[i] & PredictionBatch.INPUT_JUMP) != 0 && onGround) {
+                vy = jumpVel;
+                if (context.isSprinting()) {
+                    vx -= Math.sin(yawRad) * 0.2;
+                    vz += Math.cos(yawRad) * 0.2;
+                }
+            }
+
+            if (gravity) {
+                vy -= GRAVITY;
+                vy *= DRAG;
+            }
+
+            if (onGround) {
+                vx = vx * horizontalFriction * 0.91;
+                vz = vz * horizontalFriction * 0.91;
+            } else {
+                vx *= 0.91;
+                vz *= 0.91;
+            }
+
+            if (context.isInWater()) {
+                vx *= 0.8;
+                vy *= 0.8;
+                vz *= 0.8;
+            }
+            if (context.isInLava()) {
+                vx *= 0.5;
+                vy *= 0.5;
+                vz *= 0.5;
+            }
+            if (context.isInCobweb()) {
+                vx *= 0.25;
+                vy *= 0.25;
+                vz *= 0.25;
+            }
+
+            x[i] = vx;
+            y[i] = vy;
+            z[i] = vz;
+            batch.posX[i] = currentPos.x() + vx;
+            batch.posY[i] = currentPos.y() + vy;
+            batch.posZ[i] = currentPos.z() + vz;
+        }
+    }
+
     /**
      * Simulate one tick of movement with given input
      */
@@ -77,11 +232,7 @@ public class PredictionEngine {
         Vel movementVel = calculateInputMovement(context, input);
 
         // Apply all velocity modifiers in priority order (including custom modifiers from API)
-        List<VelocityModifier> allVelocityModifiers = new ArrayList<>(velocityModifiers);
-        allVelocityModifiers.addAll(AnticheatAPI.getModifierRegistry().getCustomVelocityModifiers());
-        allVelocityModifiers.sort((a, b) -> Integer.compare(b.getPriority(), a.getPriority()));
-
-        for (VelocityModifier modifier : allVelocityModifiers) {
+        for (VelocityModifier modifier : compiledModifiers().velocity) {
             if (modifier.shouldApply(context)) {
                 movementVel = modifier.apply(movementVel, context);
             }
@@ -154,11 +305,11 @@ public class PredictionEngine {
      * Get friction from modifiers (including custom modifiers from API)
      */
     private float getFriction(PlayerContext context) {
-        List<FrictionModifier> allFrictionModifiers = new ArrayList<>(frictionModifiers);
-        allFrictionModifiers.addAll(AnticheatAPI.getModifierRegistry().getCustomFrictionModifiers());
-        allFrictionModifiers.sort((a, b) -> Integer.compare(b.getPriority(), a.getPriority()));
+        return getFriction(compiledModifiers(), context);
+    }
 
-        for (FrictionModifier modifier : allFrictionModifiers) {
+    private float getFriction(CompiledModifiers modifiers, PlayerContext context) {
+        for (FrictionModifier modifier : modifiers.friction) {
             if (modifier.shouldApply(context)) {
                 return modifier.getFriction(context);
             }
@@ -252,6 +403,35 @@ public class PredictionEngine {
         return (ping / 50.0) * 0.01;
     }
 
+    /**
+     * Input masks for the candidates generatePossibleInputs would produce
+     */
+    private static int[] candidateInputs(boolean onGround) {
+        int[] inputs = new int[PredictionBatch.CAPACITY];
+        int count = 0;
+        boolean[] bools = {true, false};
+        for (boolean forward : bools) {
+            for (boolean left : bools) {
+                for (boolean right : bools) {
+                    if (left && right) continue;
+
+                    boolean[] jumpOpts = onGround ? bools : new boolean[]{false};
+                    for (boolean jump : jumpOpts) {
+                        inputs[count++] = (forward ? PredictionBatch.INPUT_FORWARD : 0)
+                                | (left ? PredictionBatch.INPUT_LEFT : 0)
+                                | (right ? PredictionBatch.INPUT_RIGHT : 0)
+                                | (jump ? PredictionBatch.INPUT_JUMP : 0);
+                    }
+                }
+            }
+        }
+        inputs[count++] = PredictionBatch.INPUT_BACKWARD;
+        return Arrays.copyOf(inputs, count);
+    }
+
+    private record CompiledModifiers(long registryVersion, VelocityModifier[] velocity, FrictionModifier[] friction) {
+    }
+
     @Data
     public static class PredictedMovement {
         private final Pos position;
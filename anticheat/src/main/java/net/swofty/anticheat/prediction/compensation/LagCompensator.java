@@ -4,7 +4,8 @@ import lombok.Data;
 import net.swofty.anticheat.math.Pos;
 import net.swofty.anticheat.math.Vel;
 
-import java.util.*;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -13,46 +14,36 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class LagCompensator {
 
-    // Store player states keyed by transaction ID
-    private final Map<UUID, Map<Integer, PlayerSnapshot>> playerSnapshots = new ConcurrentHashMap<>();
+    // Number of transactions remembered per player, a power of two so the slot is a mask
+    private static final int HISTORY_SIZE = 128;
+    private static final int PING_SAMPLES = 5;
 
-    // Track transaction times for ping calculation
-    private final Map<UUID, Map<Integer, Long>> transactionTimes = new ConcurrentHashMap<>();
+    private final Map<UUID, TransactionHistory> histories = new ConcurrentHashMap<>();
 
     /**
      * Record a player snapshot at a transaction ID
      */
     public void recordSnapshot(UUID playerId, int transactionId, Pos position, Vel velocity, long timestamp) {
-        playerSnapshots.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>())
-            .put(transactionId, new PlayerSnapshot(position, velocity, timestamp));
-
-        transactionTimes.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>())
-            .put(transactionId, timestamp);
-
-        // Clean old snapshots (keep last 100)
-        cleanOldSnapshots(playerId);
+        histories.computeIfAbsent(playerId, k -> new TransactionHistory())
+            .record(transactionId, position, velocity, timestamp);
     }
 
     /**
      * Get player state at a specific transaction
      */
     public PlayerSnapshot getSnapshot(UUID playerId, int transactionId) {
-        Map<Integer, PlayerSnapshot> snapshots = playerSnapshots.get(playerId);
-        if (snapshots == null) return null;
-        return snapshots.get(transactionId);
+        TransactionHistory history = histories.get(playerId);
+        if (history == null) return null;
+        return history.snapshot(transactionId);
     }
 
     /**
      * Calculate transaction ping
      */
     public long getTransactionPing(UUID playerId, int transactionId, long responseTime) {
-        Map<Integer, Long> times = transactionTimes.get(playerId);
-        if (times == null) return -1;
-
-        Long sentTime = times.get(transactionId);
-        if (sentTime == null) return -1;
-
-        return responseTime - sentTime;
+        TransactionHistory history = histories.get(playerId);
+        if (history == null) return -1;
+        return history.resolvePing(transactionId, responseTime);
     }
 
     /**
@@ -76,49 +67,90 @@ public class LagCompensator {
         if (currentPing > 500) return true;
 
         // If ping is fluctuating heavily, skip
-        Map<Integer, Long> times = transactionTimes.get(playerId);
-        if (times == null || times.size() < 5) return false;
+        TransactionHistory history = histories.get(playerId);
+        if (history == null) return false;
 
-        List<Long> recentPings = new ArrayList<>(times.values());
-        Collections.sort(recentPings);
-
-        if (recentPings.size() < 5) return false;
+        // If variance is high, lag is unstable
+        return history.recentPingVariance() > 10000; // Standard deviation > 100ms
+    }
 
-        // Get last 5 pings
-        List<Long> lastFive = recentPings.subList(Math.max(0, recentPings.size() - 5), recentPings.size());
+    public void clear(UUID playerId) {
+        histories.remove(playerId);
+    }
 
-        // Calculate variance
-        double avg = lastFive.stream().mapToLong(Long::longValue).average().orElse(0);
-        double variance = 0;
-        for (long ping : lastFive) {
-            variance += Math.pow(ping - avg, 2);
+    /**
+     * Ring buffer of one player's transactions, indexed by transaction ID. An ID maps to
+     * the slot {@code id & (HISTORY_SIZE - 1)}, so recording overwrites the transaction
+     * sent {@code HISTORY_SIZE} IDs earlier and nothing has to be pruned.
+     */
+    private static final class TransactionHistory {
+        private final int[] ids = new int[HISTORY_SIZE];
+        private final boolean[] used = new boolean[HISTORY_SIZE];
+        private final double[] posX = new double[HISTORY_SIZE];
+        private final double[] posY = new double[HISTORY_SIZE];
+        private final double[] posZ = new double[HISTORY_SIZE];
+        private final float[] yaw = new float[HISTORY_SIZE];
+        private final float[] pitch = new float[HISTORY_SIZE];
+        private final double[] velX = new double[HISTORY_SIZE];
+        private final double[] velY = new double[HISTORY_SIZE];
+        private final double[] velZ = new double[HISTORY_SIZE];
+        private final long[] timestamps = new long[HISTORY_SIZE];
+
+        // Last measured pings, oldest overwritten first
+        private final long[] pings = new long[PING_SAMPLES];
+        private int pingCount;
+        private int nextPing;
+
+        synchronized void record(int transactionId, Pos position, Vel velocity, long timestamp) {
+            int slot = transactionId & (HISTORY_SIZE - 1);
+            ids[slot] = transactionId;
+            used[slot] = true;
+            posX[slot] = position.x();
+            posY[slot] = position.y();
+            posZ[slot] = position.z();
+            yaw[slot] = position.yaw();
+            pitch[slot] = position.pitch();
+            velX[slot] = velocity.x();
+            velY[slot] = velocity.y();
+            velZ[slot] = velocity.z();
+            timestamps[slot] = timestamp;
         }
-        variance /= lastFive.size();
 
-        // If variance is high, lag is unstable
-        return variance > 10000; // Standard deviation > 100ms
-    }
+        synchronized PlayerSnapshot snapshot(int transactionId) {
+            int slot = slotOf(transactionId);
+            if (slot < 0) return null;
+            return new PlayerSnapshot(
+                    new Pos(posX[slot], posY[slot], posZ[slot], yaw[slot], pitch[slot]),
+                    new Vel(velX[slot], velY[slot], velZ[slot]),
+                    timestamps[slot]);
+        }
 
-    private void cleanOldSnapshots(UUID playerId) {
-        Map<Integer, PlayerSnapshot> snapshots = playerSnapshots.get(playerId);
-        if (snapshots != null && snapshots.size() > 100) {
-            // Remove oldest snapshots
-            List<Map.Entry<Integer, PlayerSnapshot>> entries = new ArrayList<>(snapshots.entrySet());
-            entries.sort(Comparator.comparingLong(e -> e.getValue().getTimestamp()));
+        synchronized long resolvePing(int transactionId, long responseTime) {
+            int slot = slotOf(transactionId);
+            if (slot < 0) return -1;
 
-            for (int i = 0; i < entries.size() - 100; i++) {
-                snapshots.remove(entries.get(i).getKey());
-            }
+            long ping = responseTime - timestamps[slot];
+            pings[nextPing] = ping;
+            nextPing = (nextPing + 1) % PING_SAMPLES;
+            if (pingCount < PING_SAMPLES) pingCount++;
+            return ping;
         }
 
-        Map<Integer, Long> times = transactionTimes.get(playerId);
-        if (times != null && times.size() > 100) {
-            List<Map.Entry<Integer, Long>> entries = new ArrayList<>(times.entrySet());
-            entries.sort(Comparator.comparingLong(Map.Entry::getValue));
+        synchronized double recentPingVariance() {
+            if (pingCount < PING_SAMPLES) return 0;
+
+            double avg = 0;
+            for (long ping : pings) avg += ping;
+            avg /= PING_SAMPLES;
+
+            double variance = 0;
+            for (long ping : pings) variance += (ping - avg) * (ping - avg);
+            return variance / PING_SAMPLES;
+        }
 
-            for (int i = 0; i < entries.size() - 100; i++) {
-                times.remove(entries.get(i).getKey());
-            }
+        private int slotOf(int transactionId) {
+            int slot = transactionId & (HISTORY_SIZE - 1);
+            return used[slot] && ids[slot] == transactionId ? slot : -1;
         }
     }
 
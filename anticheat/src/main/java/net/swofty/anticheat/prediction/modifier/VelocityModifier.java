@@ -18,6 +18,26 @@ public abstract class VelocityModifier {
      */
     public abstract Vel apply(Vel currentVel, PlayerContext context);
 
+    /**
+     * Apply this modifier to a batch of velocities stored as one array per component.
+     * The default wraps every entry in a {@link Vel}; modifiers used on every tick should
+     * override it with a loop over the arrays.
+     *
+     * @param x The x components, modified in place
+     * @param y The y components, modified in place
+     * @param z The z components, modified in place
+     * @param count Number of entries in use
+     * @param context The player's context (state, effects, etc)
+     */
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        for (int i = 0; i < count; i++) {
+            Vel vel = apply(new Vel(x[i], y[i], z[i]), context);
+            x[i] = vel.x();
+            y[i] = vel.y();
+            z[i] = vel.z();
+        }
+    }
+
     /**
      * Check if this modifier should be applied in the current context
      *
@@ -43,4 +63,26 @@ public abstract class VelocityModifier {
      * @return modifier name
      */
     public abstract String getName();
+
+    /**
+     * Scale a batch of velocities, for modifiers that only multiply components
+     */
+    protected static void scale(double[] x, double[] y, double[] z, int count,
+                                double horizontal, double vertical) {
+        for (int i = 0; i < count; i++) {
+            x[i] *= horizontal;
+            y[i] *= vertical;
+            z[i] *= horizontal;
+        }
+    }
+
+    /**
+     * Scale the horizontal components of a batch of velocities
+     */
+    protected static void scaleHorizontal(double[] x, double[] z, int count, double horizontal) {
+        for (int i = 0; i < count; i++) {
+            x[i] *= horizontal;
+            z[i] *= horizontal;
+        }
+    }
 }
@@ -26,6 +26,15 @@ public class BubbleColumnModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        boolean isUpward = context.getCustomData("bubbleColumnUpward");
+        double verticalModifier = isUpward ? UPWARD_PUSH : DOWNWARD_PULL;
+        for (int i = 0; i < count; i++) {
+            y[i] += verticalModifier;
+        }
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.isInBubbleColumn();
@@ -23,6 +23,11 @@ public class CobwebModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        scale(x, y, z, count, HORIZONTAL_MULTIPLIER, VERTICAL_MULTIPLIER);
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.isInCobweb();
@@ -31,6 +31,11 @@ public class DepthStriderModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        scaleHorizontal(x, z, count, 1.0 + Math.min(3, context.getDepthStriderLevel()) / 3.0);
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.getDepthStriderLevel() > 0 && context.isInWater();
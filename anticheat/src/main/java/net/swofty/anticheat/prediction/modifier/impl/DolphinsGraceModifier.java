@@ -21,6 +21,11 @@ public class DolphinsGraceModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        scale(x, y, z, count, DOLPHINS_GRACE_MULTIPLIER, DOLPHINS_GRACE_MULTIPLIER);
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.isHasDolphinsGrace() && context.isInWater();
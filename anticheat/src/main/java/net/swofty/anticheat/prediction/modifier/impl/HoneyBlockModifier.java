@@ -21,6 +21,11 @@ public class HoneyBlockModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        scale(x, y, z, count, HONEY_SPEED_MULTIPLIER, HONEY_SPEED_MULTIPLIER);
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.isOnHoney();
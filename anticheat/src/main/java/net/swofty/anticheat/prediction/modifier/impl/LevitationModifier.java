@@ -24,6 +24,14 @@ public class LevitationModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        double target = 0.05 * (context.getLevitationLevel() + 1);
+        for (int i = 0; i < count; i++) {
+            y[i] += (target - y[i]) * 0.2;
+        }
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.getLevitationLevel() > 0;
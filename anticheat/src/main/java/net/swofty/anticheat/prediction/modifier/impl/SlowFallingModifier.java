@@ -24,6 +24,13 @@ public class SlowFallingModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        for (int i = 0; i < count; i++) {
+            y[i] = Math.max(y[i], MAX_FALL_SPEED);
+        }
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.getSlowFallingLevel() > 0;
@@ -28,6 +28,11 @@ public class SlownessEffectModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        scaleHorizontal(x, z, count, Math.max(0, 1.0 - (context.getSlownessLevel() * SLOWNESS_REDUCTION_PER_LEVEL)));
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.getSlownessLevel() > 0;
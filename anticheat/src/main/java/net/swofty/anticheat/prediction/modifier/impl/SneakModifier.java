@@ -21,6 +21,11 @@ public class SneakModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        scaleHorizontal(x, z, count, SNEAK_MULTIPLIER);
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.isSneaking();
@@ -22,6 +22,11 @@ public class SoulSandModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        scaleHorizontal(x, z, count, SOUL_SAND_SPEED_MULTIPLIER);
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         // Only applies if on soul sand and NOT wearing soul speed boots
@@ -24,6 +24,11 @@ public class SoulSpeedModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        scaleHorizontal(x, z, count, context.getSoulSpeedLevel() * 0.105 + 1.3);
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.getSoulSpeedLevel() > 0 && context.isOnSoulSand();
@@ -26,6 +26,11 @@ public class SpeedEffectModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        scaleHorizontal(x, z, count, 1.0 + (context.getSpeedLevel() * SPEED_BOOST_PER_LEVEL));
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.getSpeedLevel() > 0;
@@ -22,6 +22,11 @@ public class SprintModifier extends VelocityModifier {
         );
     }
 
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] z, int count, PlayerContext context) {
+        scaleHorizontal(x, z, count, SPRINT_MULTIPLIER);
+    }
+
     @Override
     public boolean shouldApply(PlayerContext context) {
         return context.isSprinting() && !context.isSneaking() && !context.isUsingItem();
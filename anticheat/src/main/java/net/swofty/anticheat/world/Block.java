@@ -1,8 +1,10 @@
 package net.swofty.anticheat.world;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 @Getter
+@EqualsAndHashCode
 public class Block {
     private final boolean isWater;
     private final boolean isLava;
@@ -0,0 +1,150 @@
+package net.swofty.anticheat.world;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable palette-compressed 16x16x16 section of blocks.
+ * <p>
+ * Each section stores its distinct blocks once in a palette and packs the palette index of
+ * every position into longs, using as few bits as the palette size allows. Sections are
+ * never modified in place; {@link #with(int[], Block[], int)} returns a new section with a
+ * batch of changes applied in one copy, so a section can be shared between any number of
+ * player views. Sections made of a single block are interned and shared by every view,
+ * sections built from server chunks are shared through {@link SectionStore}.
+ */
+public final class BlockSection {
+    static final int SIZE = 16;
+    private static final int VOLUME = SIZE * SIZE * SIZE;
+    private static final int MIN_BITS = 4;
+
+    static final BlockSection EMPTY = new BlockSection(new Block[]{null}, 0, new long[0]);
+    private static final Map<Block, BlockSection> UNIFORM = new ConcurrentHashMap<>();
+
+    private final Block[] palette;
+    private final int bits;
+    private final int perLong;
+    private final long mask;
+    private final long[] data;
+
+    private BlockSection(Block[] palette, int bits, long[] data) {
+        this.palette = palette;
+        this.bits = bits;
+        this.perLong = bits == 0 ? 0 : 64 / bits;
+        this.mask = (1L << bits) - 1;
+        this.data = data;
+    }
+
+    static BlockSection uniform(Block block) {
+        if (block == null) return EMPTY;
+        return UNIFORM.computeIfAbsent(block, b -> new BlockSection(new Block[]{b}, 0, new long[0]));
+    }
+
+    /**
+     * Builds a section from every block in it, indexed by {@link #index(int, int, int)}.
+     */
+    static BlockSection of(Block[] blocks) {
+        Block[] palette = new Block[]{blocks[0]};
+        int[] indices = new int[VOLUME];
+        for (int i = 1; i < VOLUME; i++) {
+            int paletteIndex = indexOf(palette, blocks[i]);
+            if (paletteIndex < 0) {
+                palette = Arrays.copyOf(palette, palette.length + 1);
+                paletteIndex = palette.length - 1;
+                palette[paletteIndex] = blocks[i];
+            }
+            indices[i] = paletteIndex;
+        }
+        if (palette.length == 1) return uniform(palette[0]);
+
+        int bits = bitsFor(palette.length);
+        long[] data = new long[(VOLUME + 64 / bits - 1) / (64 / bits)];
+        for (int i = 0; i < VOLUME; i++) {
+            set(data, bits, i, indices[i]);
+        }
+        return new BlockSection(palette, bits, data);
+    }
+
+    Block get(int x, int y, int z) {
+        if (bits == 0) return palette[0];
+        int index = index(x, y, z);
+        long word = data[index / perLong];
+        return palette[(int) ((word >>> ((index % perLong) * bits)) & mask)];
+    }
+
+    BlockSection with(int x, int y, int z, Block block) {
+        return with(new int[]{index(x, y, z)}, new Block[]{block}, 1);
+    }
+
+    /**
+     * Applies the first {@code count} changes, later changes to a position win.
+     *
+     * @param positions positions as given by {@link #index(int, int, int)}
+     * @return the changed section, or this one if no block differs
+     */
+    BlockSection with(int[] positions, Block[] blocks, int count) {
+        Block[] newPalette = palette;
+        int[] paletteIndices = new int[count];
+        boolean changed = false;
+        for (int i = 0; i < count; i++) {
+            int paletteIndex = indexOf(newPalette, blocks[i]);
+            if (paletteIndex < 0) {
+                newPalette = Arrays.copyOf(newPalette, newPalette.length + 1);
+                paletteIndex = newPalette.length - 1;
+                newPalette[paletteIndex] = blocks[i];
+            }
+            paletteIndices[i] = paletteIndex;
+            changed |= paletteIndex >= palette.length || paletteIndexAt(positions[i]) != paletteIndex;
+        }
+        if (!changed) return this;
+
+        int newBits = bitsFor(newPalette.length);
+        long[] newData = newBits == bits ? data.clone() : repack(newBits);
+        for (int i = 0; i < count; i++) {
+            set(newData, newBits, positions[i], paletteIndices[i]);
+        }
+        return new BlockSection(newPalette, newBits, newData);
+    }
+
+    private int paletteIndexAt(int index) {
+        if (bits == 0) return 0;
+        return (int) ((data[index / perLong] >>> ((index % perLong) * bits)) & mask);
+    }
+
+    private long[] repack(int newBits) {
+        int newPerLong = 64 / newBits;
+        long[] newData = new long[(VOLUME + newPerLong - 1) / newPerLong];
+        if (bits == 0) return newData; // Everything stays at palette index 0
+
+        for (int index = 0; index < VOLUME; index++) {
+            int value = (int) ((data[index / perLong] >>> ((index % perLong) * bits)) & mask);
+            set(newData, newBits, index, value);
+        }
+        return newData;
+    }
+
+    private static int indexOf(Block[] palette, Block block) {
+        for (int i = 0; i < palette.length; i++) {
+            if (palette[i] == block || (block != null && block.equals(palette[i]))) return i;
+        }
+        return -1;
+    }
+
+    private static void set(long[] data, int bits, int index, int value) {
+        int perLong = 64 / bits;
+        int shift = (index % perLong) * bits;
+        long mask = (1L << bits) - 1;
+        int word = index / perLong;
+        data[word] = (data[word] & ~(mask << shift)) | ((long) value << shift);
+    }
+
+    private static int bitsFor(int paletteSize) {
+        if (paletteSize <= 1) return 0;
+        return Math.max(MIN_BITS, 32 - Integer.numberOfLeadingZeros(paletteSize - 1));
+    }
+
+    static int index(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+}
@@ -1,8 +1,10 @@
 package net.swofty.anticheat.world;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 @Getter
+@EqualsAndHashCode
 public class BoundingBox {
     private final float minX, minY, minZ;
     private final float maxX, maxY, maxZ;
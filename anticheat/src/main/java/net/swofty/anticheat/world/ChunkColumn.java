@@ -0,0 +1,24 @@
+package net.swofty.anticheat.world;
+
+/**
+ * One chunk of a player's view, as the 24 sections from y = -64 to 319.
+ * <p>
+ * The section array is copy-on-write: a write builds a new array holding the changed
+ * sections and publishes it, so readers always see a whole chunk and a write only copies
+ * the chunk it touches.
+ */
+final class ChunkColumn {
+    private volatile BlockSection[] sections;
+
+    ChunkColumn(BlockSection[] sections) {
+        this.sections = sections;
+    }
+
+    BlockSection[] sections() {
+        return sections;
+    }
+
+    void publish(BlockSection[] sections) {
+        this.sections = sections;
+    }
+}
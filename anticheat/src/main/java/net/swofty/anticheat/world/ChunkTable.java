@@ -0,0 +1,83 @@
+package net.swofty.anticheat.world;
+
+/**
+ * Immutable open-addressing map from packed chunk coordinates to chunk columns.
+ * <p>
+ * Lookups probe primitive arrays and never box the key. Adding or removing a chunk returns
+ * a new table, so readers holding the previous one are unaffected. Block writes don't touch
+ * the table at all, they go to the {@link ChunkColumn} it points to.
+ */
+final class ChunkTable {
+    static final ChunkTable EMPTY = new ChunkTable(new long[16], new ChunkColumn[16], 0);
+
+    private final long[] keys;
+    private final ChunkColumn[] values;
+    private final int size;
+
+    private ChunkTable(long[] keys, ChunkColumn[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    ChunkColumn get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return values[slot];
+        }
+        return null;
+    }
+
+    /**
+     * @return a table that also holds the column, which must not be in this table yet
+     */
+    ChunkTable with(long key, ChunkColumn column) {
+        int capacity = keys.length;
+        // Keep the load factor at or below one half so probe chains stay short
+        if ((size + 1) * 2 > capacity) capacity *= 2;
+
+        long[] newKeys = new long[capacity];
+        ChunkColumn[] newValues = new ChunkColumn[capacity];
+        int newSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                insert(newKeys, newValues, keys[i], values[i]);
+                newSize++;
+            }
+        }
+        insert(newKeys, newValues, key, column);
+        return new ChunkTable(newKeys, newValues, newSize + 1);
+    }
+
+    ChunkTable without(long key) {
+        if (get(key) == null) return this;
+
+        long[] newKeys = new long[keys.length];
+        ChunkColumn[] newValues = new ChunkColumn[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null && keys[i] != key) insert(newKeys, newValues, keys[i], values[i]);
+        }
+        return new ChunkTable(newKeys, newValues, size - 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static void insert(long[] keys, ChunkColumn[] values, long key, ChunkColumn column) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (values[slot] != null) slot = (slot + 1) & mask;
+        keys[slot] = key;
+        values[slot] = column;
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
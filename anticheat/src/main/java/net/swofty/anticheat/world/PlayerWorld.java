@@ -1,107 +1,124 @@
 package net.swofty.anticheat.world;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.*;
-import java.util.concurrent.locks.ReentrantLock;
-
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The blocks a single player is known to see, kept up to date from the chunk and block
+ * packets the player is sent.
+ * <p>
+ * Chunks are {@link ChunkColumn}s of immutable {@link BlockSection}s, looked up through a
+ * copy-on-write {@link ChunkTable}. Reads go straight to the current table and column
+ * without locking or allocating. A block write only copies the chunk it touches; the table
+ * is only rebuilt when a chunk is loaded for the first time or unloaded.
+ */
 public class PlayerWorld {
-    private static final int CHUNK_SIZE = 16;
-    private final Map<ChunkCoordinate, Chunk> chunks;
-
-    private final ExecutorService executorService;
-    private final ReentrantLock lock;
-    private final BlockingQueue<Runnable> taskQueue;
+    private static final int MIN_SECTION = -4; // y = -64
+    private static final int SECTION_COUNT = 24; // up to y = 319
 
-    public PlayerWorld() {
-        this.chunks = new HashMap<>();
-        this.executorService = Executors.newSingleThreadExecutor();
-        this.lock = new ReentrantLock();
-        this.taskQueue = new LinkedBlockingQueue<>();
+    private volatile ChunkTable chunks = ChunkTable.EMPTY;
 
-        executorService.submit(this::processTaskQueue);
+    public record BlockChange(int x, int y, int z, Block block) {
     }
 
-    private void processTaskQueue() {
-        while (!Thread.currentThread().isInterrupted()) {
-            try {
-                Runnable task = taskQueue.take();
-                task.run();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
+    public void updateBlock(int x, int y, int z, Block block) {
+        updateBlocks(List.of(new BlockChange(x, y, z, block)));
     }
 
-    public CompletableFuture<Void> updateBlock(int x, int y, int z, Block block) {
-        return CompletableFuture.runAsync(() -> {
-            lock.lock();
-            try {
-                ChunkCoordinate chunkCoord = new ChunkCoordinate(x / CHUNK_SIZE, z / CHUNK_SIZE);
-                Chunk chunk = chunks.computeIfAbsent(chunkCoord, k -> new Chunk());
-                chunk.setBlock(x % CHUNK_SIZE, y, z % CHUNK_SIZE, block);
-            } finally {
-                lock.unlock();
+    /**
+     * Applies a batch of changes, copying each changed section and chunk once.
+     */
+    public synchronized void updateBlocks(List<BlockChange> changes) {
+        int[] positions = new int[changes.size()];
+        Block[] blocks = new Block[changes.size()];
+        boolean[] applied = new boolean[changes.size()];
+
+        for (int first = 0; first < changes.size(); first++) {
+            if (applied[first]) continue;
+            BlockChange change = changes.get(first);
+            int chunkX = change.x() >> 4, chunkZ = change.z() >> 4, section = (change.y() >> 4) - MIN_SECTION;
+            if (section < 0 || section >= SECTION_COUNT) continue;
+
+            // Gather every change to the same section, in order
+            int count = 0;
+            boolean placesBlock = false;
+            for (int i = first; i < changes.size(); i++) {
+                BlockChange other = changes.get(i);
+                if (applied[i] || other.x() >> 4 != chunkX || other.z() >> 4 != chunkZ
+                        || (other.y() >> 4) - MIN_SECTION != section) continue;
+                applied[i] = true;
+                positions[count] = BlockSection.index(other.x() & 15, other.y() & 15, other.z() & 15);
+                blocks[count++] = other.block();
+                placesBlock |= other.block() != null;
             }
-        }, executorService);
-    }
 
-    public CompletableFuture<Block> getBlock(int x, int y, int z) {
-        return CompletableFuture.supplyAsync(() -> {
-            lock.lock();
-            try {
-                ChunkCoordinate chunkCoord = new ChunkCoordinate(x / CHUNK_SIZE, z / CHUNK_SIZE);
-                Chunk chunk = chunks.get(chunkCoord);
-                if (chunk == null) {
-                    return null;
-                }
-                return chunk.getBlock(x % CHUNK_SIZE, y, z % CHUNK_SIZE);
-            } finally {
-                lock.unlock();
-            }
-        }, executorService);
-    }
-
-    public void shutdown() {
-        executorService.shutdown();
-    }
+            ChunkColumn column = column(chunkX, chunkZ, placesBlock);
+            if (column == null) continue;
 
-    private static class ChunkCoordinate {
-        final int x;
-        final int z;
+            BlockSection[] sections = column.sections();
+            BlockSection updated = sections[section].with(positions, blocks, count);
+            if (updated == sections[section]) continue;
 
-        ChunkCoordinate(int x, int z) {
-            this.x = x;
-            this.z = z;
+            BlockSection[] newSections = sections.clone();
+            newSections[section] = updated;
+            column.publish(newSections);
         }
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            ChunkCoordinate that = (ChunkCoordinate) o;
-            return x == that.x && z == that.z;
+    /**
+     * Replaces a whole chunk, as sent when it comes into view. The sections are kept as
+     * given, shared with other views, until a block update copies them.
+     *
+     * @param minSection the section y of {@code sections[0]}
+     * @param sections   per section either null for air or the section, see {@link SectionStore}
+     */
+    public synchronized void loadChunk(int chunkX, int chunkZ, int minSection, BlockSection[] sections) {
+        BlockSection[] built = new BlockSection[SECTION_COUNT];
+        Arrays.fill(built, BlockSection.EMPTY);
+        for (int i = 0; i < sections.length; i++) {
+            int section = minSection + i - MIN_SECTION;
+            if (section < 0 || section >= SECTION_COUNT || sections[i] == null) continue;
+            built[section] = sections[i];
         }
 
-        @Override
-        public int hashCode() {
-            return 31 * x + z;
+        long key = ChunkTable.key(chunkX, chunkZ);
+        ChunkColumn column = chunks.get(key);
+        if (column != null) {
+            column.publish(built);
+        } else {
+            chunks = chunks.with(key, new ChunkColumn(built));
         }
     }
 
-    private static class Chunk {
-        private Block[][][] blocks;
+    /**
+     * @return the block at the position, or null for air and unknown chunks
+     */
+    public Block getBlock(int x, int y, int z) {
+        int section = (y >> 4) - MIN_SECTION;
+        if (section < 0 || section >= SECTION_COUNT) return null;
 
-        public Chunk() {
-            this.blocks = new Block[CHUNK_SIZE][256][CHUNK_SIZE];
-        }
+        ChunkColumn column = chunks.get(ChunkTable.key(x >> 4, z >> 4));
+        if (column == null) return null;
+        return column.sections()[section].get(x & 15, y & 15, z & 15);
+    }
 
-        public void setBlock(int x, int y, int z, Block block) {
-            blocks[x][y][z] = block;
-        }
+    public synchronized void unloadChunk(int chunkX, int chunkZ) {
+        chunks = chunks.without(ChunkTable.key(chunkX, chunkZ));
+    }
 
-        public Block getBlock(int x, int y, int z) {
-            return blocks[x][y][z];
-        }
+    public synchronized void clear() {
+        chunks = ChunkTable.EMPTY;
+    }
+
+    private ChunkColumn column(int chunkX, int chunkZ, boolean create) {
+        long key = ChunkTable.key(chunkX, chunkZ);
+        ChunkColumn column = chunks.get(key);
+        if (column != null || !create) return column;
+
+        BlockSection[] sections = new BlockSection[SECTION_COUNT];
+        Arrays.fill(sections, BlockSection.EMPTY);
+        column = new ChunkColumn(sections);
+        chunks = chunks.with(key, column);
+        return column;
     }
 }
@@ -0,0 +1,58 @@
+package net.swofty.anticheat.world;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Sections built from server chunks, shared by every player view of the same chunk.
+ * <p>
+ * Sections are keyed by where they came from, the instance, chunk and section y, along with
+ * a hash of their content. A chunk sent to many players is decoded once, and is decoded again
+ * only once its content has changed. Views never modify a shared section, a block update
+ * copies the section for the one player it was sent to, see {@link BlockSection#with}.
+ */
+public final class SectionStore {
+    private static final Map<Source, Built> SECTIONS = new ConcurrentHashMap<>();
+
+    private record Source(UUID instance, long chunk, int section) {
+    }
+
+    private record Built(long contentHash, BlockSection section) {
+    }
+
+    private SectionStore() {
+    }
+
+    /**
+     * @param contentHash a hash of every block in the section, a different hash rebuilds it
+     * @param blocks      all 4096 blocks indexed by y, then z, then x, only read on a rebuild
+     * @return the shared section for the source
+     */
+    public static BlockSection get(UUID instance, int chunkX, int chunkZ, int section,
+                                   long contentHash, Supplier<Block[]> blocks) {
+        Source source = new Source(instance, ChunkTable.key(chunkX, chunkZ), section);
+        Built built = SECTIONS.get(source);
+        if (built != null && built.contentHash() == contentHash) return built.section();
+
+        // Two players loading the same chunk at once may both build it, either result is equal
+        BlockSection blockSection = BlockSection.of(blocks.get());
+        SECTIONS.put(source, new Built(contentHash, blockSection));
+        return blockSection;
+    }
+
+    /**
+     * Drops the sections of a chunk the server unloaded, views holding them keep their copy.
+     */
+    public static void forgetChunk(UUID instance, int chunkX, int chunkZ, int minSection, int maxSection) {
+        long chunk = ChunkTable.key(chunkX, chunkZ);
+        for (int section = minSection; section < maxSection; section++) {
+            SECTIONS.remove(new Source(instance, chunk, section));
+        }
+    }
+
+    public static void forgetInstance(UUID instance) {
+        SECTIONS.keySet().removeIf(source -> source.instance().equals(instance));
+    }
+}
@@ -39,6 +39,7 @@ subprojects {
         implementation(platform("tools.jackson:jackson-bom:3.0.3"))
         implementation("tools.jackson.core:jackson-core")
         implementation("tools.jackson.core:jackson-databind")
+        implementation("tools.jackson.dataformat:jackson-dataformat-smile")
         implementation("com.fasterxml.jackson.core:jackson-annotations:2.20")
     }
 
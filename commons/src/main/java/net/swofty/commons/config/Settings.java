@@ -28,6 +28,9 @@ public class Settings {
 	@Comment("Whether to enable sandbox features (such as editing items)")
 	private boolean sandbox = false;
 
+	@Comment("The directory the bazaar service keeps its order journal in")
+	private String bazaarJournalDirectory = "data/bazaar";
+
 	@Comment("Integrations with services")
 	private IntegrationSettings integrations = new IntegrationSettings();
 
@@ -3,6 +3,7 @@ package net.swofty.commons.impl;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import net.swofty.commons.protocol.WireFormat;
 import org.json.JSONObject;
 
 import java.util.UUID;
@@ -15,13 +16,20 @@ public class ServiceProxyRequest {
     private String requestServer;
     private String endpoint;
     private String message;
+    // Format the requester would like the response in, the message carries its own format tag
+    private WireFormat format;
+
+    public ServiceProxyRequest(UUID requestId, String requestServer, String endpoint, String message) {
+        this(requestId, requestServer, endpoint, message, WireFormat.JSON);
+    }
 
     public JSONObject toJSON() {
         return new JSONObject()
                 .put("requestId", requestId.toString())
                 .put("requestServer", requestServer)
                 .put("endpoint", endpoint)
-                .put("message", message);
+                .put("message", message)
+                .put("format", format.name());
     }
 
     public static ServiceProxyRequest fromJSON(JSONObject json) {
@@ -29,7 +37,8 @@ public class ServiceProxyRequest {
                 UUID.fromString(json.getString("requestId")),
                 json.getString("requestServer"),
                 json.getString("endpoint"),
-                json.getString("message")
+                json.getString("message"),
+                WireFormat.fromName(json.optString("format", WireFormat.JSON.name()))
         );
     }
 }
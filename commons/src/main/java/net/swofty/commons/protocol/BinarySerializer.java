@@ -0,0 +1,10 @@
+package net.swofty.commons.protocol;
+
+/**
+ * A serializer that can also encode values in a compact binary form.
+ */
+public interface BinarySerializer<T> extends Serializer<T> {
+    byte[] serializeBinary(T value);
+
+    T deserializeBinary(byte[] bytes);
+}
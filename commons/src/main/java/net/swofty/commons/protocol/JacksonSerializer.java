@@ -4,33 +4,51 @@ import lombok.SneakyThrows;
 import tools.jackson.databind.DeserializationFeature;
 import tools.jackson.databind.SerializationFeature;
 import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+public class JacksonSerializer<T> implements BinarySerializer<T> {
+    // Mappers are thread-safe and expensive to build, so every serializer shares them
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder()
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .build();
+    private static final SmileMapper SMILE_MAPPER = SmileMapper.builder()
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .build();
 
-public class JacksonSerializer<T> implements Serializer<T> {
-    private final JsonMapper mapper;
     private final Class<T> clazz;
 
     public JacksonSerializer(Class<T> clazz) {
-        this.mapper = JsonMapper.builder()
-                .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-                .build();
         this.clazz = clazz;
     }
 
     @SneakyThrows
     @Override
     public String serialize(T value) {
-        return mapper.writeValueAsString(value);
+        return JSON_MAPPER.writeValueAsString(value);
     }
 
     @SneakyThrows
     @Override
     public T deserialize(String json) {
-        return mapper.readValue(json, clazz);
+        return JSON_MAPPER.readValue(json, clazz);
+    }
+
+    @SneakyThrows
+    @Override
+    public byte[] serializeBinary(T value) {
+        return SMILE_MAPPER.writeValueAsBytes(value);
+    }
+
+    @SneakyThrows
+    @Override
+    public T deserializeBinary(byte[] bytes) {
+        return SMILE_MAPPER.readValue(bytes, clazz);
     }
 
     @Override
     public T clone(T value) {
         return value;
     }
-}
\ No newline at end of file
+}
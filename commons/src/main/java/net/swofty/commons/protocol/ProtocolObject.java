@@ -1,9 +1,19 @@
 package net.swofty.commons.protocol;
 
+import java.util.Base64;
+
 public abstract class ProtocolObject<T, R> {
     public abstract Serializer<T> getSerializer();
     public abstract Serializer<R> getReturnSerializer();
 
+    /**
+     * The format this channel would like its payloads in. Payloads whose serializer is
+     * not a {@link BinarySerializer} always fall back to {@link WireFormat#JSON}.
+     */
+    public WireFormat getWireFormat() {
+        return WireFormat.JSON;
+    }
+
     public String translateToString(T message) {
         return getSerializer().serialize(message);
     }
@@ -20,7 +30,53 @@ public abstract class ProtocolObject<T, R> {
         return getReturnSerializer().deserialize(string);
     }
 
+    /**
+     * Encodes a message in this channel's preferred wire format, tagged with the format used.
+     */
+    public String translateToWire(T message) {
+        return encode(getSerializer(), message, getWireFormat());
+    }
+
+    /**
+     * Decodes a tagged message in whichever format it was written in.
+     */
+    public T translateFromWire(String string) {
+        return decode(getSerializer(), string);
+    }
+
+    /**
+     * Encodes a response in the wire format the requester asked for, tagged with the format used.
+     */
+    public String translateReturnToWire(R message, WireFormat format) {
+        return encode(getReturnSerializer(), message, format);
+    }
+
+    /**
+     * Decodes a tagged response in whichever format it was written in.
+     */
+    public R translateReturnFromWire(String string) {
+        return decode(getReturnSerializer(), string);
+    }
+
     public String channel() {
         return getClass().getSimpleName();
     }
+
+    private static <V> String encode(Serializer<V> serializer, V value, WireFormat format) {
+        if (format == WireFormat.SMILE && serializer instanceof BinarySerializer<V> binary) {
+            return WireFormat.SMILE.tag(Base64.getEncoder().encodeToString(binary.serializeBinary(value)));
+        }
+        return WireFormat.JSON.tag(serializer.serialize(value));
+    }
+
+    private static <V> V decode(Serializer<V> serializer, String tagged) {
+        String payload = WireFormat.untag(tagged);
+        if (WireFormat.ofTagged(tagged) == WireFormat.SMILE) {
+            if (!(serializer instanceof BinarySerializer<V> binary)) {
+                throw new IllegalArgumentException("Received a Smile payload for a serializer that is not binary capable");
+            }
+            return binary.deserializeBinary(Base64.getDecoder().decode(payload));
+        }
+        return serializer.deserialize(payload);
+    }
 }
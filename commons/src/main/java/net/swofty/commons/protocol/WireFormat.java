@@ -0,0 +1,54 @@
+package net.swofty.commons.protocol;
+
+/**
+ * Encoding of a protocol object's payload on the wire. Every encoded payload starts with the
+ * tag of the format it was written in, so it is decoded by what it is rather than by what the
+ * receiver expects.
+ */
+public enum WireFormat {
+    /**
+     * Plain text produced by {@link Serializer#serialize(Object)}, understood by every serializer.
+     */
+    JSON('j'),
+    /**
+     * Binary Smile produced by a {@link BinarySerializer}, Base64 encoded for Redis.
+     */
+    SMILE('s'),
+    ;
+
+    private final char tag;
+
+    WireFormat(char tag) {
+        this.tag = tag;
+    }
+
+    public String tag(String payload) {
+        return tag + payload;
+    }
+
+    /**
+     * @return the format a tagged payload was written in, an empty payload counts as empty JSON
+     */
+    public static WireFormat ofTagged(String tagged) {
+        if (tagged.isEmpty()) return JSON;
+        for (WireFormat format : values()) {
+            if (format.tag == tagged.charAt(0)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Payload is not tagged with a wire format");
+    }
+
+    public static String untag(String tagged) {
+        return tagged.isEmpty() ? tagged : tagged.substring(1);
+    }
+
+    public static WireFormat fromName(String name) {
+        for (WireFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,87 @@
+package net.swofty.commons.protocol.objects.auctions;
+
+import net.swofty.commons.protocol.JacksonSerializer;
+import net.swofty.commons.protocol.ProtocolObject;
+import net.swofty.commons.protocol.Serializer;
+import net.swofty.commons.protocol.WireFormat;
+import net.swofty.commons.skyblock.auctions.AuctionCategories;
+import net.swofty.commons.skyblock.auctions.AuctionsFilter;
+import net.swofty.commons.skyblock.auctions.AuctionsSorting;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fetches one page of a category's auctions as summaries holding everything the browser grid
+ * shows, so a page is a single request. The full bid list of an auction is fetched on demand
+ * with {@link AuctionFetchItemProtocolObject}.
+ */
+public class AuctionFetchPageProtocolObject extends ProtocolObject<
+        AuctionFetchPageProtocolObject.AuctionFetchPageMessage,
+        AuctionFetchPageProtocolObject.AuctionFetchPageResponse> {
+
+    @Override
+    public Serializer<AuctionFetchPageMessage> getSerializer() {
+        return new JacksonSerializer<>(AuctionFetchPageMessage.class);
+    }
+
+    @Override
+    public Serializer<AuctionFetchPageResponse> getReturnSerializer() {
+        return new JacksonSerializer<>(AuctionFetchPageResponse.class);
+    }
+
+    @Override
+    public WireFormat getWireFormat() {
+        return WireFormat.SMILE;
+    }
+
+    /**
+     * @param after    null for the first page, otherwise the {@code nextCursor} of the previous
+     *                 page fetched with the same sorting
+     * @param pageSize how many auctions to return at most
+     */
+    public record AuctionFetchPageMessage(
+            AuctionsSorting sorting,
+            AuctionsFilter filter,
+            AuctionCategories category,
+            @Nullable AuctionCursor after,
+            int pageSize
+    ) { }
+
+    /**
+     * @param nextCursor cursor of the following page, or null if this is the last one
+     * @param total      number of auctions matching the category and filter
+     */
+    public record AuctionFetchPageResponse(
+            List<AuctionSummary> auctions,
+            @Nullable AuctionCursor nextCursor,
+            int total
+    ) { }
+
+    /**
+     * Position in a sorted view: the sort key of the last auction returned (its price, end
+     * time or bid count, depending on the sorting) and its id to break ties. Pages stay
+     * stable when auctions before the cursor are added or removed.
+     */
+    public record AuctionCursor(long key, UUID uuid) { }
+
+    /**
+     * @param item      the auctioned item, serialized like {@code UnderstandableSkyBlockItemSerializer}
+     * @param topBidder who placed the highest bid, or null if there are no bids
+     */
+    public record AuctionSummary(
+            UUID uuid,
+            UUID originator,
+            String item,
+            String itemType,
+            int amount,
+            boolean bin,
+            int startingPrice,
+            long highestBid,
+            @Nullable UUID topBidder,
+            long end,
+            int bidCount
+    ) { }
+}
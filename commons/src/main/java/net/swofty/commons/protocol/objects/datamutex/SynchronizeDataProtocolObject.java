@@ -63,6 +63,7 @@ public class SynchronizeDataProtocolObject extends ProtocolObject<
                 JSONObject json = new JSONObject();
                 json.put("success", value.success);
                 json.put("message", value.message);
+                json.put("fencingToken", value.fencingToken);
                 if (value.synchronizedData != null) {
                     json.put("data", value.synchronizedData);
                 }
@@ -75,13 +76,14 @@ public class SynchronizeDataProtocolObject extends ProtocolObject<
                 return new SynchronizeDataResponse(
                         obj.getBoolean("success"),
                         obj.getString("message"),
-                        obj.optString("data", null)
+                        obj.optString("data", null),
+                        obj.optLong("fencingToken", 0)
                 );
             }
 
             @Override
             public SynchronizeDataResponse clone(SynchronizeDataResponse value) {
-                return new SynchronizeDataResponse(value.success, value.message, value.synchronizedData);
+                return new SynchronizeDataResponse(value.success, value.message, value.synchronizedData, value.fencingToken);
             }
         };
     }
@@ -92,9 +94,14 @@ public class SynchronizeDataProtocolObject extends ProtocolObject<
             String dataKey
     ) {}
 
+    /**
+     * @param fencingToken the token of the lock granted to the requester, to be passed back when
+     *                     updating or unlocking; 0 if the synchronization failed
+     */
     public record SynchronizeDataResponse(
             boolean success,
             String message,
-            String synchronizedData
+            String synchronizedData,
+            long fencingToken
     ) {}
 }
\ No newline at end of file
@@ -21,6 +21,7 @@ public class UnlockDataProtocolObject extends ProtocolObject<
                 JSONObject json = new JSONObject();
                 json.put("playerUUID", value.playerUUID.toString());
                 json.put("dataKey", value.dataKey);
+                json.put("fencingToken", value.fencingToken);
 
                 JSONArray servers = new JSONArray();
                 value.serverUUIDs.forEach(uuid -> servers.put(uuid.toString()));
@@ -34,6 +35,7 @@ public class UnlockDataProtocolObject extends ProtocolObject<
                 JSONObject obj = new JSONObject(json);
                 UUID playerUUID = UUID.fromString(obj.getString("playerUUID"));
                 String dataKey = obj.getString("dataKey");
+                long fencingToken = obj.getLong("fencingToken");
 
                 List<UUID> serverUUIDs = new ArrayList<>();
                 JSONArray servers = obj.getJSONArray("serverUUIDs");
@@ -41,7 +43,7 @@ public class UnlockDataProtocolObject extends ProtocolObject<
                     serverUUIDs.add(UUID.fromString(servers.getString(i)));
                 }
 
-                return new UnlockDataRequest(serverUUIDs, playerUUID, dataKey);
+                return new UnlockDataRequest(serverUUIDs, playerUUID, dataKey, fencingToken);
             }
 
             @Override
@@ -49,7 +51,8 @@ public class UnlockDataProtocolObject extends ProtocolObject<
                 return new UnlockDataRequest(
                         new ArrayList<>(value.serverUUIDs),
                         value.playerUUID,
-                        value.dataKey
+                        value.dataKey,
+                        value.fencingToken
                 );
             }
         };
@@ -82,10 +85,14 @@ public class UnlockDataProtocolObject extends ProtocolObject<
         };
     }
 
+    /**
+     * @param fencingToken the token returned when the data was synchronized
+     */
     public record UnlockDataRequest(
             List<UUID> serverUUIDs,
             UUID playerUUID,
-            String dataKey
+            String dataKey,
+            long fencingToken
     ) {}
 
     public record UnlockDataResponse(
@@ -22,6 +22,7 @@ public class UpdateSynchronizedDataProtocolObject extends ProtocolObject<
                 json.put("playerUUID", value.playerUUID.toString());
                 json.put("dataKey", value.dataKey);
                 json.put("newData", value.newData);
+                json.put("fencingToken", value.fencingToken);
 
                 JSONArray servers = new JSONArray();
                 value.serverUUIDs.forEach(uuid -> servers.put(uuid.toString()));
@@ -36,6 +37,7 @@ public class UpdateSynchronizedDataProtocolObject extends ProtocolObject<
                 UUID playerUUID = UUID.fromString(obj.getString("playerUUID"));
                 String dataKey = obj.getString("dataKey");
                 String newData = obj.getString("newData");
+                long fencingToken = obj.getLong("fencingToken");
 
                 List<UUID> serverUUIDs = new ArrayList<>();
                 JSONArray servers = obj.getJSONArray("serverUUIDs");
@@ -43,7 +45,7 @@ public class UpdateSynchronizedDataProtocolObject extends ProtocolObject<
                     serverUUIDs.add(UUID.fromString(servers.getString(i)));
                 }
 
-                return new UpdateDataRequest(serverUUIDs, playerUUID, dataKey, newData);
+                return new UpdateDataRequest(serverUUIDs, playerUUID, dataKey, newData, fencingToken);
             }
 
             @Override
@@ -52,7 +54,8 @@ public class UpdateSynchronizedDataProtocolObject extends ProtocolObject<
                         new ArrayList<>(value.serverUUIDs),
                         value.playerUUID,
                         value.dataKey,
-                        value.newData
+                        value.newData,
+                        value.fencingToken
                 );
             }
         };
@@ -85,11 +88,15 @@ public class UpdateSynchronizedDataProtocolObject extends ProtocolObject<
         };
     }
 
+    /**
+     * @param fencingToken the token returned when the data was synchronized
+     */
     public record UpdateDataRequest(
             List<UUID> serverUUIDs,
             UUID playerUUID,
             String dataKey,
-            String newData
+            String newData,
+            long fencingToken
     ) {}
 
     public record UpdateDataResponse(
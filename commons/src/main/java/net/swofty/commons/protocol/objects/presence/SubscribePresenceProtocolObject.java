@@ -0,0 +1,99 @@
+package net.swofty.commons.protocol.objects.presence;
+
+import net.swofty.commons.presence.PresenceInfo;
+import net.swofty.commons.protocol.ProtocolObject;
+import net.swofty.commons.protocol.Serializer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Changes the set of players whose presence the requesting server is sent deltas for.
+ * The response holds the current presence of the newly subscribed players.
+ */
+public class SubscribePresenceProtocolObject extends ProtocolObject<
+        SubscribePresenceProtocolObject.SubscribePresenceMessage,
+        SubscribePresenceProtocolObject.SubscribePresenceResponse> {
+
+    @Override
+    public Serializer<SubscribePresenceMessage> getSerializer() {
+        return new Serializer<>() {
+            @Override
+            public String serialize(SubscribePresenceMessage value) {
+                JSONObject json = new JSONObject();
+                json.put("subscribe", toArray(value.subscribe()));
+                json.put("unsubscribe", toArray(value.unsubscribe()));
+                return json.toString();
+            }
+
+            @Override
+            public SubscribePresenceMessage deserialize(String json) {
+                JSONObject obj = new JSONObject(json);
+                return new SubscribePresenceMessage(
+                        fromArray(obj.getJSONArray("subscribe")),
+                        fromArray(obj.getJSONArray("unsubscribe"))
+                );
+            }
+
+            @Override
+            public SubscribePresenceMessage clone(SubscribePresenceMessage value) {
+                return new SubscribePresenceMessage(new ArrayList<>(value.subscribe()), new ArrayList<>(value.unsubscribe()));
+            }
+        };
+    }
+
+    @Override
+    public Serializer<SubscribePresenceResponse> getReturnSerializer() {
+        return new Serializer<>() {
+            @Override
+            public String serialize(SubscribePresenceResponse value) {
+                JSONArray array = new JSONArray();
+                for (PresenceInfo info : value.presence()) {
+                    array.put(new JSONObject(PresenceInfo.getSerializer().serialize(info)));
+                }
+                JSONObject json = new JSONObject();
+                json.put("presence", array);
+                return json.toString();
+            }
+
+            @Override
+            public SubscribePresenceResponse deserialize(String json) {
+                JSONObject obj = new JSONObject(json);
+                JSONArray array = obj.getJSONArray("presence");
+                List<PresenceInfo> presence = new ArrayList<>();
+                for (int i = 0; i < array.length(); i++) {
+                    presence.add(PresenceInfo.getSerializer().deserialize(array.getJSONObject(i).toString()));
+                }
+                return new SubscribePresenceResponse(presence);
+            }
+
+            @Override
+            public SubscribePresenceResponse clone(SubscribePresenceResponse value) {
+                return new SubscribePresenceResponse(new ArrayList<>(value.presence()));
+            }
+        };
+    }
+
+    private static JSONArray toArray(List<UUID> uuids) {
+        JSONArray array = new JSONArray();
+        for (UUID uuid : uuids) {
+            array.put(uuid.toString());
+        }
+        return array;
+    }
+
+    private static List<UUID> fromArray(JSONArray array) {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < array.length(); i++) {
+            uuids.add(UUID.fromString(array.getString(i)));
+        }
+        return uuids;
+    }
+
+    public record SubscribePresenceMessage(List<UUID> subscribe, List<UUID> unsubscribe) {}
+
+    public record SubscribePresenceResponse(List<PresenceInfo> presence) {}
+}
@@ -12,6 +12,8 @@ public class PingServerRequirements extends ProxyChannelRequirements {
 
     @Override
     public List<RequiredKey> getRequiredKeysForServer() {
-        return List.of();
+        return List.of(
+                new RequiredKey("server-uuid") // The uuid of the server answering, pings are broadcast
+        );
     }
 }
@@ -0,0 +1,105 @@
+package net.swofty.commons.service;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Framing for messages exchanged between services and game servers over Redis.
+ * <p>
+ * Every message starts with a fixed header followed by the payload:
+ * <pre>
+ * [kind: 1][request id msb: 16 hex][request id lsb: 16 hex][sender length: 2 hex][sender][payload]
+ * </pre>
+ * The header is read by position, so decoding needs no regex split, no intermediate
+ * strings for the request id and no {@link UUID#fromString(String)}. Broadcast responses
+ * frame the responding server's UUID as 32 hex digits, which is decoded into
+ * {@link #senderServer()} the same way.
+ *
+ * @param kind         one of {@link #REQUEST}, {@link #RESPONSE} or {@link #BROADCAST_RESPONSE}
+ * @param requestId    id used to route the response back to the pending request
+ * @param sender       service type for requests, server UUID in hex for broadcast responses, empty otherwise
+ * @param senderServer the responding server for broadcast responses, null otherwise
+ * @param payload      the JSON body
+ */
+public record ServiceEnvelope(char kind, UUID requestId, String sender, @Nullable UUID senderServer, String payload) {
+    public static final char REQUEST = 'Q';
+    public static final char RESPONSE = 'R';
+    public static final char BROADCAST_RESPONSE = 'B';
+
+    private static final int ID_OFFSET = 1;
+    private static final int SENDER_LENGTH_OFFSET = ID_OFFSET + 32;
+    private static final int SENDER_OFFSET = SENDER_LENGTH_OFFSET + 2;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public static String encode(char kind, UUID requestId, String sender, String payload) {
+        if (sender.length() > 0xFF) {
+            throw new IllegalArgumentException("Sender is too long to frame: " + sender);
+        }
+
+        StringBuilder builder = new StringBuilder(SENDER_OFFSET + sender.length() + payload.length());
+        builder.append(kind);
+        appendHex(builder, requestId.getMostSignificantBits(), 16);
+        appendHex(builder, requestId.getLeastSignificantBits(), 16);
+        appendHex(builder, sender.length(), 2);
+        builder.append(sender);
+        builder.append(payload);
+        return builder.toString();
+    }
+
+    /**
+     * Encodes a broadcast response sent by the given server.
+     */
+    public static String encodeBroadcastResponse(UUID requestId, UUID server, String payload) {
+        StringBuilder sender = new StringBuilder(32);
+        appendHex(sender, server.getMostSignificantBits(), 16);
+        appendHex(sender, server.getLeastSignificantBits(), 16);
+        return encode(BROADCAST_RESPONSE, requestId, sender.toString(), payload);
+    }
+
+    /**
+     * Decodes a message as delivered by the Redis API, which may prefix it with
+     * {@code <filter>;}.
+     */
+    public static ServiceEnvelope decode(String raw) {
+        int start = raw.indexOf(';') + 1;
+        char kind = raw.charAt(start);
+        long msb = parseHex(raw, start + ID_OFFSET, 16);
+        long lsb = parseHex(raw, start + ID_OFFSET + 16, 16);
+        int senderLength = (int) parseHex(raw, start + SENDER_LENGTH_OFFSET, 2);
+        int senderStart = start + SENDER_OFFSET;
+        int payloadStart = senderStart + senderLength;
+
+        UUID senderServer = null;
+        if (kind == BROADCAST_RESPONSE && senderLength == 32) {
+            senderServer = new UUID(parseHex(raw, senderStart, 16), parseHex(raw, senderStart + 16, 16));
+        }
+
+        return new ServiceEnvelope(
+                kind,
+                new UUID(msb, lsb),
+                senderLength == 0 ? "" : raw.substring(senderStart, payloadStart),
+                senderServer,
+                raw.substring(payloadStart)
+        );
+    }
+
+    private static void appendHex(StringBuilder builder, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            builder.append(HEX[(int) (value >>> shift) & 0xF]);
+        }
+    }
+
+    private static long parseHex(String raw, int offset, int digits) {
+        long value = 0;
+        for (int i = offset; i < offset + digits; i++) {
+            char c = raw.charAt(i);
+            int nibble;
+            if (c >= '0' && c <= '9') nibble = c - '0';
+            else if (c >= 'a' && c <= 'f') nibble = c - 'a' + 10;
+            else throw new IllegalArgumentException("Malformed service envelope header at " + i);
+            value = (value << 4) | nibble;
+        }
+        return value;
+    }
+}
@@ -6,10 +6,14 @@ import net.swofty.commons.skyblock.statistics.ItemStatistics;
 import org.jetbrains.annotations.Nullable;
 import org.reflections.Reflections;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -17,6 +21,10 @@ import java.util.stream.Stream;
 @Getter
 public abstract class ItemAttribute<T> {
     private static final ArrayList<ItemAttribute> attributes = new ArrayList<>();
+    // Indexed by slot, the position an attribute was given when it was registered
+    private static final ArrayList<Constructor<? extends ItemAttribute>> constructors = new ArrayList<>();
+    private static final Map<String, Integer> slots = new HashMap<>();
+    private static List<String> keys = List.of();
 
     public T value;
 
@@ -32,25 +40,62 @@ public abstract class ItemAttribute<T> {
 
     public abstract String saveIntoString();
 
+    /**
+     * Registers every attribute in the attributes package, giving each a slot in key order.
+     * Does nothing if they were already registered.
+     */
     public static void registerItemAttributes() {
+        if (!attributes.isEmpty()) return;
+
         loopThroughPackage(
                 "net.swofty.commons.skyblock.item.attribute.attributes", ItemAttribute.class
-        ).forEach(attributes::add);
-    }
-
-    public static Collection<ItemAttribute> getPossibleAttributes() {
-        // Create a new list to store the results
-        List<ItemAttribute> result = new ArrayList<>();
-
-        // Iterate safely using a traditional for loop
-        for (ItemAttribute attribute : attributes) {
+        ).sorted(Comparator.comparing(ItemAttribute::getKey)).forEach(attribute -> {
             try {
-                result.add(attribute.getClass().getDeclaredConstructor().newInstance());
-            } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+                constructors.add(attribute.getClass().getDeclaredConstructor());
+            } catch (NoSuchMethodException e) {
                 throw new RuntimeException(e);
             }
+            slots.put(attribute.getKey(), attributes.size());
+            attributes.add(attribute);
+        });
+        keys = attributes.stream().map(ItemAttribute::getKey).toList();
+    }
+
+    /**
+     * @return the slot of the attribute with the given key, or -1 if there is none
+     */
+    public static int getSlot(String key) {
+        Integer slot = slots.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    public static int getSlotCount() {
+        return attributes.size();
+    }
+
+    /**
+     * @return the keys of every registered attribute, indexed by slot
+     */
+    public static List<String> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Creates a new instance of the attribute in the given slot, holding its default value.
+     */
+    public static ItemAttribute newInstance(int slot) {
+        try {
+            return constructors.get(slot).newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(e);
         }
+    }
 
+    public static Collection<ItemAttribute> getPossibleAttributes() {
+        List<ItemAttribute> result = new ArrayList<>(attributes.size());
+        for (int slot = 0; slot < attributes.size(); slot++) {
+            result.add(newInstance(slot));
+        }
         return result;
     }
 
@@ -1,23 +1,46 @@
 package net.swofty.commons.skyblock.statistics;
 
-import lombok.Getter;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
 
-@Getter
+/**
+ * Base, additive and multiplicative values of every {@link ItemStatistic}, kept in primitive arrays
+ * indexed by ordinal. A statistic that was never given a value reads as 0, and is left out of the
+ * map views and of {@link #toString()}.
+ * <p>
+ * Instances are not changed once built, every operation returns a new one. Use an
+ * {@link Accumulator} to sum many of them without creating one per addition.
+ */
 public class ItemStatistics {
-    private final Map<ItemStatistic, Double> statisticsBase;
-    private final Map<ItemStatistic, Double> statisticsAdditive;
-    private final Map<ItemStatistic, Double> statisticsMultiplicative;
+    private static final ItemStatistic[] STATISTICS = ItemStatistic.values();
+    private static final int COUNT = STATISTICS.length;
+
+    private final double[] base;
+    private final double[] additive;
+    private final double[] multiplicative;
+    // Which statistics were given a value, the arrays hold 0 for the others
+    private final boolean[] hasBase;
+    private final boolean[] hasAdditive;
+    private final boolean[] hasMultiplicative;
+
+    private ItemStatistics() {
+        this(new double[COUNT], new double[COUNT], new double[COUNT],
+                new boolean[COUNT], new boolean[COUNT], new boolean[COUNT]);
+    }
 
-    // Private constructor used by the builder
-    private ItemStatistics(Map<ItemStatistic, Double> statisticsBase, Map<ItemStatistic, Double> statisticsAdditive, Map<ItemStatistic, Double> statisticsMultiplicative) {
-        this.statisticsBase = statisticsBase;
-        this.statisticsAdditive = statisticsAdditive;
-        this.statisticsMultiplicative = statisticsMultiplicative;
+    private ItemStatistics(double[] base, double[] additive, double[] multiplicative,
+                           boolean[] hasBase, boolean[] hasAdditive, boolean[] hasMultiplicative) {
+        this.base = base;
+        this.additive = additive;
+        this.multiplicative = multiplicative;
+        this.hasBase = hasBase;
+        this.hasAdditive = hasAdditive;
+        this.hasMultiplicative = hasMultiplicative;
     }
 
     // Static method to create the builder
@@ -25,23 +48,51 @@ public class ItemStatistics {
         return new Builder();
     }
 
-    public static ItemStatistics empty() { return ItemStatistics.builder().build(); }
+    public static ItemStatistics empty() { return new ItemStatistics(); }
 
     @Override
     public @NonNull ItemStatistics clone() {
-        return new ItemStatistics(new EnumMap<>(this.statisticsBase),
-                new EnumMap<>(this.statisticsAdditive),
-                new EnumMap<>(this.statisticsMultiplicative));
+        return new ItemStatistics(base.clone(), additive.clone(), multiplicative.clone(),
+                hasBase.clone(), hasAdditive.clone(), hasMultiplicative.clone());
+    }
+
+    /**
+     * @return a read-only map of the base values that were set
+     */
+    public Map<ItemStatistic, Double> getStatisticsBase() {
+        return asMap(base, hasBase);
+    }
+
+    /**
+     * @return a read-only map of the additive values that were set
+     */
+    public Map<ItemStatistic, Double> getStatisticsAdditive() {
+        return asMap(additive, hasAdditive);
+    }
+
+    /**
+     * @return a read-only map of the multiplicative values that were set
+     */
+    public Map<ItemStatistic, Double> getStatisticsMultiplicative() {
+        return asMap(multiplicative, hasMultiplicative);
+    }
+
+    private static Map<ItemStatistic, Double> asMap(double[] values, boolean[] present) {
+        Map<ItemStatistic, Double> map = new EnumMap<>(ItemStatistic.class);
+        for (int i = 0; i < COUNT; i++) {
+            if (present[i]) map.put(STATISTICS[i], values[i]);
+        }
+        return Collections.unmodifiableMap(map);
     }
 
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
 
-        for (ItemStatistic stat : ItemStatistic.values()) {
-            double baseValue = statisticsBase.getOrDefault(stat, 0D);
-            double additiveValue = statisticsAdditive.getOrDefault(stat, 0D);
-            double multiplicativeValue = statisticsMultiplicative.getOrDefault(stat, 0D);
+        for (int i = 0; i < COUNT; i++) {
+            double baseValue = base[i];
+            double additiveValue = additive[i];
+            double multiplicativeValue = multiplicative[i];
 
             // For multiplicative, 1.0 is the neutral element (like 0 for addition)
             // Use epsilon comparison to handle floating point drift
@@ -50,7 +101,7 @@ public class ItemStatistics {
             boolean hasMultiplicative = Math.abs(multiplicativeValue - 1.0) > 1e-9 && Math.abs(multiplicativeValue) > 1e-9;
 
             if (hasBase || hasAdditive || hasMultiplicative) {
-                builder.append(stat.name()).append(":");
+                builder.append(STATISTICS[i].name()).append(":");
                 boolean needsComma = false;
                 if (hasBase) {
                     builder.append("B").append(baseValue);
@@ -72,6 +123,26 @@ public class ItemStatistics {
         return builder.toString();
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ItemStatistics that)) return false;
+        return Arrays.equals(base, that.base)
+                && Arrays.equals(additive, that.additive)
+                && Arrays.equals(multiplicative, that.multiplicative)
+                && Arrays.equals(hasBase, that.hasBase)
+                && Arrays.equals(hasAdditive, that.hasAdditive)
+                && Arrays.equals(hasMultiplicative, that.hasMultiplicative);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(base);
+        result = 31 * result + Arrays.hashCode(additive);
+        result = 31 * result + Arrays.hashCode(multiplicative);
+        return result;
+    }
+
     public static ItemStatistics fromString(String string) {
         Builder builder = ItemStatistics.builder();
 
@@ -103,72 +174,120 @@ public class ItemStatistics {
 
     // Builder class
     public static class Builder {
-        private final Map<ItemStatistic, Double> statisticsBase = new EnumMap<>(ItemStatistic.class);
-        private final Map<ItemStatistic, Double> statisticsAdditive = new EnumMap<>(ItemStatistic.class);
-        private final Map<ItemStatistic, Double> statisticsMultiplicative = new EnumMap<>(ItemStatistic.class);
+        private final ItemStatistics statistics = new ItemStatistics();
 
         public Builder withBase(ItemStatistic stat, Double value) {
-            this.statisticsBase.put(stat, value);
+            statistics.setBase(stat.ordinal(), value);
             return this;
         }
 
         public Builder withAdditive(ItemStatistic stat, Double value) {
             if (value < 0) value = 0.01D;
-            this.statisticsAdditive.put(stat, value);
+            statistics.setAdditive(stat.ordinal(), value);
             return this;
         }
 
         public Builder withAdditivePercentage(ItemStatistic stat, Double valuePercentage) {
             if (valuePercentage < 0) valuePercentage = 1D;
-            this.statisticsAdditive.put(stat, 1 + (valuePercentage / 100));
+            statistics.setAdditive(stat.ordinal(), 1 + (valuePercentage / 100));
             return this;
         }
 
         public Builder withMultiplicative(ItemStatistic stat, Double multiplicationValue) {
             if (multiplicationValue < 0) multiplicationValue = 0.01;
-            this.statisticsMultiplicative.put(stat, multiplicationValue);
+            statistics.setMultiplicative(stat.ordinal(), multiplicationValue);
             return this;
         }
 
         public Builder withMultiplicativePercentage(ItemStatistic stat, Double multiplicationValuePercentage) {
             if (multiplicationValuePercentage < 0) multiplicationValuePercentage = 1D;
-            this.statisticsMultiplicative.put(stat, 1 + (multiplicationValuePercentage / 100));
+            statistics.setMultiplicative(stat.ordinal(), 1 + (multiplicationValuePercentage / 100));
             return this;
         }
 
         public ItemStatistics build() {
-            return new ItemStatistics(new EnumMap<>(this.statisticsBase),
-                    new EnumMap<>(this.statisticsAdditive),
-                    new EnumMap<>(this.statisticsMultiplicative));
+            return statistics.clone();
         }
 
         @Override
         public String toString() {
-            return "ItemStatistics.Builder(statisticsBase=" + statisticsBase + ", statisticsAdditive=" + statisticsAdditive + ", statisticsMultiplicative=" + statisticsMultiplicative + ")";
+            return "ItemStatistics.Builder(statisticsBase=" + statistics.getStatisticsBase()
+                    + ", statisticsAdditive=" + statistics.getStatisticsAdditive()
+                    + ", statisticsMultiplicative=" + statistics.getStatisticsMultiplicative() + ")";
         }
     }
 
+    /**
+     * Sums statistics in place, the same way as folding them with {@link #add(ItemStatistics, ItemStatistics)}
+     * starting from {@link #empty()}: base and additive values are summed and multiplicative values are
+     * multiplied, with an unset multiplicative value counting as 1.
+     */
+    public static final class Accumulator {
+        private final double[] base = new double[COUNT];
+        private final double[] additive = new double[COUNT];
+        private final double[] multiplicative = new double[COUNT];
+        private boolean empty = true;
+
+        public Accumulator() {
+            Arrays.fill(multiplicative, 1D);
+        }
+
+        public Accumulator add(ItemStatistics statistics) {
+            for (int i = 0; i < COUNT; i++) {
+                base[i] += statistics.base[i];
+                additive[i] += statistics.additive[i];
+                if (statistics.hasMultiplicative[i]) multiplicative[i] *= statistics.multiplicative[i];
+            }
+            empty = false;
+            return this;
+        }
+
+        public ItemStatistics build() {
+            if (empty) return ItemStatistics.empty();
+
+            boolean[] present = new boolean[COUNT];
+            Arrays.fill(present, true);
+            return new ItemStatistics(base.clone(), additive.clone(), multiplicative.clone(),
+                    present, present.clone(), present.clone());
+        }
+    }
+
+    private void setBase(int index, double value) {
+        base[index] = value;
+        hasBase[index] = true;
+    }
+
+    private void setAdditive(int index, double value) {
+        additive[index] = value;
+        hasAdditive[index] = true;
+    }
+
+    private void setMultiplicative(int index, double value) {
+        multiplicative[index] = value;
+        hasMultiplicative[index] = true;
+    }
+
     public ItemStatistics addBase(ItemStatistic stat, Double value) {
         ItemStatistics result = this.clone();
-        result.statisticsBase.put(stat, this.getBase(stat) + value);
+        result.setBase(stat.ordinal(), base[stat.ordinal()] + value);
         return result;
     }
 
     public ItemStatistics addAdditive(ItemStatistic stat, Double value) {
         ItemStatistics result = this.clone();
-        result.statisticsAdditive.put(stat, this.getAdditive(stat) + value);
+        result.setAdditive(stat.ordinal(), getAdditive(stat) + value);
         return result;
     }
 
     public ItemStatistics addMultiplicative(ItemStatistic stat, Double value) {
         ItemStatistics result = this.clone();
-        result.statisticsMultiplicative.put(stat, this.getMultiplicative(stat) + value);
+        result.setMultiplicative(stat.ordinal(), getMultiplicative(stat) + value);
         return result;
     }
 
     public Map<ItemStatistic, Double> getOverall() {
         Map<ItemStatistic, Double> result = new EnumMap<>(ItemStatistic.class);
-        for (ItemStatistic stat : ItemStatistic.values()) {
+        for (ItemStatistic stat : STATISTICS) {
             result.put(stat, getOverall(stat));
         }
         return result;
@@ -176,71 +295,64 @@ public class ItemStatistics {
 
     public @NonNull Double getOverall(@Nullable ItemStatistic stat) {
         if (stat == null) return 0D;
-        Double value = 0D;
-        if (this.statisticsBase.containsKey(stat)) value += this.statisticsBase.get(stat);
-        value *= getAdditive(stat);
-        return value;
+        int index = stat.ordinal();
+        return base[index] * (additive[index] + 1);
     }
 
     public @NonNull Double getBase(@Nullable ItemStatistic stat) {
         if (stat == null) return 0D;
-        return this.statisticsBase.getOrDefault(stat, 0D);
+        return base[stat.ordinal()];
     }
 
     public @NonNull Double getAdditive(@Nullable ItemStatistic stat) {
         if (stat == null) return 1D;
-        return this.statisticsAdditive.getOrDefault(stat, 0D) + 1;
+        return additive[stat.ordinal()] + 1;
     }
 
     public @NonNull Double getMultiplicative(@Nullable ItemStatistic stat) {
         if (stat == null) return 1D;
-        return this.statisticsMultiplicative.getOrDefault(stat, 0D) + 1;
+        return multiplicative[stat.ordinal()] + 1;
     }
 
     public @NonNull Double getMultiplicativeAsPercentage(@Nullable ItemStatistic stat) {
         if (stat == null) return 100D;
-        return this.statisticsMultiplicative.getOrDefault(stat, 0D) * 100 + 100;
+        return multiplicative[stat.ordinal()] * 100 + 100;
     }
 
     public static ItemStatistics add(ItemStatistics first, ItemStatistics other) {
-        ItemStatistics result = new ItemStatistics(new EnumMap<>(first.statisticsBase),
-                new EnumMap<>(first.statisticsAdditive),
-                new EnumMap<>(first.statisticsMultiplicative));
+        ItemStatistics result = new ItemStatistics();
 
-        for (ItemStatistic stat : ItemStatistic.values()) {
-            result.statisticsBase.put(stat, first.getBase(stat) + other.getBase(stat));
-            result.statisticsAdditive.put(stat, first.statisticsAdditive.getOrDefault(stat, 0D)
-                    + other.statisticsAdditive.getOrDefault(stat, 0D));
-            result.statisticsMultiplicative.put(stat, first.statisticsMultiplicative.getOrDefault(stat, 1D)
-                    * other.statisticsMultiplicative.getOrDefault(stat, 1D));
+        for (int i = 0; i < COUNT; i++) {
+            result.setBase(i, first.base[i] + other.base[i]);
+            result.setAdditive(i, first.additive[i] + other.additive[i]);
+            result.setMultiplicative(i, (first.hasMultiplicative[i] ? first.multiplicative[i] : 1D)
+                    * (other.hasMultiplicative[i] ? other.multiplicative[i] : 1D));
         }
 
         return result;
     }
 
     public static ItemStatistics multiply(ItemStatistics statistics, double multiplier) {
-        ItemStatistics result = new ItemStatistics(new EnumMap<>(statistics.statisticsBase), new EnumMap<>(statistics.statisticsAdditive), new EnumMap<>(statistics.statisticsMultiplicative));
+        ItemStatistics result = new ItemStatistics();
 
-        for (ItemStatistic stat : ItemStatistic.values()) {
-            result.statisticsBase.put(stat, statistics.statisticsBase.getOrDefault(stat, 0D) * multiplier);
-            result.statisticsAdditive.put(stat, statistics.statisticsAdditive.getOrDefault(stat, 0D) * multiplier);
-            result.statisticsMultiplicative.put(stat, statistics.statisticsMultiplicative.getOrDefault(stat, 0D) * multiplier);
+        for (int i = 0; i < COUNT; i++) {
+            result.setBase(i, statistics.base[i] * multiplier);
+            result.setAdditive(i, statistics.additive[i] * multiplier);
+            result.setMultiplicative(i, statistics.multiplicative[i] * multiplier);
         }
 
         return result;
     }
 
     public ItemStatistics sub(ItemStatistics other) {
-        ItemStatistics result = new ItemStatistics(new EnumMap<>(this.statisticsBase),
-                new EnumMap<>(this.statisticsAdditive),
-                new EnumMap<>(this.statisticsMultiplicative));
+        ItemStatistics result = new ItemStatistics();
 
-        for (ItemStatistic stat : ItemStatistic.values()) {
-            result.statisticsBase.put(stat, this.getBase(stat) - other.getBase(stat));
-            result.statisticsAdditive.put(stat, this.getAdditive(stat) - other.getAdditive(stat) + 1);
-            result.statisticsMultiplicative.put(stat, this.getMultiplicative(stat) / other.getMultiplicative(stat));
+        for (int i = 0; i < COUNT; i++) {
+            result.setBase(i, base[i] - other.base[i]);
+            result.setAdditive(i, (additive[i] + 1) - (other.additive[i] + 1) + 1);
+            result.setMultiplicative(i, (multiplicative[i] + 1) / (other.multiplicative[i] + 1));
         }
 
         return result;
     }
-}
\ No newline at end of file
+}
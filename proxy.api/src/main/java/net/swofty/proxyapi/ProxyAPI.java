@@ -1,5 +1,6 @@
 package net.swofty.proxyapi;
 
+import net.swofty.commons.service.ServiceEnvelope;
 import net.swofty.proxyapi.redis.ProxyToClient;
 import net.swofty.proxyapi.redis.ServiceToClient;
 import net.swofty.redisapi.api.ChannelRegistry;
@@ -42,29 +43,23 @@ public class ProxyAPI {
 
     public void registerFromServiceHandler(ServiceToClient handler) {
         RedisAPI.getInstance().registerChannel("service_" + handler.getChannel().getChannelName(), (event) -> {
-            String[] split = event.message.split("}=-=-=\\{");
-            String serviceId = split[0].substring(split[0].indexOf(";") + 1);
-            UUID requestId = UUID.fromString(split[1]);
-            String rawMessage = split[2];
-            JSONObject json = new JSONObject(rawMessage);
+            ServiceEnvelope envelope = ServiceEnvelope.decode(event.message);
+            JSONObject json = new JSONObject(envelope.payload());
 
             Thread.startVirtualThread(() -> {
                 JSONObject response = handler.onMessage(json);
 
                 // Send response back to service
                 RedisAPI.getInstance().publishMessage(
-                        serviceId,
+                        envelope.sender(),
                         ChannelRegistry.getFromName("service_response"),
-                        requestId + "}=-=-={" + response.toString());
+                        ServiceEnvelope.encode(ServiceEnvelope.RESPONSE, envelope.requestId(), "", response.toString()));
             });
         });
 
         RedisAPI.getInstance().registerChannel("service_broadcast_" + handler.getChannel().getChannelName(), (event) -> {
-            String[] split = event.message.split("}=-=-=\\{");
-            String serviceId = split[0].substring(split[0].indexOf(";") + 1);
-            UUID requestId = UUID.fromString(split[1]);
-            String rawMessage = split[2];
-            JSONObject json = new JSONObject(rawMessage);
+            ServiceEnvelope envelope = ServiceEnvelope.decode(event.message);
+            JSONObject json = new JSONObject(envelope.payload());
 
             Thread.startVirtualThread(() -> {
                 // Handle message
@@ -77,9 +72,10 @@ public class ProxyAPI {
 
                 // Send response back to service with this server's UUID
                 RedisAPI.getInstance().publishMessage(
-                        serviceId,
+                        envelope.sender(),
                         ChannelRegistry.getFromName("service_broadcast_response"),
-                        requestId + "}=-=-={" + serverUUID.toString() + "}=-=-={" + response.toString());
+                        ServiceEnvelope.encodeBroadcastResponse(envelope.requestId(),
+                                serverUUID, response.toString()));
             });
         });
     }
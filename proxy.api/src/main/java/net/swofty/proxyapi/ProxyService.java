@@ -38,7 +38,7 @@ public record ProxyService(ServiceType type) {
         Thread.startVirtualThread(() -> {
             ServerOutboundMessage.sendMessageToService(type, protocolObject, request, (s) -> {
                 Thread.startVirtualThread(() -> {
-                    future.complete(protocolObject.translateReturnFromString(s));
+                    future.complete(protocolObject.translateReturnFromWire(s));
                 });
             });
         });
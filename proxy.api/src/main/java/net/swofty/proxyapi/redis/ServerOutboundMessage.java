@@ -82,12 +82,12 @@ public class ServerOutboundMessage {
         }
         redisMessageListeners.put(requestId, response);
 
-        String message = specification.translateToString(rawMessage);
+        String message = specification.translateToWire(rawMessage);
 
         RedisAPI.getInstance().publishMessage(service.name(),
                 ChannelRegistry.getFromName(specification.channel()),
                 new ServiceProxyRequest(requestId, toCallback.toString(),
-                        specification.channel(), message).toJSON().toString());
+                        specification.channel(), message, specification.getWireFormat()).toJSON().toString());
     }
 
     /**
@@ -103,7 +103,7 @@ public class ServerOutboundMessage {
         } catch (Exception ignored) {
         }
 
-        String message = specification.translateToString(rawMessage);
+        String message = specification.translateToWire(rawMessage);
         RedisAPI.getInstance().publishMessage(
                 service.name(),
                 ChannelRegistry.getFromName(specification.channel()),
@@ -111,7 +111,8 @@ public class ServerOutboundMessage {
                         requestId,
                         callback != null ? callback : "proxy",
                         specification.channel(),
-                        message
+                        message,
+                        specification.getWireFormat()
                 ).toJSON().toString()
         );
     }
@@ -0,0 +1,103 @@
+package net.swofty.service.auction;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel that fires auctions once their end time has passed.
+ * <p>
+ * Auctions are hashed into a slot by end time. Every tick the wheel looks only at the
+ * current slot, so the cost of a tick depends on how many auctions land in it rather than
+ * on the total number of auctions. Auctions more than one revolution away stay in their
+ * slot until the revolution in which they are due. Due auctions are handed to the
+ * consumer in batches of at most {@code maxBatch}.
+ */
+public class AuctionExpiryWheel {
+    private final long tickMs;
+    private final int maxBatch;
+    private final List<Map<UUID, Long>> slots;
+    private final Map<UUID, Integer> slotOf = new HashMap<>();
+    private final Consumer<List<UUID>> onExpired;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "auction-expiry");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private long lastTick;
+
+    public AuctionExpiryWheel(long tickMs, int slotCount, int maxBatch, Consumer<List<UUID>> onExpired) {
+        this.tickMs = tickMs;
+        this.maxBatch = maxBatch;
+        this.onExpired = onExpired;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new HashMap<>());
+        }
+        this.lastTick = System.currentTimeMillis() / tickMs;
+    }
+
+    public void start() {
+        ticker.scheduleAtFixedRate(this::tickSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules an auction to fire at its end time, replacing any earlier schedule.
+     */
+    public synchronized void schedule(UUID auction, long end) {
+        cancel(auction);
+        // Fire on the first tick that starts after the end time; anything already
+        // overdue goes into the next slot to be visited
+        long tick = Math.max(end / tickMs + 1, lastTick + 1);
+        int slot = (int) Math.floorMod(tick, (long) slots.size());
+        slots.get(slot).put(auction, end);
+        slotOf.put(auction, slot);
+    }
+
+    public synchronized void cancel(UUID auction) {
+        Integer slot = slotOf.remove(auction);
+        if (slot != null) slots.get(slot).remove(auction);
+    }
+
+    public synchronized int size() {
+        return slotOf.size();
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (Exception e) {
+            System.err.println("Failed to expire auctions: " + e.getMessage());
+        }
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        List<UUID> due = new ArrayList<>();
+        synchronized (this) {
+            long currentTick = now / tickMs;
+            // Catch up on every slot passed since the last run, at most one revolution
+            long from = Math.max(lastTick + 1, currentTick - slots.size() + 1);
+            for (long tick = from; tick <= currentTick; tick++) {
+                var slot = slots.get((int) Math.floorMod(tick, (long) slots.size()));
+                var it = slot.entrySet().iterator();
+                while (it.hasNext()) {
+                    var entry = it.next();
+                    if (entry.getValue() <= now) {
+                        due.add(entry.getKey());
+                        slotOf.remove(entry.getKey());
+                        it.remove();
+                    }
+                }
+            }
+            lastTick = currentTick;
+        }
+
+        for (int i = 0; i < due.size(); i += maxBatch) {
+            onExpired.accept(due.subList(i, Math.min(due.size(), i + maxBatch)));
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package net.swofty.service.auction;
+
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import net.swofty.commons.protocol.objects.auctions.AuctionFetchPageProtocolObject.AuctionCursor;
+import net.swofty.commons.protocol.objects.auctions.AuctionFetchPageProtocolObject.AuctionSummary;
+import net.swofty.commons.service.FromServiceChannels;
+import net.swofty.commons.skyblock.auctions.AuctionCategories;
+import net.swofty.commons.skyblock.auctions.AuctionItem;
+import net.swofty.commons.skyblock.auctions.AuctionsFilter;
+import net.swofty.commons.skyblock.auctions.AuctionsSorting;
+import net.swofty.service.generic.redis.ServiceToServerManager;
+import org.bson.Document;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONObject;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Resident index of every active auction.
+ * <p>
+ * The index is loaded from Mongo once and then kept up to date as auctions are added,
+ * bid on and expire. For every category and filter it keeps views sorted by price, end
+ * time and bid count, so fetching a page is a walk over an already sorted set instead of
+ * a query plus a sort. Ended auctions are found by an {@link AuctionExpiryWheel}.
+ */
+public class AuctionIndex {
+    private static final Comparator<Entry> BY_PRICE = Comparator.<Entry>comparingInt(e -> e.price)
+            .thenComparing(e -> e.uuid);
+    private static final Comparator<Entry> BY_END = Comparator.<Entry>comparingLong(e -> e.end)
+            .thenComparing(e -> e.uuid);
+    private static final Comparator<Entry> BY_BIDS = Comparator.<Entry>comparingInt(e -> e.bidCount)
+            .thenComparing(e -> e.uuid);
+
+    private static final long EXPIRY_TICK_MS = 1000;
+    private static final int EXPIRY_WHEEL_SLOTS = 512;
+    private static final int EXPIRY_MAX_BATCH = 500;
+
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<AuctionCategories, EnumMap<AuctionsFilter, View>> views = new EnumMap<>(AuctionCategories.class);
+    private final AuctionExpiryWheel expiryWheel =
+            new AuctionExpiryWheel(EXPIRY_TICK_MS, EXPIRY_WHEEL_SLOTS, EXPIRY_MAX_BATCH, this::expire);
+
+    public AuctionIndex() {
+        for (AuctionCategories category : AuctionCategories.values()) {
+            EnumMap<AuctionsFilter, View> filters = new EnumMap<>(AuctionsFilter.class);
+            for (AuctionsFilter filter : AuctionsFilter.values()) {
+                filters.put(filter, new View());
+            }
+            views.put(category, filters);
+        }
+    }
+
+    /**
+     * Loads every active auction from Mongo and starts expiring ended ones.
+     */
+    public void load() {
+        for (Document document : AuctionActiveDatabase.collection.find()) {
+            upsert(document);
+        }
+        expiryWheel.start();
+    }
+
+    /**
+     * Adds an auction or replaces the indexed version of it, e.g. after a bid.
+     */
+    public synchronized void upsert(Document document) {
+        AuctionCategories category;
+        try {
+            category = AuctionCategories.valueOf(document.getString("category").toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            System.err.println("Not indexing auction " + document.get("_id") + " with unknown category "
+                    + document.get("category"));
+            return;
+        }
+
+        Entry entry = new Entry(document, category);
+        Entry previous = byId.put(entry.uuid, entry);
+        if (previous != null) unlink(previous);
+        link(entry);
+    }
+
+    public synchronized Document remove(UUID uuid) {
+        Entry entry = byId.remove(uuid);
+        if (entry == null) return null;
+        unlink(entry);
+        return entry.document;
+    }
+
+    public Document get(UUID uuid) {
+        Entry entry = byId.get(uuid);
+        return entry == null ? null : entry.document;
+    }
+
+    /**
+     * @return one page of a category's auctions in the requested order
+     */
+    public List<Document> page(AuctionCategories category, AuctionsFilter filter, AuctionsSorting sorting,
+                               int offset, int limit) {
+        List<Document> out = new ArrayList<>(Math.min(limit, 64));
+        int skipped = 0;
+        for (Entry entry : views.get(category).get(filter).sorted(sorting)) {
+            if (skipped++ < offset) continue;
+            if (out.size() >= limit) break;
+            out.add(entry.document);
+        }
+        return out;
+    }
+
+    /**
+     * @param after where the previous page ended, or null to start from the beginning
+     * @return one page of a category's auctions as summaries, without the bid list
+     */
+    public List<AuctionSummary> summaries(AuctionCategories category, AuctionsFilter filter, AuctionsSorting sorting,
+                                          @Nullable AuctionCursor after, int limit) {
+        View view = views.get(category).get(filter);
+        Iterable<Entry> sorted = after == null
+                ? view.sorted(sorting)
+                : view.sortedAfter(sorting, new Entry(after.uuid(), after.key()));
+
+        List<AuctionSummary> out = new ArrayList<>(Math.min(limit, 64));
+        for (Entry entry : sorted) {
+            if (out.size() >= limit) break;
+            out.add(entry.summary);
+        }
+        return out;
+    }
+
+    /**
+     * @return the cursor continuing after the given auction in a view with the given sorting
+     */
+    public static AuctionCursor cursorOf(AuctionSummary summary, AuctionsSorting sorting) {
+        long key = switch (sorting) {
+            case HIGHEST_BID, LOWEST_BID -> summary.startingPrice();
+            case ENDING_SOON -> summary.end();
+            case MOST_BIDS -> summary.bidCount();
+        };
+        return new AuctionCursor(key, summary.uuid());
+    }
+
+    public List<Document> all(AuctionCategories category, AuctionsFilter filter, AuctionsSorting sorting) {
+        return page(category, filter, sorting, 0, Integer.MAX_VALUE);
+    }
+
+    public int count(AuctionCategories category, AuctionsFilter filter) {
+        return views.get(category).get(filter).byPrice.size();
+    }
+
+    private void link(Entry entry) {
+        expiryWheel.schedule(entry.uuid, entry.end);
+        var filters = views.get(entry.category);
+        filters.get(AuctionsFilter.SHOW_ALL).add(entry);
+        filters.get(entry.bin ? AuctionsFilter.BIN_ONLY : AuctionsFilter.AUCTIONS_ONLY).add(entry);
+    }
+
+    private void unlink(Entry entry) {
+        expiryWheel.cancel(entry.uuid);
+        var filters = views.get(entry.category);
+        filters.get(AuctionsFilter.SHOW_ALL).remove(entry);
+        filters.get(entry.bin ? AuctionsFilter.BIN_ONLY : AuctionsFilter.AUCTIONS_ONLY).remove(entry);
+    }
+
+    /**
+     * Moves auctions the expiry wheel found ended to the inactive collection in bulk and
+     * lets their sellers know.
+     */
+    private void expire(List<UUID> due) {
+        long now = System.currentTimeMillis();
+        List<Document> ended = new ArrayList<>(due.size());
+        synchronized (this) {
+            for (UUID uuid : due) {
+                Entry entry = byId.get(uuid);
+                // Re-listed with a later end since it was scheduled
+                if (entry == null || entry.end > now) continue;
+                byId.remove(uuid);
+                unlink(entry);
+                ended.add(entry.document);
+            }
+        }
+        if (ended.isEmpty()) return;
+
+        List<WriteModel<Document>> inserts = new ArrayList<>(ended.size());
+        List<String> ids = new ArrayList<>(ended.size());
+        for (Document document : ended) {
+            String id = document.getString("_id");
+            ids.add(id);
+            // Replace rather than insert so a retried batch can't fail on duplicates
+            inserts.add(new ReplaceOneModel<>(Filters.eq("_id", id), document, new ReplaceOptions().upsert(true)));
+        }
+        try {
+            AuctionInactiveDatabase.collection.bulkWrite(inserts, new BulkWriteOptions().ordered(false));
+            AuctionActiveDatabase.collection.deleteMany(Filters.in("_id", ids));
+        } catch (Exception e) {
+            // Put them back, being overdue they are retried on the next tick
+            System.err.println("Failed to move " + ended.size() + " ended auctions: " + e.getMessage());
+            ended.forEach(this::upsert);
+            return;
+        }
+
+        for (Document document : ended) {
+            notifySeller(document);
+        }
+    }
+
+    private void notifySeller(Document document) {
+        List<String> bids = document.getList("bids", String.class);
+        String message = bids == null || bids.isEmpty()
+                ? "§6[Auction] §eYour auction has expired with no bids! §7Collect it from the Auction House."
+                : "§6[Auction] §eYour auction has ended with §6" + bids.size() + " bid" + (bids.size() == 1 ? "" : "s")
+                + "§e! §7Collect it from the Auction House.";
+
+        JSONObject messageData = new JSONObject();
+        messageData.put("playerUUID", document.getString("originator"));
+        messageData.put("message", message);
+
+        ServiceToServerManager.sendToAllServers(FromServiceChannels.SEND_MESSAGE, messageData);
+    }
+
+    private static final class View {
+        private final NavigableSet<Entry> byPrice = new ConcurrentSkipListSet<>(BY_PRICE);
+        private final NavigableSet<Entry> byEnd = new ConcurrentSkipListSet<>(BY_END);
+        private final NavigableSet<Entry> byBids = new ConcurrentSkipListSet<>(BY_BIDS);
+
+        void add(Entry entry) {
+            byPrice.add(entry);
+            byEnd.add(entry);
+            byBids.add(entry);
+        }
+
+        void remove(Entry entry) {
+            byPrice.remove(entry);
+            byEnd.remove(entry);
+            byBids.remove(entry);
+        }
+
+        NavigableSet<Entry> sorted(AuctionsSorting sorting) {
+            return switch (sorting) {
+                case HIGHEST_BID -> byPrice.descendingSet();
+                case LOWEST_BID -> byPrice;
+                case ENDING_SOON -> byEnd;
+                case MOST_BIDS -> byBids.descendingSet();
+            };
+        }
+
+        Iterable<Entry> sortedAfter(AuctionsSorting sorting, Entry cursor) {
+            return sorted(sorting).tailSet(cursor, false);
+        }
+    }
+
+    private static final class Entry {
+        private final UUID uuid;
+        private final AuctionCategories category;
+        private final boolean bin;
+        private final int price;
+        private final long end;
+        private final int bidCount;
+        private final Document document;
+        private final AuctionSummary summary;
+
+        Entry(Document document, AuctionCategories category) {
+            this.uuid = UUID.fromString(document.getString("_id"));
+            this.category = category;
+            this.bin = document.getBoolean("bin", false);
+            this.price = document.getInteger("starting-price", 0);
+            this.end = document.getLong("end");
+            List<String> bids = document.getList("bids", String.class);
+            this.bidCount = bids == null ? 0 : bids.size();
+            this.document = document;
+
+            long highestBid = 0;
+            UUID topBidder = null;
+            if (bids != null) {
+                for (String serialized : bids) {
+                    AuctionItem.Bid bid = AuctionItem.Bid.fromString(serialized);
+                    if (topBidder == null || bid.value() > highestBid) {
+                        highestBid = bid.value();
+                        topBidder = bid.uuid();
+                    }
+                }
+            }
+            String serializedItem = document.getString("item");
+            JSONObject item = new JSONObject(serializedItem);
+            this.summary = new AuctionSummary(uuid, UUID.fromString(document.getString("originator")),
+                    serializedItem, item.optString("itemKey"), item.optInt("amount", 1),
+                    bin, price, highestBid, topBidder, end, bidCount);
+        }
+
+        /**
+         * Creates a probe that sorts where an auction with the given sort key and id would.
+         */
+        Entry(UUID uuid, long key) {
+            this.uuid = uuid;
+            this.category = null;
+            this.bin = false;
+            this.price = (int) key;
+            this.end = key;
+            this.bidCount = (int) key;
+            this.document = null;
+            this.summary = null;
+        }
+    }
+}
@@ -8,15 +8,17 @@ import net.swofty.service.generic.redis.ServiceEndpoint;
 import java.util.List;
 
 public class AuctionService implements SkyBlockService {
-    public static AuctionsCacheService cacheService;
+    public static AuctionIndex auctionIndex;
 
     public static void main(String[] args) {
         SkyBlockService.init(new AuctionService());
 
-        cacheService = new AuctionsCacheService();
+        auctionIndex = new AuctionIndex();
 
         new AuctionActiveDatabase("_placeholder").connect(ConfigProvider.settings().getMongodb());
         new AuctionInactiveDatabase("_placeholder").connect(ConfigProvider.settings().getMongodb());
+
+        auctionIndex.load();
     }
 
     @Override
@@ -6,7 +6,9 @@ import net.swofty.commons.impl.ServiceProxyRequest;
 import net.swofty.commons.skyblock.item.UnderstandableSkyBlockItem;
 import net.swofty.commons.protocol.objects.auctions.AuctionAddItemProtocolObject;
 import net.swofty.service.auction.AuctionActiveDatabase;
+import net.swofty.service.auction.AuctionService;
 import net.swofty.service.generic.redis.ServiceEndpoint;
+import com.mongodb.client.model.ReplaceOptions;
 import org.bson.Document;
 
 import java.util.UUID;
@@ -30,16 +32,20 @@ public class EndpointAddItem implements ServiceEndpoint<
         Document document = auctionItem.toDocument();
         document.put("category", category.name());
 
-        Thread.startVirtualThread(() -> {
-            if (AuctionActiveDatabase.collection.find(new Document("_id", document.get("_id"))).first() != null) {
-                AuctionActiveDatabase.collection.replaceOne(
-                        new Document("_id", document.get("_id")),
-                        document
-                );
-            } else {
-                AuctionActiveDatabase.collection.insertOne(document);
-            }
-        });
+        // Save before indexing, as an indexed auction can be expired out of the active
+        // collection. If the write fails no response is sent, so the listing is never confirmed
+        try {
+            AuctionActiveDatabase.collection.replaceOne(
+                    new Document("_id", document.get("_id")),
+                    document,
+                    new ReplaceOptions().upsert(true)
+            );
+        } catch (RuntimeException e) {
+            System.err.println("Failed to save auction " + document.get("_id") + ": " + e.getMessage());
+            throw e;
+        }
+
+        AuctionService.auctionIndex.upsert(document);
 
         return new AuctionAddItemProtocolObject.AuctionAddItemResponse(UUID.fromString((String) document.get("_id")));
     }
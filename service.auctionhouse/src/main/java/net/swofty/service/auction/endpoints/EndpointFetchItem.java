@@ -3,7 +3,7 @@ package net.swofty.service.auction.endpoints;
 import net.swofty.commons.skyblock.auctions.AuctionItem;
 import net.swofty.commons.impl.ServiceProxyRequest;
 import net.swofty.commons.protocol.objects.auctions.AuctionFetchItemProtocolObject;
-import net.swofty.service.auction.AuctionActiveDatabase;
+import net.swofty.service.auction.AuctionService;
 import net.swofty.service.auction.AuctionInactiveDatabase;
 import net.swofty.service.generic.redis.ServiceEndpoint;
 import org.bson.Document;
@@ -25,7 +25,7 @@ public class EndpointFetchItem implements ServiceEndpoint<
 
         AuctionItem toReturn = new AuctionItem();
 
-        Document item = AuctionActiveDatabase.collection.find(new Document("_id", uuidToFetch.toString())).first();
+        Document item = AuctionService.auctionIndex.get(uuidToFetch);
         if (item != null) {
             toReturn = AuctionItem.fromDocument(item);
         }
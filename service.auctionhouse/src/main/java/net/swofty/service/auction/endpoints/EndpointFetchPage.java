@@ -0,0 +1,39 @@
+package net.swofty.service.auction.endpoints;
+
+import net.swofty.commons.impl.ServiceProxyRequest;
+import net.swofty.commons.protocol.objects.auctions.AuctionFetchPageProtocolObject;
+import net.swofty.commons.protocol.objects.auctions.AuctionFetchPageProtocolObject.AuctionCursor;
+import net.swofty.commons.protocol.objects.auctions.AuctionFetchPageProtocolObject.AuctionSummary;
+import net.swofty.service.auction.AuctionIndex;
+import net.swofty.service.auction.AuctionService;
+import net.swofty.service.generic.redis.ServiceEndpoint;
+
+import java.util.List;
+
+public class EndpointFetchPage implements ServiceEndpoint<
+        AuctionFetchPageProtocolObject.AuctionFetchPageMessage,
+        AuctionFetchPageProtocolObject.AuctionFetchPageResponse> {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Override
+    public AuctionFetchPageProtocolObject associatedProtocolObject() {
+        return new AuctionFetchPageProtocolObject();
+    }
+
+    @Override
+    public AuctionFetchPageProtocolObject.AuctionFetchPageResponse onMessage(ServiceProxyRequest message, AuctionFetchPageProtocolObject.AuctionFetchPageMessage messageObject) {
+        int pageSize = Math.clamp(messageObject.pageSize(), 1, MAX_PAGE_SIZE);
+
+        int total = AuctionService.auctionIndex.count(messageObject.category(), messageObject.filter());
+        // One extra to tell whether another page follows
+        List<AuctionSummary> auctions = AuctionService.auctionIndex.summaries(messageObject.category(),
+                messageObject.filter(), messageObject.sorting(), messageObject.after(), pageSize + 1);
+
+        AuctionCursor nextCursor = null;
+        if (auctions.size() > pageSize) {
+            auctions = auctions.subList(0, pageSize);
+            nextCursor = AuctionIndex.cursorOf(auctions.getLast(), messageObject.sorting());
+        }
+        return new AuctionFetchPageProtocolObject.AuctionFetchPageResponse(auctions, nextCursor, total);
+    }
+}
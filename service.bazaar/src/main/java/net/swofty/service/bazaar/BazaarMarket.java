@@ -16,9 +16,16 @@ public class BazaarMarket {
     private static final double TAX_RATE = 0.0125;
     private static final long EXPIRE_DAYS = 7;
 
+    private static final int MATCHING_SHARDS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final int MAILBOX_CAPACITY = 1024;
+    private static final long MAILBOX_OFFER_TIMEOUT_MS = 5000;
+
     private final BazaarPropagator propagator = new BazaarPropagator();
-    private final Map<String, PriorityQueue<LimitOrder>> buyBook = new ConcurrentHashMap<>();
-    private final Map<String, PriorityQueue<LimitOrder>> sellBook = new ConcurrentHashMap<>();
+    // Owns every order book; each item is only ever mutated from its shard's thread
+    private final MatchingScheduler matching =
+            new MatchingScheduler(MATCHING_SHARDS, MAILBOX_CAPACITY, MAILBOX_OFFER_TIMEOUT_MS);
+    // Which item book each resting order lives in, so cancels don't scan every book
+    private final Map<UUID, String> orderItems = new ConcurrentHashMap<>();
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
 
     // Track order refund information
@@ -51,6 +58,20 @@ public class BazaarMarket {
             this.remaining = qty;
             this.ts = ts;
         }
+
+        /**
+         * @return a copy of the order as it is now, safe to read from any thread
+         */
+        public OrderView view() {
+            return new OrderView(orderId, owner, profileUuid, side, originalPrice, remaining, ts);
+        }
+    }
+
+    /**
+     * Read-only copy of a {@link LimitOrder}, taken on the shard that owns its book.
+     */
+    public record OrderView(UUID orderId, UUID owner, UUID profileUuid, LimitOrder.Side side,
+                            double originalPrice, double remaining, Instant ts) {
     }
 
     // Track refunds for each buy order
@@ -99,9 +120,8 @@ public class BazaarMarket {
     }
 
     void injectLoadedOrder(String item, LimitOrder lo) {
-        var book = (lo.side == LimitOrder.Side.BUY ? buyBook : sellBook)
-                .computeIfAbsent(item, k -> newBook(lo.side));
-        book.add(lo);
+        matching.execute(item, book -> book.add(lo)).join();
+        orderItems.put(lo.orderId, item);
 
         // For buy orders, create/restore refund tracker
         if (lo.side == LimitOrder.Side.BUY) {
@@ -112,14 +132,36 @@ public class BazaarMarket {
     public void submitBuy(String item, UUID buyer, UUID buyerProfile, double price, double qty) {
         var order = new LimitOrder(buyer, buyerProfile, LimitOrder.Side.BUY, price, qty);
         refundTrackers.put(order.orderId, new OrderRefundTracker(order, item));
-        submitOrder(item, order);
+        try {
+            submitOrder(item, order);
+        } catch (RuntimeException e) {
+            // Rejected by a saturated shard, the order never made it into the book
+            refundTrackers.remove(order.orderId);
+            throw e;
+        }
     }
 
     public void submitSell(String item, UUID seller, UUID sellerProfile, double price, double qty) {
         submitOrder(item, new LimitOrder(seller, sellerProfile, LimitOrder.Side.SELL, price, qty));
     }
 
-    public void submitDelete(UUID orderId, UUID player, UUID profile) {
+    /**
+     * Cancels a resting order if it belongs to the given player and profile.
+     *
+     * @return whether the order was found and cancelled
+     */
+    public boolean submitDelete(UUID orderId, UUID player, UUID profile) {
+        String item = orderItems.get(orderId);
+        if (item == null) return false;
+        return matching.query(item, book -> cancel(book, orderId, player, profile), false).join();
+    }
+
+    private boolean cancel(OrderBook book, UUID orderId, UUID player, UUID profile) {
+        LimitOrder order = book.get(orderId);
+        if (order == null || !order.owner.equals(player) || !order.profileUuid.equals(profile)) {
+            return false;
+        }
+
         // Handle refund for cancelled buy order
         OrderRefundTracker tracker = refundTrackers.remove(orderId);
         if (tracker != null && tracker.accumulatedRefunds > 0) {
@@ -132,68 +174,38 @@ public class BazaarMarket {
         }
 
         OrderRepository.delete(orderId);
-        buyBook.values().forEach(q -> q.removeIf(o -> o.orderId.equals(orderId)));
-        sellBook.values().forEach(q -> q.removeIf(o -> o.orderId.equals(orderId)));
+        orderItems.remove(orderId);
+        book.remove(orderId);
+        return true;
     }
 
     private void submitOrder(String item, LimitOrder incoming) {
-        var buys = buyBook.computeIfAbsent(item, k -> newBook(LimitOrder.Side.BUY));
-        var sells = sellBook.computeIfAbsent(item, k -> newBook(LimitOrder.Side.SELL));
-
-        OrderRepository.saveNew(incoming, item);
-        (incoming.side == LimitOrder.Side.BUY ? buys : sells).add(incoming);
-        match(item, buys, sells);
+        matching.execute(item, book -> {
+            OrderRepository.saveNew(incoming, item);
+            book.add(incoming);
+            orderItems.put(incoming.orderId, item);
+            match(book);
+        }).join();
     }
 
-    public List<LimitOrder> getBuyOrders(String item) {
-        var buyBook = this.buyBook.get(item);
-        return buyBook != null ? new ArrayList<>(buyBook) : new ArrayList<>();
+    public List<OrderView> getBuyOrders(String item) {
+        return matching.query(item, book -> book.snapshot(LimitOrder.Side.BUY), List.of()).join();
     }
 
-    public List<LimitOrder> getSellOrders(String item) {
-        var sellBook = this.sellBook.get(item);
-        return sellBook != null ? new ArrayList<>(sellBook) : new ArrayList<>();
+    public List<OrderView> getSellOrders(String item) {
+        return matching.query(item, book -> book.snapshot(LimitOrder.Side.SELL), List.of()).join();
     }
 
-    private PriorityQueue<LimitOrder> newBook(LimitOrder.Side side) {
-        Comparator<LimitOrder> cmp = side == LimitOrder.Side.BUY
-                ? Comparator.<LimitOrder>comparingDouble(o -> -o.originalPrice).thenComparing(o -> o.ts)
-                : Comparator.<LimitOrder>comparingDouble(o -> o.originalPrice).thenComparing(o -> o.ts);
-        return new PriorityQueue<>(cmp);
-    }
-
-    private void match(String item,
-                       PriorityQueue<LimitOrder> buys,
-                       PriorityQueue<LimitOrder> sells) {
-        while (!buys.isEmpty() && !sells.isEmpty()) {
-            // peek the top buy
-            LimitOrder b = buys.peek();
-
-            // 1) Pull off any sell orders from the same owner
-            List<LimitOrder> skippedSells = new ArrayList<>();
-            LimitOrder s = null;
-            while (!sells.isEmpty()) {
-                LimitOrder top = sells.peek();
-                if (top.owner.equals(b.owner)) {
-                    // same person → skip for now
-                    skippedSells.add(sells.poll());
-                } else {
-                    s = top;
-                    break;
-                }
-            }
+    private void match(OrderBook book) {
+        String item = book.getItemName();
+        while (true) {
+            // 1) Best buy against the best crossing sell that isn't from the same owner
+            LimitOrder b = book.bestBid();
+            if (b == null) break;
+            LimitOrder s = book.bestAskFor(b);
+            if (s == null) break;
 
-            // 2) If no eligible sell left, or prices no longer cross, restore and stop
-            if (s == null || b.originalPrice < s.originalPrice) {
-                sells.addAll(skippedSells);
-                break;
-            }
-
-            // 3) We’ve found a valid counter-party: remove that sell and put back the rest
-            sells.poll();
-            sells.addAll(skippedSells);
-
-            // 4) Execute your normal matching logic
+            // 2) Execute your normal matching logic
             double qty         = Math.min(b.remaining, s.remaining);
             double actualPrice = s.originalPrice;
             double gross       = actualPrice * qty;
@@ -205,9 +217,6 @@ public class BazaarMarket {
                 tracker.recordPartialFill(qty, actualPrice);
             }
 
-            System.out.println("Buy price was: " + b.originalPrice);
-            System.out.println("Sell price was: " + s.originalPrice);
-            System.out.println("Actual price was: " + actualPrice);
             double priceImprovement = (b.originalPrice - actualPrice) * qty;
             var tx = new SuccessfulBazaarTransaction(
                     item,
@@ -225,7 +234,8 @@ public class BazaarMarket {
             s.remaining -= qty;
 
             if (b.remaining <= 0) {
-                buys.poll();
+                book.remove(b.orderId);
+                orderItems.remove(b.orderId);
                 OrderRepository.delete(b.orderId);
                 if (tracker != null && tracker.accumulatedRefunds > 0) {
                     var refundTx = new BuyOrderRefundTransaction(
@@ -240,6 +250,8 @@ public class BazaarMarket {
             }
 
             if (s.remaining <= 0) {
+                book.remove(s.orderId);
+                orderItems.remove(s.orderId);
                 OrderRepository.delete(s.orderId);
             } else {
                 OrderRepository.updateRemaining(s.orderId, s.remaining);
@@ -248,23 +260,27 @@ public class BazaarMarket {
     }
 
     private void expireOldOrders() {
-        Instant cutoff = Instant.now().minus(EXPIRE_DAYS, ChronoUnit.DAYS);
-        expireSide(buyBook, cutoff);
-        expireSide(sellBook, cutoff);
+        // An exception escaping a fixed-rate task would cancel every later run
+        try {
+            Instant cutoff = Instant.now().minus(EXPIRE_DAYS, ChronoUnit.DAYS);
+            matching.executeOnAll(books -> expireBooks(books, cutoff)).join();
+        } catch (Exception e) {
+            System.err.println("Failed to expire old bazaar orders: " + e.getMessage());
+        }
     }
 
-    private void expireSide(Map<String, PriorityQueue<LimitOrder>> book, Instant cutoff) {
-        for (var entry : book.entrySet()) {
-            String item = entry.getKey();
-            var pq = entry.getValue();
+    private void expireBooks(Collection<OrderBook> books, Instant cutoff) {
+        for (OrderBook book : books) {
+            String item = book.getItemName();
 
             List<LimitOrder> toExpire = new ArrayList<>();
-            for (var o : pq) {
+            book.forEach(o -> {
                 if (o.ts.isBefore(cutoff)) toExpire.add(o);
-            }
+            });
 
             for (var o : toExpire) {
-                pq.remove(o);
+                book.remove(o.orderId);
+                orderItems.remove(o.orderId);
                 OrderRepository.delete(o.orderId);
 
                 if (o.side == LimitOrder.Side.BUY) {
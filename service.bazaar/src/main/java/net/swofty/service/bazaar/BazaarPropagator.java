@@ -5,33 +5,85 @@ import net.swofty.commons.skyblock.bazaar.SuccessfulBazaarTransaction;
 import net.swofty.commons.skyblock.bazaar.OrderExpiredBazaarTransaction;
 import net.swofty.commons.service.FromServiceChannels;
 import net.swofty.service.generic.redis.ServiceToServerManager;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.*;
 
+/**
+ * Propagates bazaar transactions to every server.
+ * <p>
+ * Transactions are micro-batched: everything propagated within one batch window goes out
+ * as a single cluster-wide broadcast, and each server answers with one result per
+ * transaction. Only players that no server acknowledged are stored as pending.
+ */
 public class BazaarPropagator {
+    private static final long BATCH_WINDOW_MS = 50;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int RESPONSE_TIMEOUT_MS = 5000;
+
+    private final Queue<BazaarTransaction> queue = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService batcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "bazaar-propagator");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public BazaarPropagator() {
+        batcher.scheduleWithFixedDelay(this::flush, BATCH_WINDOW_MS, BATCH_WINDOW_MS, TimeUnit.MILLISECONDS);
+    }
 
     public void propagate(BazaarTransaction tx) {
-        System.out.println("Propagating transaction " + tx.getClass().getSimpleName());
+        queue.add(tx);
+    }
 
-        // Send transaction to all servers
-        JSONObject message = new JSONObject();
-        message.put("type", tx.getClass().getSimpleName());
-        message.put("data", tx.toJSON());
+    private void flush() {
+        while (!queue.isEmpty()) {
+            List<BazaarTransaction> batch = new ArrayList<>();
+            BazaarTransaction tx;
+            while (batch.size() < MAX_BATCH_SIZE && (tx = queue.poll()) != null) {
+                batch.add(tx);
+            }
+            if (!batch.isEmpty()) send(batch);
+        }
+    }
+
+    private void send(List<BazaarTransaction> batch) {
+        JSONArray transactions = new JSONArray();
+        for (BazaarTransaction tx : batch) {
+            transactions.put(new JSONObject()
+                    .put("type", tx.getClass().getSimpleName())
+                    .put("data", tx.toJSON()));
+        }
+        JSONObject message = new JSONObject().put("transactions", transactions);
 
-        // Send to all servers and collect responses with 5 second timeout
+        // Send to all servers and collect responses for the whole batch
         ServiceToServerManager.sendToAllServers(
                         FromServiceChannels.PROPAGATE_BAZAAR_TRANSACTION,
                         message,
-                        5000 // 5 second timeout
-                ).thenAccept(responses -> handleServerResponses(tx, responses))
+                        RESPONSE_TIMEOUT_MS
+                ).thenAccept(responses -> handleBatchResponses(batch, responses))
                 .exceptionally(throwable -> {
-                    System.err.println("Failed to get responses from servers for transaction: " + throwable.getMessage());
+                    System.err.println("Failed to get responses from servers for " + batch.size()
+                            + " transactions: " + throwable.getMessage());
                     return null;
                 });
     }
 
+    private void handleBatchResponses(List<BazaarTransaction> batch, Map<UUID, JSONObject> responses) {
+        // Split each server's acknowledgement into per-transaction results
+        for (int i = 0; i < batch.size(); i++) {
+            Map<UUID, JSONObject> perTransaction = new HashMap<>();
+            for (Map.Entry<UUID, JSONObject> entry : responses.entrySet()) {
+                JSONArray results = entry.getValue() == null ? null : entry.getValue().optJSONArray("results");
+                JSONObject result = results == null ? null : results.optJSONObject(i);
+                if (result != null) perTransaction.put(entry.getKey(), result);
+            }
+            handleServerResponses(batch.get(i), perTransaction);
+        }
+    }
+
     private void handleServerResponses(BazaarTransaction tx, Map<UUID, JSONObject> responses) {
         switch (tx) {
             case SuccessfulBazaarTransaction success -> handleSuccessfulTransactionResponses(success, responses);
@@ -63,8 +115,6 @@ public class BazaarPropagator {
             System.out.println("Seller " + tx.seller() + " not handled by any server - storing as pending");
             PendingTransactionsDatabase.storePendingTransaction(tx.seller(), tx.sellerProfile(), tx);
         }
-
-        System.out.println("Transaction handled - Buyer: " + buyerHandled + ", Seller: " + sellerHandled);
     }
 
     private void handleExpiredTransactionResponses(OrderExpiredBazaarTransaction tx, Map<UUID, JSONObject> responses) {
@@ -83,7 +133,5 @@ public class BazaarPropagator {
             System.out.println("Owner " + tx.owner() + " not handled by any server - storing as pending");
             PendingTransactionsDatabase.storePendingTransaction(tx.owner(), tx.ownerProfile(), tx);
         }
-
-        System.out.println("Expired order handled - Owner: " + ownerHandled);
     }
 }
\ No newline at end of file
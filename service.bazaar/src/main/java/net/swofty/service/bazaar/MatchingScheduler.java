@@ -0,0 +1,149 @@
+package net.swofty.service.bazaar;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs bazaar matching on a fixed set of single-threaded shards.
+ * <p>
+ * Every item name hashes onto exactly one shard and that shard's thread is the only
+ * writer of the item's {@link OrderBook}, so the books need no locking. Each shard has
+ * a bounded mailbox; when it is full, submitters wait up to {@code offerTimeoutMs} and
+ * then get a {@link RejectedExecutionException} instead of queueing without bound.
+ */
+public class MatchingScheduler {
+    private final Shard[] shards;
+    private final long offerTimeoutMs;
+
+    public MatchingScheduler(int shardCount, int mailboxCapacity, long offerTimeoutMs) {
+        this.shards = new Shard[shardCount];
+        this.offerTimeoutMs = offerTimeoutMs;
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, mailboxCapacity);
+        }
+    }
+
+    /**
+     * Runs a task against an item's order book on the shard that owns it.
+     */
+    public <T> CompletableFuture<T> submit(String item, Function<OrderBook, T> task) {
+        Shard shard = shardFor(item);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        shard.enqueue(() -> {
+            try {
+                future.complete(task.apply(shard.book(item)));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, offerTimeoutMs);
+        return future;
+    }
+
+    /**
+     * Runs a read-only task against an item's order book on the shard that owns it, without
+     * creating a book for items that have none.
+     *
+     * @param absent the result when the item has no book
+     */
+    public <T> CompletableFuture<T> query(String item, Function<OrderBook, T> task, T absent) {
+        Shard shard = shardFor(item);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        shard.enqueue(() -> {
+            try {
+                OrderBook book = shard.books.get(item);
+                future.complete(book == null ? absent : task.apply(book));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, offerTimeoutMs);
+        return future;
+    }
+
+    public CompletableFuture<Void> execute(String item, Consumer<OrderBook> task) {
+        return submit(item, book -> {
+            task.accept(book);
+            return null;
+        });
+    }
+
+    /**
+     * Runs a task once per shard, on that shard's thread, with all books it owns.
+     */
+    public CompletableFuture<Void> executeOnAll(Consumer<Collection<OrderBook>> task) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            shard.enqueue(() -> {
+                try {
+                    task.accept(shard.books.values());
+                    future.complete(null);
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }, offerTimeoutMs);
+            futures.add(future);
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public int getQueuedTasks(int shard) {
+        return shards[shard].mailbox.size();
+    }
+
+    private Shard shardFor(String item) {
+        int h = item.hashCode();
+        h ^= (h >>> 16);
+        return shards[Math.floorMod(h, shards.length)];
+    }
+
+    private static final class Shard implements Runnable {
+        private final BlockingQueue<Runnable> mailbox;
+        // Only ever touched from this shard's thread
+        private final Map<String, OrderBook> books = new HashMap<>();
+
+        Shard(int id, int mailboxCapacity) {
+            this.mailbox = new ArrayBlockingQueue<>(mailboxCapacity);
+            Thread thread = new Thread(this, "bazaar-matcher-" + id);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        OrderBook book(String item) {
+            return books.computeIfAbsent(item, OrderBook::new);
+        }
+
+        void enqueue(Runnable task, long timeoutMs) {
+            try {
+                if (!mailbox.offer(task, timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new RejectedExecutionException("Bazaar matching shard is saturated");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while queueing bazaar task", e);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    mailbox.take().run();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Throwable t) {
+                    System.err.println("Bazaar matching task failed: " + t.getMessage());
+                }
+            }
+        }
+    }
+}
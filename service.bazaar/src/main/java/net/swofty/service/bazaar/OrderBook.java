@@ -0,0 +1,113 @@
+package net.swofty.service.bazaar;
+
+import net.swofty.service.bazaar.BazaarMarket.LimitOrder;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Order book for a single bazaar item.
+ * <p>
+ * Each side is a price-level tree (best price first) and every level keeps its orders
+ * in arrival order, so matching is price-time priority. Orders are indexed by id which
+ * makes cancels and fills O(log n) in the number of price levels rather than a scan of
+ * the whole book.
+ * <p>
+ * An order book is not thread-safe; callers must serialize access per item.
+ */
+public class OrderBook {
+    private final String itemName;
+    private final NavigableMap<Double, LinkedHashMap<UUID, LimitOrder>> bids = new TreeMap<>(Comparator.reverseOrder());
+    private final NavigableMap<Double, LinkedHashMap<UUID, LimitOrder>> asks = new TreeMap<>();
+    private final Map<UUID, LimitOrder> index = new HashMap<>();
+
+    public OrderBook(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void add(LimitOrder order) {
+        levels(order.side)
+                .computeIfAbsent(order.originalPrice, k -> new LinkedHashMap<>())
+                .put(order.orderId, order);
+        index.put(order.orderId, order);
+    }
+
+    public LimitOrder get(UUID orderId) {
+        return index.get(orderId);
+    }
+
+    public boolean contains(UUID orderId) {
+        return index.containsKey(orderId);
+    }
+
+    /**
+     * Removes an order from the book.
+     *
+     * @return the removed order, or null if it was not resting in this book
+     */
+    public LimitOrder remove(UUID orderId) {
+        LimitOrder order = index.remove(orderId);
+        if (order == null) return null;
+
+        var levels = levels(order.side);
+        var level = levels.get(order.originalPrice);
+        if (level != null) {
+            level.remove(orderId);
+            if (level.isEmpty()) levels.remove(order.originalPrice);
+        }
+        return order;
+    }
+
+    public LimitOrder bestBid() {
+        var level = bids.firstEntry();
+        return level == null ? null : level.getValue().values().iterator().next();
+    }
+
+    /**
+     * Finds the best resting ask that the given bid may trade against: the oldest order
+     * at the lowest price, skipping orders placed by the bid's owner.
+     *
+     * @return the matching ask, or null if no eligible ask crosses the bid price
+     */
+    public LimitOrder bestAskFor(LimitOrder bid) {
+        for (var level : asks.headMap(bid.originalPrice, true).values()) {
+            for (LimitOrder ask : level.values()) {
+                if (!ask.owner.equals(bid.owner)) return ask;
+            }
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @return copies of the orders on one side of the book in matching priority
+     */
+    public List<BazaarMarket.OrderView> snapshot(LimitOrder.Side side) {
+        List<BazaarMarket.OrderView> out = new ArrayList<>();
+        for (var level : levels(side).values()) {
+            for (LimitOrder order : level.values()) {
+                out.add(order.view());
+            }
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    public void forEach(Consumer<LimitOrder> action) {
+        index.values().forEach(action);
+    }
+
+    private NavigableMap<Double, LinkedHashMap<UUID, LimitOrder>> levels(LimitOrder.Side side) {
+        return side == LimitOrder.Side.BUY ? bids : asks;
+    }
+}
@@ -0,0 +1,274 @@
+package net.swofty.service.bazaar;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.*;
+import org.bson.Document;
+import org.tinylog.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind journal for bazaar order mutations.
+ * <p>
+ * Every insert, remaining-quantity update and delete is appended to a local journal
+ * file and coalesced per order id in memory. A background thread periodically rolls the
+ * journal and writes the coalesced batch to Mongo with a single unordered bulkWrite, so
+ * matching never waits on a database round trip. A segment is only deleted once its
+ * batch has been written; until then it is retried on every flush.
+ * <p>
+ * On startup {@link #recover()} replays any segments left behind by a crash into Mongo
+ * before the order snapshot is loaded.
+ */
+public class OrderJournal {
+    private final Path activeFile;
+    private final Path flushingFile;
+    private final MongoCollection<Document> collection;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "bazaar-journal");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Mutations not yet handed to Mongo, in first-touched order
+    private LinkedHashMap<UUID, Mutation> pending = new LinkedHashMap<>();
+    // Batch currently being written, retried until it succeeds
+    private LinkedHashMap<UUID, Mutation> inFlight = null;
+    private BufferedWriter writer;
+
+    public OrderJournal(Path directory, MongoCollection<Document> collection, int maxBatchSize) {
+        Path resolved = directory.toAbsolutePath().normalize();
+        this.activeFile = resolved.resolve("bazaar-orders.journal");
+        this.flushingFile = resolved.resolve("bazaar-orders.journal.flushing");
+        this.collection = collection;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public void start(long flushIntervalMs) {
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void insert(Document order) {
+        UUID id = UUID.fromString(order.getString("_id"));
+        pending.put(id, Mutation.insert(order));
+        append(new Document("op", "insert").append("doc", order));
+    }
+
+    public synchronized void updateRemaining(UUID id, double remaining) {
+        Mutation m = pending.get(id);
+        if (m == null) {
+            pending.put(id, Mutation.update(remaining));
+        } else if (m.insert != null) {
+            m.insert.put("remaining", remaining);
+        } else if (!m.delete) {
+            m.remaining = remaining;
+        }
+        append(new Document("op", "update").append("id", id.toString()).append("remaining", remaining));
+    }
+
+    public synchronized void delete(UUID id) {
+        Mutation m = pending.get(id);
+        if (m != null && m.insert != null) {
+            // Never reached Mongo, nothing to delete there
+            pending.remove(id);
+        } else {
+            pending.put(id, Mutation.delete());
+        }
+        append(new Document("op", "delete").append("id", id.toString()));
+    }
+
+    /**
+     * Applies mutations that have not been written to Mongo yet on top of documents read
+     * from it, so readers see the same state as the order books.
+     *
+     * @param docs   documents read from Mongo, keyed by order id
+     * @param filter which pending inserts belong in the result
+     */
+    public synchronized void overlay(Map<UUID, Document> docs, Predicate<Document> filter) {
+        if (inFlight != null) overlay(inFlight, docs, filter);
+        overlay(pending, docs, filter);
+    }
+
+    private static void overlay(Map<UUID, Mutation> batch, Map<UUID, Document> docs,
+                                Predicate<Document> filter) {
+        batch.forEach((id, m) -> {
+            if (m.delete) {
+                docs.remove(id);
+            } else if (m.insert != null) {
+                if (filter.test(m.insert)) docs.put(id, new Document(m.insert));
+            } else {
+                Document d = docs.get(id);
+                if (d != null) d.put("remaining", m.remaining);
+            }
+        });
+    }
+
+    /**
+     * Writes everything left in journal segments from a previous run into Mongo.
+     * Must be called before the order snapshot is loaded and before {@link #start(long)}.
+     */
+    public void recover() throws IOException {
+        Files.createDirectories(activeFile.getParent());
+        Logger.info("Using bazaar order journal at {}", activeFile);
+
+        LinkedHashMap<UUID, Mutation> replay = new LinkedHashMap<>();
+        int entries = 0;
+        for (Path file : List.of(flushingFile, activeFile)) {
+            if (!Files.exists(file)) continue;
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                try {
+                    replay(replay, Document.parse(line));
+                    entries++;
+                } catch (Exception e) {
+                    // A torn final line from a crash mid-append, everything before it is intact
+                    Logger.warn("Skipping unreadable bazaar journal entry: {}", e.getMessage());
+                }
+            }
+        }
+
+        if (!replay.isEmpty()) {
+            write(replay);
+        }
+        Files.deleteIfExists(flushingFile);
+        Files.deleteIfExists(activeFile);
+        if (entries > 0) {
+            Logger.info("Recovered {} bazaar journal entries ({} orders)", entries, replay.size());
+        }
+    }
+
+    private static void replay(Map<UUID, Mutation> batch, Document entry) {
+        switch (entry.getString("op")) {
+            case "insert" -> {
+                Document doc = entry.get("doc", Document.class);
+                batch.put(UUID.fromString(doc.getString("_id")), Mutation.insert(doc));
+            }
+            case "update" -> {
+                UUID id = UUID.fromString(entry.getString("id"));
+                double remaining = entry.getDouble("remaining");
+                Mutation m = batch.get(id);
+                if (m == null) batch.put(id, Mutation.update(remaining));
+                else if (m.insert != null) m.insert.put("remaining", remaining);
+                else if (!m.delete) m.remaining = remaining;
+            }
+            case "delete" -> batch.put(UUID.fromString(entry.getString("id")), Mutation.delete());
+            default -> Logger.warn("Unknown bazaar journal op: {}", entry.getString("op"));
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            Logger.error(e, "Failed to flush bazaar order journal, will retry");
+        }
+    }
+
+    public void flush() throws IOException {
+        synchronized (this) {
+            if (inFlight == null) {
+                if (pending.isEmpty()) {
+                    // Everything appended cancelled out (e.g. insert then delete), drop the segment
+                    if (writer != null) {
+                        closeWriter();
+                        Files.deleteIfExists(activeFile);
+                    }
+                    return;
+                }
+                // Roll the segment so new appends can't be lost when it is deleted
+                closeWriter();
+                if (Files.exists(activeFile)) {
+                    Files.move(activeFile, flushingFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+                inFlight = pending;
+                pending = new LinkedHashMap<>();
+            }
+        }
+
+        write(inFlight);
+
+        synchronized (this) {
+            inFlight = null;
+            Files.deleteIfExists(flushingFile);
+        }
+    }
+
+    private void write(Map<UUID, Mutation> batch) {
+        List<WriteModel<Document>> models = new ArrayList<>(Math.min(batch.size(), maxBatchSize));
+        for (var entry : batch.entrySet()) {
+            models.add(entry.getValue().toWriteModel(entry.getKey()));
+            if (models.size() >= maxBatchSize) {
+                collection.bulkWrite(models, new BulkWriteOptions().ordered(false));
+                models.clear();
+            }
+        }
+        if (!models.isEmpty()) {
+            collection.bulkWrite(models, new BulkWriteOptions().ordered(false));
+        }
+    }
+
+    private void append(Document entry) {
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(activeFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(entry.toJson());
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            // The mutation is still queued for Mongo, only crash recovery is degraded
+            Logger.error(e, "Failed to append to bazaar order journal");
+        }
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private static final class Mutation {
+        private Document insert;
+        private double remaining;
+        private boolean delete;
+
+        static Mutation insert(Document doc) {
+            Mutation m = new Mutation();
+            m.insert = new Document(doc);
+            return m;
+        }
+
+        static Mutation update(double remaining) {
+            Mutation m = new Mutation();
+            m.remaining = remaining;
+            return m;
+        }
+
+        static Mutation delete() {
+            Mutation m = new Mutation();
+            m.delete = true;
+            return m;
+        }
+
+        WriteModel<Document> toWriteModel(UUID id) {
+            var filter = Filters.eq("_id", id.toString());
+            if (delete) return new DeleteOneModel<>(filter);
+            // Replace rather than insert so replaying a journal that was partly written is harmless
+            if (insert != null) return new ReplaceOneModel<>(filter, insert, new ReplaceOptions().upsert(true));
+            return new UpdateOneModel<>(filter, Updates.set("remaining", remaining));
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package net.swofty.service.bazaar;
 
 import com.mongodb.client.model.Filters;
-import com.mongodb.client.model.Updates;
+import net.swofty.commons.config.ConfigProvider;
 import net.swofty.service.bazaar.BazaarMarket.LimitOrder;
 import org.bson.Document;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.Instant;
-import java.util.UUID;
+import java.util.*;
 
 public class OrderRepository {
+    private static final long JOURNAL_FLUSH_INTERVAL_MS = 250;
+    private static final int JOURNAL_MAX_BATCH = 1000;
+
+    private static OrderJournal journal;
 
     public static void saveNew(LimitOrder o, String itemName) {
         Document d = new Document("_id", o.orderId.toString())
@@ -19,21 +26,52 @@ public class OrderRepository {
                 .append("originalPrice", o.originalPrice)
                 .append("remaining", o.remaining)
                 .append("ts",      o.ts.toString());
-        OrderDatabase.ordersCollection.insertOne(d);
+        journal.insert(d);
     }
 
     public static void updateRemaining(UUID id, double rem) {
-        OrderDatabase.ordersCollection.updateOne(
-                Filters.eq("_id", id.toString()),
-                Updates.set("remaining", rem)
-        );
+        journal.updateRemaining(id, rem);
     }
 
     public static void delete(UUID id) {
-        OrderDatabase.ordersCollection.deleteOne(Filters.eq("_id", id.toString()));
+        journal.delete(id);
+    }
+
+    /**
+     * Orders of a player's profile, including mutations still waiting in the journal.
+     */
+    public static List<Document> findByOwner(UUID owner, UUID profileUuid) {
+        Map<UUID, Document> docs = new LinkedHashMap<>();
+        var cursor = OrderDatabase.ordersCollection.find(
+                Filters.and(
+                        Filters.eq("owner", owner.toString()),
+                        Filters.eq("profileUuid", profileUuid.toString())
+                )
+        );
+        for (Document d : cursor) {
+            docs.put(UUID.fromString(d.getString("_id")), d);
+        }
+
+        journal.overlay(docs, d -> owner.toString().equals(d.getString("owner"))
+                && profileUuid.toString().equals(d.getString("profileUuid")));
+        return new ArrayList<>(docs.values());
     }
 
+    /**
+     * Replays any journal left behind by the previous run on top of the Mongo snapshot,
+     * loads every resting order into the market and starts write-behind flushing.
+     */
     public static void loadAll() {
+        journal = new OrderJournal(Path.of(ConfigProvider.settings().getBazaarJournalDirectory()),
+                OrderDatabase.ordersCollection, JOURNAL_MAX_BATCH);
+        try {
+            journal.recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover bazaar order journal", e);
+        }
+
+        // Inject oldest first so every price level keeps its time priority
+        List<Map.Entry<String, LimitOrder>> loaded = new ArrayList<>();
         for (Document d : OrderDatabase.ordersCollection.find()) {
             UUID   orderId     = UUID.fromString(d.getString("_id"));
             String itemName    = d.getString("itemName");
@@ -44,9 +82,16 @@ public class OrderRepository {
             double rem         = d.getDouble("remaining");
             Instant ts         = Instant.parse(d.getString("ts"));
 
-            // Reconstruct the LimitOrder with profile UUID and inject into BazaarMarket
+            // Reconstruct the LimitOrder with profile UUID
             var lo = new LimitOrder(orderId, owner, profileUuid, side, price, rem, ts);
-            BazaarMarket.get().injectLoadedOrder(itemName, lo);
+            loaded.add(new AbstractMap.SimpleEntry<>(itemName, lo));
         }
+
+        loaded.sort(Comparator.comparing(e -> e.getValue().ts));
+        for (var entry : loaded) {
+            BazaarMarket.get().injectLoadedOrder(entry.getKey(), entry.getValue());
+        }
+
+        journal.start(JOURNAL_FLUSH_INTERVAL_MS);
     }
 }
\ No newline at end of file
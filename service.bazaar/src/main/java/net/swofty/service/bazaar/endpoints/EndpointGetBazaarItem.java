@@ -32,19 +32,19 @@ public class EndpointGetBazaarItem implements ServiceEndpoint<
         // Convert to OrderRecord format
         List<OrderRecord> buyOrderRecords = buyOrders.stream()
                 .map(order -> new OrderRecord(
-                        order.owner,
-                        order.profileUuid,
-                        order.originalPrice,
-                        order.remaining
+                        order.owner(),
+                        order.profileUuid(),
+                        order.originalPrice(),
+                        order.remaining()
                 ))
                 .collect(Collectors.toList());
 
         List<OrderRecord> sellOrderRecords = sellOrders.stream()
                 .map(order -> new OrderRecord(
-                        order.owner,
-                        order.profileUuid,
-                        order.originalPrice,
-                        order.remaining
+                        order.owner(),
+                        order.profileUuid(),
+                        order.originalPrice(),
+                        order.remaining()
                 ))
                 .collect(Collectors.toList());
 
@@ -1,10 +1,9 @@
 package net.swofty.service.bazaar.endpoints;
 
-import com.mongodb.client.model.Filters;
 import net.swofty.commons.protocol.objects.bazaar.BazaarGetPendingOrdersProtocolObject;
 import net.swofty.commons.protocol.objects.bazaar.BazaarGetPendingOrdersProtocolObject.PendingOrder;
 import net.swofty.commons.impl.ServiceProxyRequest;
-import net.swofty.service.bazaar.OrderDatabase;
+import net.swofty.service.bazaar.OrderRepository;
 import net.swofty.service.generic.redis.ServiceEndpoint;
 import org.bson.Document;
 
@@ -29,12 +28,7 @@ public class EndpointGetPendingOrders implements ServiceEndpoint<
         UUID player = msg.playerUUID;
         UUID profile = msg.profileUUID;
 
-        var docs = OrderDatabase.ordersCollection.find(
-                Filters.and(
-                        Filters.eq("owner", player.toString()),
-                        Filters.eq("profileUuid", profile.toString())
-                )
-        );
+        var docs = OrderRepository.findByOwner(player, profile);
         List<PendingOrder> out = new ArrayList<>();
 
         for (Document d : docs) {
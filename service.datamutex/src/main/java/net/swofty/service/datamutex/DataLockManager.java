@@ -1,75 +1,142 @@
 package net.swofty.service.datamutex;
 
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Lock table for synchronized player data.
+ * <p>
+ * Every acquisition happens inside a single {@link ConcurrentHashMap#compute} on the lock
+ * key, so two requesters can never both see a key as free and both take it. Each grant
+ * carries a fencing token that only ever increases; a holder whose lock expired and was
+ * handed to someone else can tell from its stale token that it no longer owns the key.
+ * Requesters are given their token and must present it to update or release the key.
+ * Operations spanning several keys, such as a transfer between two co-op banks, take them
+ * all at once with {@link #acquireLocks(Collection, String)}.
+ * Expired locks are removed by a reaper waiting on a deadline queue rather than by polling.
+ */
 public class DataLockManager {
     private static final Map<String, LockInfo> activeLocks = new ConcurrentHashMap<>();
+    private static final DelayQueue<Deadline> deadlines = new DelayQueue<>();
+    private static final AtomicLong nextToken = new AtomicLong();
     private static final long LOCK_TIMEOUT = 30000; // 30 seconds
 
+    static {
+        Thread reaper = new Thread(DataLockManager::reapExpiredLocks, "datamutex-lock-reaper");
+        reaper.setDaemon(true);
+        reaper.start();
+    }
+
     public static class LockInfo {
-        public final UUID lockId;
-        public final long timestamp;
+        public final long fencingToken;
+        public final long expiresAt;
         public final String requesterId;
 
-        public LockInfo(UUID lockId, long timestamp, String requesterId) {
-            this.lockId = lockId;
-            this.timestamp = timestamp;
+        public LockInfo(long fencingToken, long expiresAt, String requesterId) {
+            this.fencingToken = fencingToken;
+            this.expiresAt = expiresAt;
             this.requesterId = requesterId;
         }
 
         public boolean isExpired() {
-            return (System.currentTimeMillis() - timestamp) > LOCK_TIMEOUT;
+            return System.currentTimeMillis() >= expiresAt;
+        }
+
+        @Override
+        public String toString() {
+            return "LockInfo{token=" + fencingToken + ", requester=" + requesterId + ", expiresAt=" + expiresAt + "}";
         }
     }
 
     /**
-     * Attempts to acquire a lock for the given key
+     * Attempts to acquire a lock for the given key. A requester that already holds the key
+     * renews it and is given a new token.
+     *
+     * @return the granted lock, or null if the key is held by someone else
      */
-    public static boolean acquireLock(String lockKey, String requesterId) {
-        LockInfo existingLock = activeLocks.get(lockKey);
+    public static LockInfo acquireLock(String lockKey, String requesterId) {
+        return grant(lockKey, requesterId, new LockInfo[1]);
+    }
 
-        // Clean up expired locks
-        if (existingLock != null && existingLock.isExpired()) {
-            activeLocks.remove(lockKey);
-            existingLock = null;
+    /**
+     * Acquires every key or none of them. Keys are taken in sorted order so two batches
+     * over overlapping keys can't each hold part of what the other needs. If a key is held
+     * by someone else, the keys already taken are handed back, and keys the requester held
+     * before the batch go back to their earlier grant.
+     *
+     * @return the granted lock of each key, or null if any key is held by someone else
+     */
+    public static Map<String, LockInfo> acquireLocks(Collection<String> lockKeys, String requesterId) {
+        Map<String, LockInfo> granted = new LinkedHashMap<>();
+        Map<String, LockInfo> previousGrants = new HashMap<>();
+        for (String lockKey : new TreeSet<>(lockKeys)) {
+            LockInfo[] previous = new LockInfo[1];
+            LockInfo lock = grant(lockKey, requesterId, previous);
+            if (lock == null) {
+                granted.forEach((key, info) -> activeLocks.computeIfPresent(key, (k, current) ->
+                        current.fencingToken == info.fencingToken ? previousGrants.get(key) : current));
+                return null;
+            }
+            granted.put(lockKey, lock);
+            if (previous[0] != null) previousGrants.put(lockKey, previous[0]);
         }
+        return granted;
+    }
 
-        // Check if already locked by someone else
-        if (existingLock != null && !existingLock.requesterId.equals(requesterId)) {
-            return false;
-        }
+    /**
+     * @param previous receives the requester's own live grant the new one replaces, if any
+     */
+    private static LockInfo grant(String lockKey, String requesterId, LockInfo[] previous) {
+        LockInfo granted = activeLocks.compute(lockKey, (key, existing) -> {
+            boolean live = existing != null && !existing.isExpired();
+            if (live && !existing.requesterId.equals(requesterId)) return existing;
+            previous[0] = live ? existing : null;
+            return new LockInfo(nextToken.incrementAndGet(), System.currentTimeMillis() + LOCK_TIMEOUT, requesterId);
+        });
 
-        // Acquire or renew lock
-        UUID lockId = UUID.randomUUID();
-        activeLocks.put(lockKey, new LockInfo(lockId, System.currentTimeMillis(), requesterId));
-        return true;
+        if (!granted.requesterId.equals(requesterId)) return null;
+        deadlines.add(new Deadline(lockKey, granted.fencingToken, granted.expiresAt));
+        return granted;
     }
 
     /**
-     * Releases a lock for the given key
+     * Releases a lock only if it is still the grant identified by the fencing token, so a
+     * holder whose lock expired can't release the lock of whoever took the key after it
      */
-    public static void releaseLock(String lockKey, String requesterId) {
-        LockInfo lock = activeLocks.get(lockKey);
-        if (lock != null && lock.requesterId.equals(requesterId)) {
-            activeLocks.remove(lockKey);
+    public static boolean releaseLock(String lockKey, String requesterId, long fencingToken) {
+        boolean[] released = {false};
+        activeLocks.computeIfPresent(lockKey, (key, lock) -> {
+            if (lock.fencingToken != fencingToken || !lock.requesterId.equals(requesterId)) return lock;
+            released[0] = true;
+            return null;
+        });
+        return released[0];
+    }
+
+    /**
+     * Releases every key of a batch, each only if it is still the grant identified by its
+     * fencing token. Keys whose token is stale are left alone.
+     *
+     * @param fencingTokens the token granted for each key by {@link #acquireLocks(Collection, String)}
+     * @return whether every key was released
+     */
+    public static boolean releaseLocks(Map<String, Long> fencingTokens, String requesterId) {
+        boolean all = true;
+        for (Map.Entry<String, Long> entry : fencingTokens.entrySet()) {
+            all &= releaseLock(entry.getKey(), requesterId, entry.getValue());
         }
+        return all;
     }
 
     /**
      * Checks if a key is currently locked
      */
     public static boolean isLocked(String lockKey) {
-        LockInfo lock = activeLocks.get(lockKey);
-        if (lock == null) return false;
-
-        if (lock.isExpired()) {
-            activeLocks.remove(lockKey);
-            return false;
-        }
-
-        return true;
+        return getLockInfo(lockKey) != null;
     }
 
     /**
@@ -77,17 +144,43 @@ public class DataLockManager {
      */
     public static LockInfo getLockInfo(String lockKey) {
         LockInfo lock = activeLocks.get(lockKey);
-        if (lock != null && lock.isExpired()) {
-            activeLocks.remove(lockKey);
-            return null;
-        }
-        return lock;
+        // The reaper may not have caught up yet
+        return lock == null || lock.isExpired() ? null : lock;
     }
 
     /**
-     * Cleans up all expired locks
+     * Checks that the requester still holds the grant identified by the fencing token
      */
-    public static void cleanupExpiredLocks() {
-        activeLocks.entrySet().removeIf(entry -> entry.getValue().isExpired());
+    public static boolean isHeldBy(String lockKey, String requesterId, long fencingToken) {
+        LockInfo lock = getLockInfo(lockKey);
+        return lock != null && lock.fencingToken == fencingToken && lock.requesterId.equals(requesterId);
+    }
+
+    private static void reapExpiredLocks() {
+        while (true) {
+            try {
+                Deadline deadline = deadlines.take();
+                // A renewed lock has a newer token and its own deadline in the queue
+                activeLocks.computeIfPresent(deadline.lockKey, (key, lock) ->
+                        lock.fencingToken == deadline.fencingToken && lock.isExpired() ? null : lock);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("Error during lock cleanup: " + e.getMessage());
+            }
+        }
+    }
+
+    private record Deadline(String lockKey, long fencingToken, long expiresAt) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAt, ((Deadline) other).expiresAt);
+        }
     }
-}
\ No newline at end of file
+}
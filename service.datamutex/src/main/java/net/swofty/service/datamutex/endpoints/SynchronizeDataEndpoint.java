@@ -42,15 +42,17 @@ public class SynchronizeDataEndpoint implements ServiceEndpoint<
         String lockKey = playerUUID + ":" + dataKey;
         System.out.println("Lock key: " + lockKey);
 
+        DataLockManager.LockInfo lock = null;
         try {
             // Step 1: Acquire service-level lock
             System.out.println("Attempting to acquire service lock...");
-            if (!DataLockManager.acquireLock(lockKey, requesterId)) {
+            lock = DataLockManager.acquireLock(lockKey, requesterId);
+            if (lock == null) {
                 System.out.println("Failed to acquire service lock - already locked");
                 return new SynchronizeDataProtocolObject.SynchronizeDataResponse(
-                        false, "Data is currently locked by another operation", null);
+                        false, "Data is currently locked by another operation", null, 0);
             }
-            System.out.println("Service lock acquired successfully");
+            System.out.println("Service lock acquired successfully with token " + lock.fencingToken);
 
             // Step 2: Lock data on all servers
             System.out.println("Locking data on servers: " + serverUUIDs);
@@ -69,11 +71,11 @@ public class SynchronizeDataEndpoint implements ServiceEndpoint<
             if (!allLocked) {
                 // Release service lock and any server locks we did get
                 System.out.println("Not all servers locked, cleaning up...");
-                DataLockManager.releaseLock(lockKey, requesterId);
+                DataLockManager.releaseLock(lockKey, requesterId, lock.fencingToken);
                 ServiceToServerManager.unlockPlayerData(serverUUIDs, playerUUID, dataKey);
 
                 return new SynchronizeDataProtocolObject.SynchronizeDataResponse(
-                        false, "Failed to acquire locks on all servers", null);
+                        false, "Failed to acquire locks on all servers", null, 0);
             }
 
             // Step 3: Get data from all servers
@@ -110,30 +112,32 @@ public class SynchronizeDataEndpoint implements ServiceEndpoint<
 
             if (latestData == null) {
                 System.out.println("No valid data found, cleaning up...");
-                DataLockManager.releaseLock(lockKey, requesterId);
+                DataLockManager.releaseLock(lockKey, requesterId, lock.fencingToken);
                 ServiceToServerManager.unlockPlayerData(serverUUIDs, playerUUID, dataKey);
 
                 return new SynchronizeDataProtocolObject.SynchronizeDataResponse(
-                        false, "No valid data found on any server", null);
+                        false, "No valid data found on any server", null, 0);
             }
 
             System.out.println("Using latest data with timestamp: " + latestTimestamp);
             System.out.println("Latest data content: " + latestData.getString("data"));
 
-            // Step 5: Return the synchronized data
+            // Step 5: Return the synchronized data, the token must be presented to update or unlock it
             return new SynchronizeDataProtocolObject.SynchronizeDataResponse(
-                    true, "Data synchronized successfully", latestData.getString("data"));
+                    true, "Data synchronized successfully", latestData.getString("data"), lock.fencingToken);
 
         } catch (Exception e) {
             System.out.println("Exception in sync endpoint: " + e.getMessage());
             Logger.error(e, "Error occurred in data mutex endpoint");
 
-            // Always unlock on error
-            DataLockManager.releaseLock(lockKey, requesterId);
-            ServiceToServerManager.unlockPlayerData(serverUUIDs, playerUUID, dataKey);
+            // Always unlock on error, unless the lock was never ours
+            if (lock != null) {
+                DataLockManager.releaseLock(lockKey, requesterId, lock.fencingToken);
+                ServiceToServerManager.unlockPlayerData(serverUUIDs, playerUUID, dataKey);
+            }
 
             return new SynchronizeDataProtocolObject.SynchronizeDataResponse(
-                    false, "Error during synchronization: " + e.getMessage(), null);
+                    false, "Error during synchronization: " + e.getMessage(), null, 0);
         }
     }
 }
\ No newline at end of file
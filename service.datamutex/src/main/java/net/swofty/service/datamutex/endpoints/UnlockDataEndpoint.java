@@ -31,8 +31,11 @@ public class UnlockDataEndpoint implements ServiceEndpoint<
         String lockKey = playerUUID + ":" + dataKey;
 
         try {
-            // Release service-level lock
-            DataLockManager.releaseLock(lockKey, requesterId);
+            // Release service-level lock, a stale token must not unlock whoever holds the key now
+            if (!DataLockManager.releaseLock(lockKey, requesterId, messageObject.fencingToken())) {
+                return new UnlockDataProtocolObject.UnlockDataResponse(
+                        false, "Lock has expired or is held by another requester");
+            }
 
             // Release locks on all servers
             ServiceToServerManager.unlockPlayerData(serverUUIDs, playerUUID, dataKey)
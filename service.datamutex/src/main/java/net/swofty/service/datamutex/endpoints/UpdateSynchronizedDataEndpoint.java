@@ -42,19 +42,22 @@ public class UpdateSynchronizedDataEndpoint implements ServiceEndpoint<
         String dataKey = messageObject.dataKey();
         String newData = messageObject.newData();
         String requesterId = request.getRequestServer();
+        long fencingToken = messageObject.fencingToken();
 
         String lockKey = playerUUID + ":" + dataKey;
         System.out.println("Lock key: " + lockKey);
 
+        // Verify we still hold the grant we synchronized under, not just any lock on the key
+        System.out.println("Verifying service lock...");
+        if (!DataLockManager.isHeldBy(lockKey, requesterId, fencingToken)) {
+            System.out.println("Lock verification failed - lockInfo: " + DataLockManager.getLockInfo(lockKey)
+                    + ", requesterId: " + requesterId + ", token: " + fencingToken);
+            // The key may belong to someone else by now, so neither it nor the servers are unlocked
+            return new UpdateSynchronizedDataProtocolObject.UpdateDataResponse(
+                    false, "Lock has expired or is held by another requester");
+        }
+
         try {
-            // Verify we still hold the lock
-            System.out.println("Verifying service lock...");
-            DataLockManager.LockInfo lockInfo = DataLockManager.getLockInfo(lockKey);
-            if (lockInfo == null || !lockInfo.requesterId.equals(requesterId)) {
-                System.out.println("Lock verification failed - lockInfo: " + lockInfo + ", requesterId: " + requesterId);
-                return new UpdateSynchronizedDataProtocolObject.UpdateDataResponse(
-                        false, "Lock has expired or is held by another requester");
-            }
             System.out.println("Service lock verified successfully");
 
             // Step 1: Update data on all servers
@@ -106,8 +109,10 @@ public class UpdateSynchronizedDataEndpoint implements ServiceEndpoint<
         } finally {
             // Always release locks when done
             System.out.println("Releasing locks in finally block...");
-            DataLockManager.releaseLock(lockKey, requesterId);
-            ServiceToServerManager.unlockPlayerData(serverUUIDs, playerUUID, dataKey);
+            // Only the grant that was verified; if it expired meanwhile the key may belong to someone else
+            if (DataLockManager.releaseLock(lockKey, requesterId, fencingToken)) {
+                ServiceToServerManager.unlockPlayerData(serverUUIDs, playerUUID, dataKey);
+            }
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package net.swofty.service.friend;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
 import net.swofty.commons.friend.*;
@@ -11,6 +13,7 @@ import org.json.JSONObject;
 import org.bson.Document;
 import org.tinylog.Logger;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -19,17 +22,35 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Friend graph of the network. Friend data is cached with size and idle based eviction and
+ * every change is written through to Mongo straight away, so an evicted entry is simply
+ * loaded again. Pending requests are served from a {@link PendingRequestIndex} loaded once
+ * on startup and kept in step with the database.
+ */
 public class FriendCache {
-    private static final Map<UUID, FriendData> cachedFriendData = new ConcurrentHashMap<>();
     private static final int FRIENDS_PER_PAGE = 10;
     private static final long REQUEST_EXPIRATION_MS = 5 * 60 * 1000; // 5 minutes
+    private static final long MAX_CACHED_PLAYERS = 50_000;
+    private static final Duration CACHE_IDLE_TIME = Duration.ofMinutes(30);
+
+    private static final Cache<UUID, FriendData> cachedFriendData = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_PLAYERS)
+            .expireAfterAccess(CACHE_IDLE_TIME)
+            .build();
+    private static final PendingRequestIndex pendingRequests = new PendingRequestIndex();
     private static ScheduledExecutorService expirationScheduler;
 
+    public static void loadPendingRequests() {
+        List<PendingFriendRequest> requests = new FriendDatabase(null).getAllPendingRequests();
+        pendingRequests.loadAll(requests);
+        Logger.info("Loaded {} pending friend requests", requests.size());
+    }
+
     public static void startExpirationChecker() {
         if (expirationScheduler != null) {
             return;
@@ -48,19 +69,16 @@ public class FriendCache {
     private static void checkExpiredRequests() {
         try {
             FriendDatabase db = new FriendDatabase(null);
-            List<PendingFriendRequest> allRequests = db.getAllPendingRequests();
-            long now = System.currentTimeMillis();
-
-            for (PendingFriendRequest request : allRequests) {
-                if (now - request.getTimestamp() > REQUEST_EXPIRATION_MS) {
-                    db.removePendingRequest(request.getFrom(), request.getTo());
-                    sendEvent(new FriendRequestExpiredResponseEvent(
-                            request.getFrom(),
-                            request.getTo(),
-                            request.getFromName(),
-                            request.getToName()
-                    ));
-                }
+            long cutoff = System.currentTimeMillis() - REQUEST_EXPIRATION_MS;
+
+            for (PendingFriendRequest request : pendingRequests.removeSentBefore(cutoff)) {
+                db.removePendingRequest(request.getFrom(), request.getTo());
+                sendEvent(new FriendRequestExpiredResponseEvent(
+                        request.getFrom(),
+                        request.getTo(),
+                        request.getFromName(),
+                        request.getToName()
+                ));
             }
         } catch (Exception e) {
             org.tinylog.Logger.error(e, "Failed to check expired friend requests");
@@ -68,18 +86,16 @@ public class FriendCache {
     }
 
     public static FriendData getFriendData(UUID playerUuid) {
-        FriendData cached = cachedFriendData.get(playerUuid);
-        if (cached != null) {
-            return cached;
-        }
+        return cachedFriendData.get(playerUuid, FriendCache::loadFriendData);
+    }
 
+    private static FriendData loadFriendData(UUID playerUuid) {
         FriendDatabase db = new FriendDatabase(playerUuid.toString());
         FriendData data = db.getFriendData(playerUuid);
         if (data == null) {
             data = FriendData.createEmpty(playerUuid);
             db.saveFriendData(data);
         }
-        cachedFriendData.put(playerUuid, data);
         return data;
     }
 
@@ -89,8 +105,7 @@ public class FriendCache {
     }
 
     public static List<PendingFriendRequest> getPendingRequestsFor(UUID playerUuid) {
-        FriendDatabase db = new FriendDatabase(null);
-        return db.getPendingRequestsFor(playerUuid);
+        return pendingRequests.getFor(playerUuid);
     }
 
     public static void handleAddRequest(FriendAddRequestEvent event, String senderName, String targetName) {
@@ -115,19 +130,19 @@ public class FriendCache {
             return;
         }
 
-        FriendDatabase db = new FriendDatabase(null);
-        if (db.hasPendingRequest(sender, target)) {
+        if (pendingRequests.contains(sender, target)) {
             sendErrorToPlayer(sender, "You have already sent a friend request to " + targetName + "!");
             return;
         }
 
-        if (db.hasPendingRequest(target, sender)) {
+        if (pendingRequests.contains(target, sender)) {
             handleAcceptRequest(new FriendAcceptRequestEvent(sender, target), senderName, targetName);
             return;
         }
 
         PendingFriendRequest request = PendingFriendRequest.create(sender, target, senderName, targetName);
-        db.addPendingRequest(request);
+        new FriendDatabase(null).addPendingRequest(request);
+        pendingRequests.add(request);
 
         sendEvent(new FriendRequestSentResponseEvent(sender, target, targetName));
         sendEvent(new FriendRequestReceivedResponseEvent(sender, target, senderName));
@@ -137,8 +152,7 @@ public class FriendCache {
         UUID accepter = event.getAccepter();
         UUID requester = event.getRequester();
 
-        FriendDatabase db = new FriendDatabase(null);
-        PendingFriendRequest request = db.getPendingRequest(requester, accepter);
+        PendingFriendRequest request = pendingRequests.get(requester, accepter);
 
         if (request == null) {
             sendErrorToPlayer(accepter, "You don't have a friend request from " + requesterName + "!");
@@ -151,10 +165,11 @@ public class FriendCache {
         accepterData.addFriend(Friend.create(requester));
         requesterData.addFriend(Friend.create(accepter));
 
-        persistFriendData(accepter);
-        persistFriendData(requester);
+        persistFriendData(accepterData);
+        persistFriendData(requesterData);
 
-        db.removePendingRequest(requester, accepter);
+        new FriendDatabase(null).removePendingRequest(requester, accepter);
+        pendingRequests.remove(requester, accepter);
 
         sendEvent(new FriendAddedResponseEvent(accepter, requester, accepterName, requesterName));
     }
@@ -163,15 +178,15 @@ public class FriendCache {
         UUID denier = event.getDenier();
         UUID requester = event.getRequester();
 
-        FriendDatabase db = new FriendDatabase(null);
-        PendingFriendRequest request = db.getPendingRequest(requester, denier);
+        PendingFriendRequest request = pendingRequests.get(requester, denier);
 
         if (request == null) {
             sendErrorToPlayer(denier, "You don't have a friend request from that player!");
             return;
         }
 
-        db.removePendingRequest(requester, denier);
+        new FriendDatabase(null).removePendingRequest(requester, denier);
+        pendingRequests.remove(requester, denier);
 
         sendEvent(new FriendDeniedResponseEvent(denier, requester, denierName));
     }
@@ -191,8 +206,8 @@ public class FriendCache {
         removerData.removeFriend(target);
         targetData.removeFriend(remover);
 
-        persistFriendData(remover);
-        persistFriendData(target);
+        persistFriendData(removerData);
+        persistFriendData(targetData);
 
         sendEvent(new FriendRemovedResponseEvent(remover, target, removerName));
     }
@@ -211,11 +226,11 @@ public class FriendCache {
         for (UUID friendUuid : friendsToRemove) {
             FriendData friendData = getFriendData(friendUuid);
             friendData.removeFriend(player);
-            persistFriendData(friendUuid);
+            persistFriendData(friendData);
         }
 
         playerData.removeAllNonBestFriends();
-        persistFriendData(player);
+        persistFriendData(playerData);
 
         sendEvent(new FriendRemoveAllResponseEvent(player, removedCount));
     }
@@ -234,7 +249,7 @@ public class FriendCache {
 
         boolean newBestStatus = !friend.isBestFriend();
         friend.setBestFriend(newBestStatus);
-        persistFriendData(player);
+        persistFriendData(playerData);
 
         sendEvent(new FriendBestToggledResponseEvent(player, target, targetName, newBestStatus));
     }
@@ -253,7 +268,7 @@ public class FriendCache {
         }
 
         friend.setNickname(nickname);
-        persistFriendData(player);
+        persistFriendData(playerData);
 
         sendEvent(new FriendNicknameSetResponseEvent(player, target, targetName, nickname));
     }
@@ -280,7 +295,7 @@ public class FriendCache {
             }
         }
 
-        persistFriendData(player);
+        persistFriendData(playerData);
         sendEvent(new FriendSettingToggledResponseEvent(player, settingType, newValue));
     }
 
@@ -336,8 +351,7 @@ public class FriendCache {
         UUID player = event.getPlayer();
         int page = event.getPage();
 
-        FriendDatabase db = new FriendDatabase(null);
-        List<PendingFriendRequest> requests = db.getPendingRequestsFor(player);
+        List<PendingFriendRequest> requests = pendingRequests.getFor(player);
 
         int totalRequests = requests.size();
         int totalPages = Math.max(1, (int) Math.ceil((double) totalRequests / FRIENDS_PER_PAGE));
@@ -379,13 +393,8 @@ public class FriendCache {
             net.swofty.commons.presence.PresenceInfo friendPresence = PresenceStorage.get(friend.getUuid());
             if (friendPresence == null || !friendPresence.isOnline()) continue;
 
-            FriendData friendData = cachedFriendData.get(friend.getUuid());
-            if (friendData == null) {
-                friendData = getFriendData(friend.getUuid());
-                cachedFriendData.put(friend.getUuid(), friendData);
-            }
-
-            if (friendData != null && friendData.getSettings().isJoinLeaveNotifications()) {
+            FriendData friendData = getFriendData(friend.getUuid());
+            if (friendData.getSettings().isJoinLeaveNotifications()) {
                 sendEvent(new FriendJoinNotificationEvent(friend.getUuid(), playerUuid, playerName));
             }
         }
@@ -400,25 +409,19 @@ public class FriendCache {
                 System.currentTimeMillis()
         ));
 
-        FriendData playerData = cachedFriendData.get(playerUuid);
-        if (playerData == null) return;
+        FriendData playerData = getFriendData(playerUuid);
 
         for (Friend friend : playerData.getFriends()) {
             net.swofty.commons.presence.PresenceInfo friendPresence = PresenceStorage.get(friend.getUuid());
             if (friendPresence == null || !friendPresence.isOnline()) continue;
 
-            FriendData friendData = cachedFriendData.get(friend.getUuid());
-            if (friendData == null) {
-                friendData = getFriendData(friend.getUuid());
-                cachedFriendData.put(friend.getUuid(), friendData);
-            }
-
-            if (friendData != null && friendData.getSettings().isJoinLeaveNotifications()) {
+            FriendData friendData = getFriendData(friend.getUuid());
+            if (friendData.getSettings().isJoinLeaveNotifications()) {
                 sendEvent(new FriendLeaveNotificationEvent(friend.getUuid(), playerUuid, playerName));
             }
         }
 
-        cachedFriendData.remove(playerUuid);
+        cachedFriendData.invalidate(playerUuid);
     }
 
     public static String getPlayerName(UUID uuid) {
@@ -487,12 +490,8 @@ public class FriendCache {
         return type != null ? type : id;
     }
 
-    private static void persistFriendData(UUID playerUuid) {
-        FriendData data = cachedFriendData.get(playerUuid);
-        if (data != null) {
-            FriendDatabase db = new FriendDatabase(playerUuid.toString());
-            db.saveFriendData(data);
-        }
+    private static void persistFriendData(FriendData data) {
+        new FriendDatabase(data.getPlayerUuid().toString()).saveFriendData(data);
     }
 
     private static void sendEvent(FriendEvent event) {
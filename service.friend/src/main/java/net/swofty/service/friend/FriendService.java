@@ -13,7 +13,9 @@ public class FriendService implements SkyBlockService {
         String mongoUri = ConfigProvider.settings().getMongodb();
         new FriendDatabase(null).connect(mongoUri);
 
+        FriendCache.loadPendingRequests();
         FriendCache.startExpirationChecker();
+        PresenceSubscriptions.start();
 
         SkyBlockService.init(new FriendService());
     }
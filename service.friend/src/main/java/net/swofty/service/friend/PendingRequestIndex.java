@@ -0,0 +1,80 @@
+package net.swofty.service.friend;
+
+import net.swofty.commons.friend.PendingFriendRequest;
+
+import java.util.*;
+
+/**
+ * In-memory copy of the pending friend requests, kept in step with the database by
+ * {@link FriendCache}. Requests are indexed by target for lookups and ordered by creation
+ * time, so expiring them only looks at the requests that are due.
+ */
+public class PendingRequestIndex {
+    private static final Comparator<PendingFriendRequest> BY_AGE = Comparator
+            .comparingLong(PendingFriendRequest::getTimestamp)
+            .thenComparing(PendingFriendRequest::getFrom)
+            .thenComparing(PendingFriendRequest::getTo);
+
+    // Target -> sender -> request, in the order the requests were sent
+    private final Map<UUID, Map<UUID, PendingFriendRequest>> byTarget = new HashMap<>();
+    private final TreeSet<PendingFriendRequest> byAge = new TreeSet<>(BY_AGE);
+
+    public synchronized void loadAll(Collection<PendingFriendRequest> requests) {
+        byTarget.clear();
+        byAge.clear();
+        requests.stream().sorted(BY_AGE).forEach(this::add);
+    }
+
+    public synchronized void add(PendingFriendRequest request) {
+        PendingFriendRequest previous = byTarget
+                .computeIfAbsent(request.getTo(), k -> new LinkedHashMap<>())
+                .put(request.getFrom(), request);
+        if (previous != null) byAge.remove(previous);
+        byAge.add(request);
+    }
+
+    public synchronized PendingFriendRequest remove(UUID from, UUID to) {
+        Map<UUID, PendingFriendRequest> received = byTarget.get(to);
+        if (received == null) return null;
+
+        PendingFriendRequest removed = received.remove(from);
+        if (received.isEmpty()) byTarget.remove(to);
+        if (removed != null) byAge.remove(removed);
+        return removed;
+    }
+
+    public synchronized PendingFriendRequest get(UUID from, UUID to) {
+        Map<UUID, PendingFriendRequest> received = byTarget.get(to);
+        return received == null ? null : received.get(from);
+    }
+
+    public boolean contains(UUID from, UUID to) {
+        return get(from, to) != null;
+    }
+
+    public synchronized List<PendingFriendRequest> getFor(UUID to) {
+        Map<UUID, PendingFriendRequest> received = byTarget.get(to);
+        return received == null ? new ArrayList<>() : new ArrayList<>(received.values());
+    }
+
+    /**
+     * Removes and returns every request sent before the given time.
+     */
+    public synchronized List<PendingFriendRequest> removeSentBefore(long cutoff) {
+        List<PendingFriendRequest> due = new ArrayList<>();
+        while (!byAge.isEmpty() && byAge.first().getTimestamp() < cutoff) {
+            PendingFriendRequest request = byAge.pollFirst();
+            Map<UUID, PendingFriendRequest> received = byTarget.get(request.getTo());
+            if (received != null) {
+                received.remove(request.getFrom());
+                if (received.isEmpty()) byTarget.remove(request.getTo());
+            }
+            due.add(request);
+        }
+        return due;
+    }
+
+    public synchronized int size() {
+        return byAge.size();
+    }
+}
@@ -5,6 +5,7 @@ import net.swofty.commons.presence.PresenceInfo;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -13,14 +14,16 @@ public class PresenceStorage {
     private static final Map<UUID, PresenceInfo> presenceByUuid = new ConcurrentHashMap<>();
 
     public static void upsert(PresenceInfo presence) {
-        presenceByUuid.put(presence.getUuid(), presence);
+        upsertAndGetPrevious(presence);
     }
 
     /**
      * Upsert presence and return the previous entry (if any).
      */
     public static PresenceInfo upsertAndGetPrevious(PresenceInfo presence) {
-        return presenceByUuid.put(presence.getUuid(), presence);
+        PresenceInfo previous = presenceByUuid.put(presence.getUuid(), presence);
+        publishIfChanged(previous, presence);
+        return previous;
     }
 
     /**
@@ -30,6 +33,7 @@ public class PresenceStorage {
         PresenceInfo previous = presenceByUuid.get(incoming.getUuid());
         if (previous == null) {
             presenceByUuid.put(incoming.getUuid(), incoming);
+            publishIfChanged(null, incoming);
             return null;
         }
 
@@ -45,14 +49,29 @@ public class PresenceStorage {
                 lastSeen
         );
         presenceByUuid.put(incoming.getUuid(), merged);
+        publishIfChanged(previous, merged);
         return previous;
     }
 
+    /**
+     * Sends the new presence to subscribed servers unless only its last seen time moved,
+     * which every heartbeat does.
+     */
+    private static void publishIfChanged(PresenceInfo previous, PresenceInfo current) {
+        if (previous != null
+                && previous.isOnline() == current.isOnline()
+                && Objects.equals(previous.getServerType(), current.getServerType())
+                && Objects.equals(previous.getServerId(), current.getServerId())) {
+            return;
+        }
+        PresenceSubscriptions.publish(current);
+    }
+
     public static List<PresenceInfo> getBulk(Collection<UUID> uuids) {
         if (uuids == null || uuids.isEmpty()) return List.of();
         return uuids.stream()
                 .map(presenceByUuid::get)
-                .filter(java.util.Objects::nonNull)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
@@ -60,7 +79,7 @@ public class PresenceStorage {
         if (uuids == null || uuids.isEmpty()) return Map.of();
         return uuids.stream()
                 .map(presenceByUuid::get)
-                .filter(java.util.Objects::nonNull)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toMap(PresenceInfo::getUuid, p -> p, (a, b) -> a));
     }
 
@@ -73,7 +92,10 @@ public class PresenceStorage {
         return uuids.stream()
                 .collect(Collectors.toMap(
                         uuid -> uuid,
-                        uuid -> presenceByUuid.getOrDefault(uuid, new PresenceInfo(uuid, false, null, null, System.currentTimeMillis())).isOnline(),
+                        uuid -> {
+                            PresenceInfo presence = presenceByUuid.get(uuid);
+                            return presence != null && presence.isOnline();
+                        },
                         (a, b) -> a
                 ));
     }
@@ -0,0 +1,103 @@
+package net.swofty.service.friend;
+
+import net.swofty.commons.presence.PresenceInfo;
+import net.swofty.commons.service.FromServiceChannels;
+import net.swofty.service.generic.redis.ServiceToServerManager;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.tinylog.Logger;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks which servers want presence updates for which players and sends them coalesced
+ * deltas. Changes are queued per server and flushed every {@link #FLUSH_INTERVAL_MS}; a
+ * player that changes several times between flushes is only sent once, with their latest
+ * presence.
+ * <p>
+ * A server whose delta is not acknowledged is assumed gone and loses its subscriptions.
+ * Servers renew their subscriptions periodically, so one that was only slow recovers.
+ */
+public class PresenceSubscriptions {
+    private static final long FLUSH_INTERVAL_MS = 100;
+
+    private static final Map<UUID, Set<UUID>> serversByPlayer = new HashMap<>();
+    private static final Map<UUID, Set<UUID>> playersByServer = new HashMap<>();
+    private static Map<UUID, Map<UUID, PresenceInfo>> pendingByServer = new HashMap<>();
+    private static ScheduledExecutorService flusher;
+
+    public static synchronized void start() {
+        if (flusher != null) return;
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "presence-delta-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleAtFixedRate(PresenceSubscriptions::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void subscribe(UUID server, Collection<UUID> players) {
+        for (UUID player : players) {
+            serversByPlayer.computeIfAbsent(player, k -> new HashSet<>()).add(server);
+            playersByServer.computeIfAbsent(server, k -> new HashSet<>()).add(player);
+        }
+    }
+
+    public static synchronized void unsubscribe(UUID server, Collection<UUID> players) {
+        Set<UUID> watched = playersByServer.get(server);
+        if (watched == null) return;
+        for (UUID player : players) {
+            if (!watched.remove(player)) continue;
+            Set<UUID> servers = serversByPlayer.get(player);
+            if (servers != null && servers.remove(server) && servers.isEmpty()) {
+                serversByPlayer.remove(player);
+            }
+        }
+        if (watched.isEmpty()) playersByServer.remove(server);
+    }
+
+    public static synchronized void dropServer(UUID server) {
+        Set<UUID> watched = playersByServer.get(server);
+        if (watched != null) unsubscribe(server, new ArrayList<>(watched));
+        pendingByServer.remove(server);
+    }
+
+    /**
+     * Queues the presence for every server subscribed to the player.
+     */
+    public static synchronized void publish(PresenceInfo presence) {
+        Set<UUID> servers = serversByPlayer.get(presence.getUuid());
+        if (servers == null) return;
+        for (UUID server : servers) {
+            pendingByServer.computeIfAbsent(server, k -> new HashMap<>()).put(presence.getUuid(), presence);
+        }
+    }
+
+    private static void flush() {
+        Map<UUID, Map<UUID, PresenceInfo>> batches;
+        synchronized (PresenceSubscriptions.class) {
+            if (pendingByServer.isEmpty()) return;
+            batches = pendingByServer;
+            pendingByServer = new HashMap<>();
+        }
+
+        batches.forEach((server, batch) -> {
+            JSONArray presence = new JSONArray();
+            for (PresenceInfo info : batch.values()) {
+                presence.put(new JSONObject(PresenceInfo.getSerializer().serialize(info)));
+            }
+
+            ServiceToServerManager.sendToServer(server, FromServiceChannels.PRESENCE_DELTA,
+                    new JSONObject().put("presence", presence)
+            ).whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    Logger.warn("Server {} did not acknowledge a presence delta, dropping its subscriptions", server);
+                    dropServer(server);
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package net.swofty.service.friend.endpoints;
+
+import net.swofty.commons.impl.ServiceProxyRequest;
+import net.swofty.commons.presence.PresenceInfo;
+import net.swofty.commons.protocol.objects.presence.SubscribePresenceProtocolObject;
+import net.swofty.service.friend.PresenceStorage;
+import net.swofty.service.friend.PresenceSubscriptions;
+import net.swofty.service.generic.redis.ServiceEndpoint;
+
+import java.util.List;
+import java.util.UUID;
+
+public class SubscribePresenceEndpoint implements ServiceEndpoint<
+        SubscribePresenceProtocolObject.SubscribePresenceMessage,
+        SubscribePresenceProtocolObject.SubscribePresenceResponse> {
+
+    @Override
+    public SubscribePresenceProtocolObject associatedProtocolObject() {
+        return new SubscribePresenceProtocolObject();
+    }
+
+    @Override
+    public SubscribePresenceProtocolObject.SubscribePresenceResponse onMessage(
+            ServiceProxyRequest message,
+            SubscribePresenceProtocolObject.SubscribePresenceMessage messageObject) {
+
+        UUID server = UUID.fromString(message.getRequestServer());
+        PresenceSubscriptions.unsubscribe(server, messageObject.unsubscribe());
+        PresenceSubscriptions.subscribe(server, messageObject.subscribe());
+
+        List<PresenceInfo> presence = PresenceStorage.getBulk(messageObject.subscribe());
+        return new SubscribePresenceProtocolObject.SubscribePresenceResponse(presence);
+    }
+}
@@ -43,11 +43,11 @@ public class ServiceInitializer {
                 String realMessage = message.message.substring(message.message.indexOf(";") + 1);
                 ServiceProxyRequest request = ServiceProxyRequest.fromJSON(new JSONObject(realMessage));
 
-                Object messageData = protocolObject.translateFromString(request.getMessage());
+                Object messageData = protocolObject.translateFromWire(request.getMessage());
 
                 Thread.startVirtualThread(() -> {
                     Object rawResponse = endpoint.onMessage(request, messageData);
-                    String response = protocolObject.translateReturnToString(rawResponse);
+                    String response = protocolObject.translateReturnToWire(rawResponse, request.getFormat());
 
                     RedisAPI.getInstance().publishMessage(request.getRequestServer(),
                             ChannelRegistry.getFromName(request.getEndpoint()),
@@ -2,6 +2,7 @@ package net.swofty.service.generic.redis;
 
 import net.swofty.commons.ServiceType;
 import net.swofty.commons.service.FromServiceChannels;
+import net.swofty.commons.service.ServiceEnvelope;
 import net.swofty.redisapi.api.ChannelRegistry;
 import net.swofty.redisapi.api.RedisAPI;
 import org.json.JSONObject;
@@ -29,25 +30,21 @@ public class ServiceToServerManager {
 
         // Register response handler for server responses
         RedisAPI.getInstance().registerChannel("service_response", (event) -> {
-            String[] split = event.message.split("}=-=-=\\{");
-            UUID requestId = UUID.fromString(split[0].substring(split[0].indexOf(";") + 1));
-            String response = split[1];
+            ServiceEnvelope envelope = ServiceEnvelope.decode(event.message);
 
-            CompletableFuture<JSONObject> future = pendingRequests.remove(requestId);
+            CompletableFuture<JSONObject> future = pendingRequests.remove(envelope.requestId());
             if (future != null) {
-                future.complete(new JSONObject(response));
+                future.complete(new JSONObject(envelope.payload()));
             }
         });
 
         RedisAPI.getInstance().registerChannel("service_broadcast_response", (event) -> {
-            String[] split = event.message.split("}=-=-=\\{");
-            UUID requestId = UUID.fromString(split[0].substring(split[0].indexOf(";") + 1));
-            UUID serverUUID = UUID.fromString(split[1]);
-            String response = split[2];
-
-            BroadcastRequest broadcastRequest = pendingBroadcastRequests.get(requestId);
-            if (broadcastRequest != null) {
-                broadcastRequest.addResponse(serverUUID, new JSONObject(response));
+            ServiceEnvelope envelope = ServiceEnvelope.decode(event.message);
+
+            // Late responses to a broadcast that already timed out are dropped before their JSON is parsed
+            BroadcastRequest broadcastRequest = pendingBroadcastRequests.get(envelope.requestId());
+            if (broadcastRequest != null && envelope.senderServer() != null) {
+                broadcastRequest.addResponse(envelope.senderServer(), new JSONObject(envelope.payload()));
             }
         });
     }
@@ -68,7 +65,8 @@ public class ServiceToServerManager {
         });
 
         String channelName = "service_" + channel.getChannelName();
-        String messageContent = currentServiceType.name() + "}=-=-={" + requestId + "}=-=-={" + message.toString();
+        String messageContent = ServiceEnvelope.encode(ServiceEnvelope.REQUEST, requestId,
+                currentServiceType.name(), message.toString());
 
         RedisAPI.getInstance().publishMessage(
                 serverUUID.toString(),
@@ -128,9 +126,8 @@ public class ServiceToServerManager {
 
         // Build and publish the Redis message
         String channelName = "service_broadcast_" + channel.getChannelName();
-        String messageContent = currentServiceType.name()
-                + "}=-=-={" + requestId
-                + "}=-=-={" + message.toString();
+        String messageContent = ServiceEnvelope.encode(ServiceEnvelope.REQUEST, requestId,
+                currentServiceType.name(), message.toString());
         RedisAPI.getInstance()
                 .publishMessage("all",
                         ChannelRegistry.getFromName(channelName),
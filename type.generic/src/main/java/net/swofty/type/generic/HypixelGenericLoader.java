@@ -167,6 +167,7 @@ public record HypixelGenericLoader(HypixelTypeLoader loader) {
          * Presence heartbeat to keep friend status fresh
          */
         net.swofty.type.generic.presence.PresenceHeartbeat.start();
+        net.swofty.type.generic.presence.PresenceMirror.start();
 
         /**
          * Register databases
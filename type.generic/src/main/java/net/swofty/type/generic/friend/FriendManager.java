@@ -5,14 +5,15 @@ import net.swofty.commons.friend.*;
 import net.swofty.commons.friend.events.*;
 import net.swofty.commons.presence.PresenceInfo;
 import net.swofty.commons.protocol.objects.friend.*;
-import net.swofty.commons.protocol.objects.presence.GetPresenceBulkProtocolObject;
 import net.swofty.proxyapi.ProxyPlayer;
 import net.swofty.proxyapi.ProxyService;
 import net.swofty.type.generic.data.DataHandler;
 import net.swofty.type.generic.data.HypixelDataHandler;
+import net.swofty.type.generic.presence.PresenceMirror;
 import net.swofty.type.generic.user.HypixelPlayer;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -47,15 +48,13 @@ public class FriendManager {
                 .join();
     }
 
+    /**
+     * Served from the local {@link PresenceMirror}; only players not yet watched by this
+     * server cost a request to the friend service.
+     */
     public static List<PresenceInfo> getPresenceBulk(List<UUID> uuids) {
-        if (!friendService.isOnline().join()) return List.of();
         if (uuids.isEmpty()) return List.of();
-        GetPresenceBulkProtocolObject.GetPresenceBulkMessage message =
-                new GetPresenceBulkProtocolObject.GetPresenceBulkMessage(uuids);
-        return friendService.<GetPresenceBulkProtocolObject.GetPresenceBulkMessage,
-                        GetPresenceBulkProtocolObject.GetPresenceBulkResponse>handleRequest(message)
-                .thenApply(GetPresenceBulkProtocolObject.GetPresenceBulkResponse::presence)
-                .join();
+        return new ArrayList<>(PresenceMirror.getAll(uuids).values());
     }
 
     public static void addFriend(HypixelPlayer player, String targetName) {
@@ -0,0 +1,111 @@
+package net.swofty.type.generic.presence;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.timer.TaskSchedule;
+import net.swofty.commons.ServiceType;
+import net.swofty.commons.presence.PresenceInfo;
+import net.swofty.commons.protocol.objects.presence.SubscribePresenceProtocolObject;
+import net.swofty.proxyapi.ProxyService;
+import org.tinylog.Logger;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local copy of the presence of the players this server has asked about.
+ * <p>
+ * The first read of a player subscribes this server to their presence; from then on the
+ * friend service pushes deltas (see {@code RedisPresenceDelta}) and reads are served
+ * locally. Players nobody has read for {@link #IDLE_UNSUBSCRIBE_MS} are unsubscribed, and
+ * the remaining subscriptions are renewed every sweep in case the service dropped them. A
+ * renewal's snapshot replaces the local copy unless a delta with a later {@code lastSeen}
+ * already arrived, so a missed delta is corrected within a sweep.
+ */
+public final class PresenceMirror {
+    private static final long IDLE_UNSUBSCRIBE_MS = 10 * 60 * 1000;
+    private static final ProxyService friendService = new ProxyService(ServiceType.FRIEND);
+
+    private static final Map<UUID, PresenceInfo> presence = new ConcurrentHashMap<>();
+    // Subscribed players and when they were last read
+    private static final Map<UUID, Long> watched = new ConcurrentHashMap<>();
+
+    private PresenceMirror() {}
+
+    public static void start() {
+        MinecraftServer.getSchedulerManager().buildTask(PresenceMirror::sweep)
+                .delay(TaskSchedule.minutes(1))
+                .repeat(TaskSchedule.minutes(1))
+                .schedule();
+    }
+
+    /**
+     * @return the known presence of the given players, subscribing to any not yet watched
+     */
+    public static Map<UUID, PresenceInfo> getAll(Collection<UUID> uuids) {
+        long now = System.currentTimeMillis();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID uuid : uuids) {
+            if (watched.put(uuid, now) == null) missing.add(uuid);
+        }
+        if (!missing.isEmpty() && !subscribe(missing, List.of(), false)) {
+            missing.forEach(watched::remove);
+        }
+
+        Map<UUID, PresenceInfo> result = new HashMap<>();
+        for (UUID uuid : uuids) {
+            PresenceInfo info = presence.get(uuid);
+            if (info != null) result.put(uuid, info);
+        }
+        return result;
+    }
+
+    public static void applyDelta(Collection<PresenceInfo> delta) {
+        for (PresenceInfo info : delta) {
+            if (watched.containsKey(info.getUuid())) presence.put(info.getUuid(), info);
+        }
+    }
+
+    /**
+     * @param renewal whether the players were already subscribed, in which case the snapshot
+     *                corrects the local copy instead of only filling it in
+     */
+    private static boolean subscribe(List<UUID> subscribe, List<UUID> unsubscribe, boolean renewal) {
+        try {
+            if (!friendService.isOnline().join()) return false;
+            SubscribePresenceProtocolObject.SubscribePresenceResponse response = friendService.<SubscribePresenceProtocolObject.SubscribePresenceMessage,
+                            SubscribePresenceProtocolObject.SubscribePresenceResponse>handleRequest(
+                            new SubscribePresenceProtocolObject.SubscribePresenceMessage(subscribe, unsubscribe))
+                    .join();
+            for (PresenceInfo info : response.presence()) {
+                if (!renewal) {
+                    // A delta that arrived while subscribing is newer than the snapshot
+                    presence.putIfAbsent(info.getUuid(), info);
+                } else if (watched.containsKey(info.getUuid())) {
+                    presence.merge(info.getUuid(), info, (current, snapshot) ->
+                            snapshot.getLastSeen() >= current.getLastSeen() ? snapshot : current);
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            Logger.error(e, "Failed to update presence subscriptions");
+            return false;
+        }
+    }
+
+    private static void sweep() {
+        long cutoff = System.currentTimeMillis() - IDLE_UNSUBSCRIBE_MS;
+        List<UUID> idle = new ArrayList<>();
+        watched.forEach((uuid, lastRead) -> {
+            if (lastRead < cutoff) idle.add(uuid);
+        });
+        idle.forEach(uuid -> {
+            watched.remove(uuid);
+            presence.remove(uuid);
+        });
+
+        List<UUID> renew = new ArrayList<>(watched.keySet());
+        if (!renew.isEmpty() || !idle.isEmpty()) {
+            Thread.startVirtualThread(() -> subscribe(renew, idle, true));
+        }
+    }
+}
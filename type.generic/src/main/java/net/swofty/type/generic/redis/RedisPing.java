@@ -2,6 +2,7 @@ package net.swofty.type.generic.redis;
 
 import net.swofty.commons.proxy.FromProxyChannels;
 import net.swofty.proxyapi.redis.ProxyToClient;
+import net.swofty.redisapi.api.RedisAPI;
 import org.json.JSONObject;
 
 public class RedisPing implements ProxyToClient {
@@ -12,6 +13,6 @@ public class RedisPing implements ProxyToClient {
 
     @Override
     public JSONObject onMessage(JSONObject message) {
-        return new JSONObject();
+        return new JSONObject().put("server-uuid", RedisAPI.getInstance().getFilterId());
     }
 }
@@ -0,0 +1,30 @@
+package net.swofty.type.generic.redis.service;
+
+import net.swofty.commons.presence.PresenceInfo;
+import net.swofty.commons.service.FromServiceChannels;
+import net.swofty.proxyapi.redis.ServiceToClient;
+import net.swofty.type.generic.presence.PresenceMirror;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RedisPresenceDelta implements ServiceToClient {
+
+    @Override
+    public FromServiceChannels getChannel() {
+        return FromServiceChannels.PRESENCE_DELTA;
+    }
+
+    @Override
+    public JSONObject onMessage(JSONObject message) {
+        JSONArray array = message.getJSONArray("presence");
+        List<PresenceInfo> delta = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            delta.add(PresenceInfo.getSerializer().deserialize(array.getJSONObject(i).toString()));
+        }
+        PresenceMirror.applyDelta(delta);
+        return new JSONObject().put("success", true);
+    }
+}
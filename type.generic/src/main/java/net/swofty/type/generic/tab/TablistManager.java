@@ -3,6 +3,7 @@ package net.swofty.type.generic.tab;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.minestom.server.entity.GameMode;
+import net.minestom.server.network.packet.server.SendablePacket;
 import net.minestom.server.network.packet.server.play.PlayerInfoRemovePacket;
 import net.minestom.server.network.packet.server.play.PlayerInfoUpdatePacket;
 import net.minestom.server.network.packet.server.play.TeamsPacket;
@@ -12,11 +13,22 @@ import net.minestom.server.timer.TaskSchedule;
 import net.swofty.type.generic.HypixelGenericLoader;
 import net.swofty.type.generic.user.HypixelPlayer;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the fake tablist entries built by {@link #getModules()}.
+ * <p>
+ * Entry {@code n} of the tablist always uses the same slot: the same UUID, name and team, so
+ * slots sort in order and survive between renders. Each player's last render is remembered and
+ * a refresh only sends what changed. Slots whose text changed get a display name update. Slots
+ * whose skin changed are re-added, since skins can only be set when an entry is added. New slots
+ * are added and slots past the end are removed.
+ */
 public abstract class TablistManager {
-    private static Map<HypixelPlayer, List<UUID>> tablistEntries = new HashMap<>();
+    private static final Map<HypixelPlayer, RenderedTablist> tablistEntries = new ConcurrentHashMap<>();
+    private static final List<UUID> slotUuids = new ArrayList<>();
 
     public abstract List<TablistModule> getModules();
 
@@ -24,90 +36,152 @@ public abstract class TablistManager {
         tablistEntries.remove(player);
     }
 
+    /**
+     * Removes the player's entries and stops rendering for them until
+     * {@link #deleteTablistEntries(HypixelPlayer)} is called.
+     */
     public void nullifyCache(HypixelPlayer player) {
-        if (tablistEntries.containsKey(player) && tablistEntries.get(player) != null) {
-            player.sendPacket(new PlayerInfoRemovePacket(tablistEntries.get(player)));
-            tablistEntries.put(player, null);
+        RenderedTablist rendered = tablistEntries.get(player);
+        if (rendered == null) return;
+
+        synchronized (rendered) {
+            if (rendered.disabled) return;
+            if (!rendered.entries.isEmpty()) {
+                player.sendPacket(new PlayerInfoRemovePacket(slotUuids(0, rendered.entries.size())));
+                rendered.entries.clear();
+            }
+            rendered.disabled = true;
         }
     }
 
     public void runScheduler(Scheduler scheduler) {
         scheduler.scheduleTask(() -> {
             HypixelGenericLoader.getLoadedPlayers().forEach(player -> {
-                if (!tablistEntries.containsKey(player)) {
-                    tablistEntries.put(player, new ArrayList<>());
-                } else {
-                    if (tablistEntries.get(player) == null) return;
-                    player.sendPacket(new PlayerInfoRemovePacket(tablistEntries.get(player)));
+                RenderedTablist rendered = tablistEntries.computeIfAbsent(player, ignored -> new RenderedTablist());
+                synchronized (rendered) {
+                    if (rendered.disabled) return;
+                    render(player, rendered, collectEntries(player));
                 }
-                tablistEntries.get(player).clear();
-
-                AtomicReference<Map.Entry<String, Integer>> charPrefix = new AtomicReference<>(Map.entry("§", 0));
-
-                getModules().forEach(module -> {
-                    try {
-                        List<TablistModule.TablistEntry> entries = module.getEntries(player);
-
-                        entries.forEach(entry -> {
-                            List<PlayerInfoUpdatePacket.Property> properties = new ArrayList<>();
-                            properties.add(new PlayerInfoUpdatePacket.Property(
-                                    "textures",
-                                    entry.registry().getTexture(),
-                                    entry.registry().getSignature()));
-
-                            if (!charPrefix.get().getKey().equals(entry.content())) {
-                                charPrefix.set(Map.entry(entry.content(), charPrefix.get().getValue() + 1));
-                            }
-
-                            // 0 is AA, 1 is AB, 2 is AC, etc.
-                            // 26 is BA, 27 is BB, 28 is BC, etc.
-                            StringBuilder prefix = new StringBuilder();
-                            int value = charPrefix.get().getValue();
-                            do {
-                                // 'A' has an ASCII value of 65, so adding value % 26 gives us the letter we want.
-                                // We subtract by 1 before the modulus operation because we want 'A' to represent 0, 'B' to represent 1, and so on.
-                                char charToAdd = (char) ('A' + (value - 1) % 26);
-                                prefix.insert(0, charToAdd); // Prepend the character
-                                value = (value - 1) / 26; // Move to the next 'digit'
-                            } while (value > 0);
-
-                            UUID uuid = UUID.randomUUID();
-                            tablistEntries.get(player).add(uuid);
-
-                            String randomName = UUID.randomUUID().toString().substring(0, 8);
-
-                            TeamsPacket teamPacket = new TeamsPacket(prefix.toString(), new TeamsPacket.CreateTeamAction(
-                                    Component.text(prefix.toString()),
-                                    (byte) 0x01,
-                                    TeamsPacket.NameTagVisibility.ALWAYS,
-                                    TeamsPacket.CollisionRule.ALWAYS,
-                                    NamedTextColor.RED,
-                                    Component.text(prefix.toString()),
-                                    Component.empty(),
-                                    new ArrayList<>(Collections.singletonList(randomName))
-                            ));
-
-                            player.sendPackets(
-                                    teamPacket,
-                                    new PlayerInfoUpdatePacket(EnumSet.of(
-                                            PlayerInfoUpdatePacket.Action.ADD_PLAYER,
-                                            PlayerInfoUpdatePacket.Action.UPDATE_DISPLAY_NAME,
-                                            PlayerInfoUpdatePacket.Action.UPDATE_LISTED
-                                    ), Collections.singletonList(new PlayerInfoUpdatePacket.Entry(
-                                            uuid,
-                                            randomName,
-                                            properties,
-                                            true,
-                                            0,
-                                            GameMode.CREATIVE,
-                                            Component.text(entry.content()),
-                                            null,
-                                            1, true)))
-                            );
-                        });
-                    } catch (Exception e) {}
-                });
             });
         }, TaskSchedule.seconds(5), TaskSchedule.seconds(3), ExecutionType.TICK_END);
     }
+
+    private List<TablistModule.TablistEntry> collectEntries(HypixelPlayer player) {
+        List<TablistModule.TablistEntry> entries = new ArrayList<>();
+        for (TablistModule module : getModules()) {
+            try {
+                entries.addAll(module.getEntries(player));
+            } catch (Exception e) {}
+        }
+        return entries;
+    }
+
+    private void render(HypixelPlayer player, RenderedTablist rendered, List<TablistModule.TablistEntry> entries) {
+        List<SendablePacket> packets = new ArrayList<>();
+        List<UUID> removed = new ArrayList<>();
+        List<PlayerInfoUpdatePacket.Entry> added = new ArrayList<>();
+        List<PlayerInfoUpdatePacket.Entry> renamed = new ArrayList<>();
+
+        for (int slot = 0; slot < entries.size(); slot++) {
+            TablistModule.TablistEntry entry = entries.get(slot);
+            TablistModule.TablistEntry previous = slot < rendered.entries.size() ? rendered.entries.get(slot) : null;
+
+            if (previous == null) {
+                if (slot >= rendered.teams) {
+                    packets.add(createTeam(slot));
+                    rendered.teams = slot + 1;
+                }
+                added.add(toInfoEntry(slot, entry));
+            } else if (previous.registry() != entry.registry()) {
+                removed.add(slotUuid(slot));
+                added.add(toInfoEntry(slot, entry));
+            } else if (!previous.content().equals(entry.content())) {
+                renamed.add(toInfoEntry(slot, entry));
+            }
+        }
+        if (rendered.entries.size() > entries.size()) {
+            removed.addAll(slotUuids(entries.size(), rendered.entries.size()));
+        }
+
+        rendered.entries.clear();
+        rendered.entries.addAll(entries);
+
+        if (!removed.isEmpty()) packets.addFirst(new PlayerInfoRemovePacket(removed));
+        if (!added.isEmpty()) {
+            packets.add(new PlayerInfoUpdatePacket(EnumSet.of(
+                    PlayerInfoUpdatePacket.Action.ADD_PLAYER,
+                    PlayerInfoUpdatePacket.Action.UPDATE_DISPLAY_NAME,
+                    PlayerInfoUpdatePacket.Action.UPDATE_LISTED
+            ), added));
+        }
+        if (!renamed.isEmpty()) {
+            packets.add(new PlayerInfoUpdatePacket(EnumSet.of(PlayerInfoUpdatePacket.Action.UPDATE_DISPLAY_NAME), renamed));
+        }
+        if (!packets.isEmpty()) player.sendPackets(packets);
+    }
+
+    private static PlayerInfoUpdatePacket.Entry toInfoEntry(int slot, TablistModule.TablistEntry entry) {
+        List<PlayerInfoUpdatePacket.Property> properties = new ArrayList<>();
+        properties.add(new PlayerInfoUpdatePacket.Property(
+                "textures",
+                entry.registry().getTexture(),
+                entry.registry().getSignature()));
+
+        return new PlayerInfoUpdatePacket.Entry(
+                slotUuid(slot),
+                slotName(slot),
+                properties,
+                true,
+                0,
+                GameMode.CREATIVE,
+                Component.text(entry.content()),
+                null,
+                1, true);
+    }
+
+    private static TeamsPacket createTeam(int slot) {
+        String team = teamName(slot);
+        return new TeamsPacket(team, new TeamsPacket.CreateTeamAction(
+                Component.text(team),
+                (byte) 0x01,
+                TeamsPacket.NameTagVisibility.ALWAYS,
+                TeamsPacket.CollisionRule.ALWAYS,
+                NamedTextColor.RED,
+                Component.text(team),
+                Component.empty(),
+                new ArrayList<>(Collections.singletonList(slotName(slot)))
+        ));
+    }
+
+    // 0 is AA, 1 is AB, 2 is AC, etc. and 26 is BA, so slots sort in order by team name
+    private static String teamName(int slot) {
+        return String.valueOf((char) ('A' + slot / 26)) + (char) ('A' + slot % 26);
+    }
+
+    private static String slotName(int slot) {
+        return "tab" + teamName(slot);
+    }
+
+    private static synchronized UUID slotUuid(int slot) {
+        while (slotUuids.size() <= slot) {
+            slotUuids.add(UUID.nameUUIDFromBytes(("tablist-slot:" + slotUuids.size()).getBytes(StandardCharsets.UTF_8)));
+        }
+        return slotUuids.get(slot);
+    }
+
+    private static List<UUID> slotUuids(int from, int to) {
+        List<UUID> uuids = new ArrayList<>(to - from);
+        for (int slot = from; slot < to; slot++) {
+            uuids.add(slotUuid(slot));
+        }
+        return uuids;
+    }
+
+    private static final class RenderedTablist {
+        // What each slot showed after the last render
+        private final List<TablistModule.TablistEntry> entries = new ArrayList<>();
+        // Teams are created for slots 0 to teams - 1
+        private int teams;
+        private boolean disabled;
+    }
 }
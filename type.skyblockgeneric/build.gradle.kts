@@ -1,5 +1,6 @@
 plugins {
     java
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "net.swofty"
@@ -33,6 +34,14 @@ dependencies {
     }
     implementation("dev.hollowcube:polar:1.15.0")
     implementation("it.unimi.dsi:fastutil:8.5.18")
+    implementation("com.github.ben-manes.caffeine:caffeine:3.2.3")
     implementation("org.yaml:snakeyaml:2.2")
     implementation("org.jetbrains.kotlin:kotlin-stdlib:2.3.0")
 }
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
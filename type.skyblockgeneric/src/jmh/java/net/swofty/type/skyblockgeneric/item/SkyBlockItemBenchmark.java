@@ -0,0 +1,84 @@
+package net.swofty.type.skyblockgeneric.item;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import net.minestom.server.tag.Tag;
+import net.swofty.commons.skyblock.item.ItemType;
+import net.swofty.commons.skyblock.item.attribute.ItemAttribute;
+import net.swofty.commons.skyblock.statistics.ItemStatistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading an item from its stack with lazily built attribute slots against the eager
+ * loading it replaced, which built and defaulted every registered attribute twice per item.
+ * The lazy benchmarks run the whole constructor while the eager ones only redo the attribute
+ * work, so the gap between them understates what was saved.
+ * <p>
+ * Run with {@code ./gradlew :type.skyblockgeneric:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SkyBlockItemBenchmark {
+    // A vanilla block and a SkyBlock item carrying its own attribute tags
+    private ItemStack plainStack;
+    private ItemStack skyBlockStack;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        ItemAttribute.registerItemAttributes();
+
+        plainStack = ItemStack.of(Material.STONE, 64);
+        skyBlockStack = new SkyBlockItem(ItemType.HYPERION).getItemStack();
+    }
+
+    @Benchmark
+    public SkyBlockItem lazyPlain() {
+        return new SkyBlockItem(plainStack);
+    }
+
+    @Benchmark
+    public SkyBlockItem lazySkyBlock() {
+        return new SkyBlockItem(skyBlockStack);
+    }
+
+    @Benchmark
+    public void eagerPlain(Blackhole blackhole) {
+        blackhole.consume(eagerAttributes(plainStack));
+    }
+
+    @Benchmark
+    public void eagerSkyBlock(Blackhole blackhole) {
+        blackhole.consume(eagerAttributes(skyBlockStack));
+    }
+
+    /**
+     * The attribute work the eager loader did for a stack: every attribute built with its
+     * default when the type or material was loaded, then built again from the stack's tag or
+     * its default and swapped into the list.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<ItemAttribute> eagerAttributes(ItemStack item) {
+        List<ItemAttribute> attributes = new ArrayList<>();
+        for (ItemAttribute attribute : ItemAttribute.getPossibleAttributes()) {
+            attribute.setValue(attribute.getDefaultValue(null));
+            attributes.add(attribute);
+        }
+
+        ItemStatistics statistics = ItemStatistics.empty();
+        for (ItemAttribute attribute : ItemAttribute.getPossibleAttributes()) {
+            String value = item.getTag(Tag.String(attribute.getKey()));
+            attribute.setValue(value != null ? attribute.loadFromString(value) : attribute.getDefaultValue(statistics));
+            attributes.removeIf(a -> a.getKey().equals(attribute.getKey()));
+            attributes.add(attribute);
+        }
+        return attributes;
+    }
+}
@@ -3,6 +3,7 @@ package net.swofty.type.skyblockgeneric.auction;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import net.minestom.server.component.DataComponents;
 import net.swofty.commons.StringUtility;
+import net.swofty.commons.protocol.objects.auctions.AuctionFetchPageProtocolObject.AuctionSummary;
 import net.swofty.commons.skyblock.auctions.AuctionItem;
 import net.swofty.type.skyblockgeneric.data.monogdb.CoopDatabase;
 import net.swofty.type.skyblockgeneric.item.SkyBlockItem;
@@ -14,6 +15,7 @@ import java.beans.Transient;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
 
 public record AuctionItemLoreHandler(AuctionItem auctionItem) {
     @JsonIgnore
@@ -25,8 +27,26 @@ public record AuctionItemLoreHandler(AuctionItem auctionItem) {
     @JsonIgnore
     @Transient
     public List<String> getLore(SkyBlockPlayer player) {
+        AuctionItem.Bid topBid = auctionItem.getBids().stream().max(Comparator.comparing(AuctionItem.Bid::value)).orElse(null);
+        return getLore(new SkyBlockItem(auctionItem.getItem()), auctionItem.getOriginator(), auctionItem.isBin(),
+                auctionItem.getStartingPrice(), auctionItem.getBids().size(),
+                topBid == null ? 0 : topBid.value(), topBid == null ? null : topBid.uuid(),
+                auctionItem.getEndTime(), player);
+    }
+
+    /**
+     * Builds the lore of an auction listed in the browser from its page summary, without a player.
+     *
+     * @param skyBlockItem the summary's item, already deserialized by the caller
+     */
+    public static List<String> getLore(AuctionSummary summary, SkyBlockItem skyBlockItem) {
+        return getLore(skyBlockItem, summary.originator(), summary.bin(), summary.startingPrice(), summary.bidCount(),
+                summary.highestBid(), summary.topBidder(), summary.end(), null);
+    }
+
+    private static List<String> getLore(SkyBlockItem skyBlockItem, UUID originator, boolean bin, int startingPrice,
+                                        int bidCount, long topBid, UUID topBidder, long endTime, SkyBlockPlayer player) {
         List<String> toReturn = new ArrayList<>();
-        SkyBlockItem skyBlockItem = new SkyBlockItem(auctionItem.getItem());
 
         if (player == null) {
             new NonPlayerItemUpdater(skyBlockItem).getUpdatedItem().build().get(DataComponents.LORE).forEach(loreEntry -> {
@@ -39,31 +59,29 @@ public record AuctionItemLoreHandler(AuctionItem auctionItem) {
         }
 
         toReturn.add("§8§m----------------------");
-        toReturn.add("§7Seller: " + SkyBlockPlayer.getDisplayName(auctionItem.getOriginator()));
+        toReturn.add("§7Seller: " + SkyBlockPlayer.getDisplayName(originator));
 
-        if (auctionItem.isBin()) {
-            toReturn.add("§7Buy it now: §6" + auctionItem.getStartingPrice() + " coins");
+        if (bin) {
+            toReturn.add("§7Buy it now: §6" + startingPrice + " coins");
         } else {
-            if (auctionItem.getBids().isEmpty()) {
-                toReturn.add("§7Starting bid: §6" + auctionItem.getStartingPrice() + " coins");
+            if (bidCount == 0) {
+                toReturn.add("§7Starting bid: §6" + startingPrice + " coins");
             } else {
-                toReturn.add("§7Bids: §a" + auctionItem.getBids().size() + " bid" + (auctionItem.getBids().size() == 1 ? "" : "s"));
+                toReturn.add("§7Bids: §a" + bidCount + " bid" + (bidCount == 1 ? "" : "s"));
                 toReturn.add(" ");
 
-                AuctionItem.Bid topBid = auctionItem.getBids().stream().max(Comparator.comparing(AuctionItem.Bid::value)).orElse(null);
-
-                toReturn.add("§7Top bid: §6" + topBid.value() + " coins");
-                toReturn.add("§7Bidder: " + SkyBlockPlayer.getDisplayName(topBid.uuid()));
+                toReturn.add("§7Top bid: §6" + topBid + " coins");
+                toReturn.add("§7Bidder: " + SkyBlockPlayer.getDisplayName(topBidder));
             }
         }
 
         if (player != null) {
-            if (auctionItem.getOriginator().equals(player.getUuid())) {
+            if (originator.equals(player.getUuid())) {
                 toReturn.add(" ");
                 toReturn.add("§aThis is your own auction!");
             } else {
                 CoopDatabase.Coop viewerCoop = CoopDatabase.getFromMember(player.getUuid());
-                if (viewerCoop != null && viewerCoop.members().contains(auctionItem.getOriginator())) {
+                if (viewerCoop != null && viewerCoop.members().contains(originator)) {
                     toReturn.add(" ");
                     toReturn.add("§aThis is a coop member's auction!");
                 }
@@ -71,10 +89,10 @@ public record AuctionItemLoreHandler(AuctionItem auctionItem) {
         }
 
         toReturn.add(" ");
-        if (auctionItem.isBin() && !auctionItem.getBids().isEmpty()) {
+        if (bin && bidCount > 0) {
             toReturn.add("§7Status: §aPurchased");
-        } else if (auctionItem.getEndTime() > System.currentTimeMillis()) {
-            toReturn.add("§7Ends in: §e" + StringUtility.formatTimeLeft(auctionItem.getEndTime() - System.currentTimeMillis()));
+        } else if (endTime > System.currentTimeMillis()) {
+            toReturn.add("§7Ends in: §e" + StringUtility.formatTimeLeft(endTime - System.currentTimeMillis()));
         } else {
             toReturn.add("§7Status: §aEnded!");
         }
@@ -29,11 +29,11 @@ public class NBTCommand extends HypixelCommand {
             ItemStack item = ((SkyBlockPlayer) sender).getItemInMainHand();
             AtomicReference<String> values = new AtomicReference<>("");
 
-            for (ItemAttribute possibleAttribute : ItemAttribute.getPossibleAttributes()) {
-                String key = possibleAttribute.getKey();
+            // Reads the stack's tags directly, nothing is loaded into a SkyBlockItem
+            for (String key : ItemAttribute.getKeys()) {
                 String value = item.getTag(Tag.String(key));
                 if (value != null) {
-                    values.set(key + ": " + value + "\n");
+                    values.set(values.get() + key + ": " + value + "\n");
                     sender.sendMessage(key + ": " + value);
                 }
             }
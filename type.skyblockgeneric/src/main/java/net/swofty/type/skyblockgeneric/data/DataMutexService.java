@@ -73,6 +73,7 @@ public class DataMutexService {
 
             syncFuture.thenAccept(response -> {
                 if (!response.success()) { onFailure.run(); return; }
+                long fencingToken = response.fencingToken();
 
                 try {
                     @SuppressWarnings("unchecked")
@@ -90,7 +91,7 @@ public class DataMutexService {
 
                         UpdateSynchronizedDataProtocolObject.UpdateDataRequest updateRequest =
                                 new UpdateSynchronizedDataProtocolObject.UpdateDataRequest(
-                                        onlineServers, playerUUID, dataType.getKey(), serializedData);
+                                        onlineServers, playerUUID, dataType.getKey(), serializedData, fencingToken);
 
                         CompletableFuture<UpdateSynchronizedDataProtocolObject.UpdateDataResponse> updateFuture =
                                 service.handleRequest(updateRequest);
@@ -101,7 +102,7 @@ public class DataMutexService {
                             if (!updateResponse.success()) {
                                 // If update fails, unlock the data
                                 Logger.error("Failed to update data: " + updateResponse.message());
-                                unlockData(onlineServers, playerUUID, dataType.getKey());
+                                unlockData(onlineServers, playerUUID, dataType.getKey(), fencingToken);
                                 onFailure.run();
                             } else {
                                 Logger.info("Data successfully synchronized across all servers!");
@@ -109,18 +110,18 @@ public class DataMutexService {
                             // Success - data has been synchronized across all servers
                         }).exceptionally(updateThrowable -> {
                             Logger.error("Exception during update: " + updateThrowable.getMessage(), updateThrowable);
-                            unlockData(onlineServers, playerUUID, dataType.getKey());
+                            unlockData(onlineServers, playerUUID, dataType.getKey(), fencingToken);
                             onFailure.run();
                             return null;
                         });
                     } else {
                         Logger.info("No changes needed, unlocking data...");
                         // No changes needed, just unlock
-                        unlockData(onlineServers, playerUUID, dataType.getKey());
+                        unlockData(onlineServers, playerUUID, dataType.getKey(), fencingToken);
                     }
                 } catch (Exception e) {
                     Logger.error("Exception during data processing: " + e.getMessage(), e);
-                    unlockData(onlineServers, playerUUID, dataType.getKey());
+                    unlockData(onlineServers, playerUUID, dataType.getKey(), fencingToken);
                     onFailure.run();
                 }
             }).exceptionally(throwable -> {
@@ -172,12 +173,12 @@ public class DataMutexService {
                 });
     }
 
-    private void unlockData(List<UUID> serverUUIDs, UUID playerUUID, String dataKey) {
+    private void unlockData(List<UUID> serverUUIDs, UUID playerUUID, String dataKey, long fencingToken) {
         Logger.info("Unlocking data for player " + playerUUID + " on servers: " + serverUUIDs);
 
         // Send unlock request to the mutex service, which will then unlock on all servers
         service.handleRequest(new UnlockDataProtocolObject.UnlockDataRequest(
-                serverUUIDs, playerUUID, dataKey
+                serverUUIDs, playerUUID, dataKey, fencingToken
         )).thenAccept(response -> {
             UnlockDataProtocolObject.UnlockDataResponse responseObject = (UnlockDataProtocolObject.UnlockDataResponse) response;
             Logger.info("Unlock response: success=" + responseObject.success() + ", message=" + responseObject.message());
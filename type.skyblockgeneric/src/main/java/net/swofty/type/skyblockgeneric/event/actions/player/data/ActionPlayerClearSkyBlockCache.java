@@ -9,6 +9,7 @@ import net.swofty.type.generic.packet.packets.client.anticheat.PacketListenerAir
 import net.swofty.type.skyblockgeneric.event.actions.player.ActionPlayerStrayTooFar;
 import net.swofty.type.skyblockgeneric.event.actions.player.fall.ActionPlayerFall;
 import net.swofty.type.skyblockgeneric.item.updater.PlayerItemOrigin;
+import net.swofty.type.skyblockgeneric.item.updater.PlayerItemUpdater;
 import net.swofty.type.skyblockgeneric.server.eventcaller.CustomEventCaller;
 import net.swofty.type.skyblockgeneric.user.SkyBlockPlayer;
 import net.swofty.type.skyblockgeneric.user.SkyBlockScoreboard;
@@ -27,6 +28,7 @@ public class ActionPlayerClearSkyBlockCache implements HypixelEventClass {
         ActionPlayerFall.fallHeight.remove(player);
         player.getPetData().updatePetEntityImpl(null);
         PlayerItemOrigin.clearCache(player.getUuid());
+        PlayerItemUpdater.clearTracking(player.getUuid());
         PacketListenerAirJump.playerData.remove(player);
         ActionPlayerStrayTooFar.startedStray.remove(player.getUuid());
         CustomEventCaller.clearCache((SkyBlockPlayer) player);
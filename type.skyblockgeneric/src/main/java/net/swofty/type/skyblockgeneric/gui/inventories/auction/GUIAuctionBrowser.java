@@ -15,10 +15,11 @@ import net.minestom.server.item.Material;
 import net.swofty.commons.ServiceType;
 import net.swofty.commons.StringUtility;
 import net.swofty.commons.skyblock.auctions.AuctionCategories;
-import net.swofty.commons.skyblock.auctions.AuctionItem;
 import net.swofty.commons.skyblock.auctions.AuctionsFilter;
 import net.swofty.commons.skyblock.auctions.AuctionsSorting;
-import net.swofty.commons.protocol.objects.auctions.AuctionFetchItemsProtocolObject;
+import net.swofty.commons.protocol.objects.auctions.AuctionFetchPageProtocolObject;
+import net.swofty.commons.protocol.objects.auctions.AuctionFetchPageProtocolObject.AuctionSummary;
+import net.swofty.commons.protocol.serializers.UnderstandableSkyBlockItemSerializer;
 import net.swofty.proxyapi.ProxyService;
 import net.swofty.type.generic.gui.inventory.HypixelInventoryGUI;
 import net.swofty.type.generic.gui.inventory.ItemStackCreator;
@@ -26,7 +27,6 @@ import net.swofty.type.generic.gui.inventory.RefreshingGUI;
 import net.swofty.type.generic.gui.inventory.item.GUIClickableItem;
 import net.swofty.type.generic.gui.inventory.item.GUIItem;
 import net.swofty.type.generic.user.HypixelPlayer;
-import net.swofty.type.generic.utility.PaginationList;
 import net.swofty.type.skyblockgeneric.auction.AuctionItemLoreHandler;
 import net.swofty.type.skyblockgeneric.item.SkyBlockItem;
 import net.swofty.type.skyblockgeneric.item.updater.PlayerItemUpdater;
@@ -50,9 +50,8 @@ public class GUIAuctionBrowser extends HypixelInventoryGUI implements Refreshing
     @Getter
     private AuctionCategories category = AuctionCategories.WEAPONS;
 
-    private int page = 1;
     @Getter
-    private List<AuctionItem> itemCache = new ArrayList<>();
+    private List<AuctionSummary> itemCache = new ArrayList<>();
 
     public GUIAuctionBrowser() {
         super("Auction Browser", InventoryType.CHEST_6_ROW);
@@ -61,26 +60,19 @@ public class GUIAuctionBrowser extends HypixelInventoryGUI implements Refreshing
     }
 
     private void updateItemsCache() {
-        AuctionFetchItemsProtocolObject.AuctionFetchItemsMessage message =
-                new AuctionFetchItemsProtocolObject.AuctionFetchItemsMessage(
+        AuctionFetchPageProtocolObject.AuctionFetchPageMessage message =
+                new AuctionFetchPageProtocolObject.AuctionFetchPageMessage(
                         sorting,
                         filter,
-                        category
+                        category,
+                        null,
+                        PAGINATED_SLOTS.length
                 );
 
-        new ProxyService(ServiceType.AUCTION_HOUSE).handleRequest(message)
-                .thenAccept(responseRaw -> {
-                    AuctionFetchItemsProtocolObject.AuctionFetchItemsResponse response = (AuctionFetchItemsProtocolObject.AuctionFetchItemsResponse) responseRaw;
-                    List<AuctionItem> auctionItems = response.items();
-
-                    // Items are already sorted, so just paginate them
-                    PaginationList<AuctionItem> paginationList = new PaginationList<>(auctionItems, 24);
-                    paginationList.addAll(auctionItems);
-
-                    // Set the items in the GUI
-                    List<AuctionItem> paginatedItems = paginationList.getPage(page);
-                    setItemCache(paginatedItems);
-                });
+        // The summaries carry everything the grid shows, bids are fetched when an auction is opened
+        new ProxyService(ServiceType.AUCTION_HOUSE)
+                .<AuctionFetchPageProtocolObject.AuctionFetchPageMessage, AuctionFetchPageProtocolObject.AuctionFetchPageResponse>handleRequest(message)
+                .thenAccept(response -> setItemCache(response.auctions()));
     }
 
     @SneakyThrows
@@ -209,25 +201,25 @@ public class GUIAuctionBrowser extends HypixelInventoryGUI implements Refreshing
             return;
         }
 
-        for (AuctionItem auctionItem : getItemCache()) {
-            int slot = PAGINATED_SLOTS[getItemCache().indexOf(auctionItem)];
+        for (AuctionSummary auction : getItemCache()) {
+            int slot = PAGINATED_SLOTS[getItemCache().indexOf(auction)];
             highestCoveredSlot++;
 
             set(new GUIClickableItem(slot) {
                 @Override
                 public void run(InventoryPreClickEvent e, HypixelPlayer p) {
                     SkyBlockPlayer player = (SkyBlockPlayer) p;
-                    new GUIAuctionViewItem(auctionItem.getUuid(), GUIAuctionBrowser.this).open(player);
+                    new GUIAuctionViewItem(auction.uuid(), GUIAuctionBrowser.this).open(player);
                 }
 
                 @Override
                 public ItemStack.Builder getItem(HypixelPlayer p) {
                     SkyBlockPlayer player = (SkyBlockPlayer) p;
-                    SkyBlockItem skyBlockItem = new SkyBlockItem(auctionItem.getItem());
+                    SkyBlockItem skyBlockItem = new SkyBlockItem(new UnderstandableSkyBlockItemSerializer().deserialize(auction.item()));
                     ItemStack builtItem = PlayerItemUpdater.playerUpdate(player, skyBlockItem.getItemStack()).build();
 
                     return ItemStackCreator.getStack(StringUtility.getTextFromComponent(builtItem.get(DataComponents.CUSTOM_NAME)),
-                            skyBlockItem.getMaterial(), skyBlockItem.getAmount(), new AuctionItemLoreHandler(auctionItem).getLore());
+                            skyBlockItem.getMaterial(), skyBlockItem.getAmount(), AuctionItemLoreHandler.getLore(auction, skyBlockItem));
                 }
             });
         }
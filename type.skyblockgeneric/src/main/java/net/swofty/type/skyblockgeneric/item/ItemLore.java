@@ -47,9 +47,26 @@ public class ItemLore {
 		this.stack = stack;
 	}
 
-	@SneakyThrows
 	public void updateLore(@Nullable SkyBlockPlayer player) {
 		SkyBlockItem item = new SkyBlockItem(stack);
+		String key = ItemLoreCache.keyOf(stack, item, player);
+		if (key != null) {
+			ItemLoreCache.Rendered rendered = ItemLoreCache.get(key);
+			if (rendered != null) {
+				this.stack = rendered.applyTo(stack);
+				return;
+			}
+		}
+
+		render(item, player);
+		if (key != null) {
+			ItemLoreCache.put(key, new ItemLoreCache.Rendered(
+					List.copyOf(loreLines), stack.get(DataComponents.CUSTOM_NAME)));
+		}
+	}
+
+	@SneakyThrows
+	private void render(SkyBlockItem item, @Nullable SkyBlockPlayer player) {
 		@Nullable ItemType type = item.getAttributeHandler().getPotentialType();
 		ItemAttributeHandler handler = item.getAttributeHandler();
 
@@ -344,7 +361,7 @@ public class ItemLore {
 
 		// Handle full set abilities
 		if (ArmorSetRegistry.getArmorSet(handler.getPotentialType()) != null && ArmorSetRegistry.getArmorSet(handler.getPotentialType()).getClazz() != null) {
-			ArmorSet armorSet = ArmorSetRegistry.getArmorSet(handler.getPotentialType()).getClazz().getDeclaredConstructor().newInstance();
+			ArmorSet armorSet = ArmorSetRegistry.getArmorSet(handler.getPotentialType()).getInstance();
 
 			int wearingAmount = 0;
 			if (player != null && player.isWearingItem(item)) {
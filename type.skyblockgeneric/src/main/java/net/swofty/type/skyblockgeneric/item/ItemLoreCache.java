@@ -0,0 +1,112 @@
+package net.swofty.type.skyblockgeneric.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import net.kyori.adventure.text.Component;
+import net.minestom.server.component.DataComponents;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.tag.Tag;
+import net.swofty.commons.skyblock.item.attribute.ItemAttribute;
+import net.swofty.type.skyblockgeneric.item.components.AbilityComponent;
+import net.swofty.type.skyblockgeneric.item.components.EnchantableComponent;
+import net.swofty.type.skyblockgeneric.item.components.LoreUpdateComponent;
+import net.swofty.type.skyblockgeneric.item.set.ArmorSetRegistry;
+import net.swofty.type.skyblockgeneric.user.SkyBlockPlayer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the lore and display name {@link ItemLore} rendered for an item, so identical items
+ * across inventories are only rendered once.
+ * <p>
+ * Renders are keyed by the stack's material and attribute tags, which is everything an item is
+ * loaded from. Only renders that depend on nothing else are cached. Items with lore or ability
+ * generators run arbitrary code and are always rendered. Enchantment descriptions and full set
+ * bonuses read the viewing player, so items showing them are rendered every time a player is
+ * given, and cached when rendered without one.
+ */
+public final class ItemLoreCache {
+    private static final int MAXIMUM_SIZE = 8192;
+
+    private static final Cache<String, Rendered> cache = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .recordStats()
+            .build();
+    private static final LongAdder bypassed = new LongAdder();
+
+    private ItemLoreCache() {
+    }
+
+    /**
+     * @return the cache key of the render, or null if it cannot be cached
+     */
+    static @Nullable String keyOf(ItemStack stack, SkyBlockItem item, @Nullable SkyBlockPlayer player) {
+        if (readsMoreThanItem(item, player)) {
+            bypassed.increment();
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder(256).append(stack.material().key().asString());
+        for (String attribute : ItemAttribute.getKeys()) {
+            String value = stack.getTag(Tag.String(attribute));
+            // Separators cannot appear in attribute values, and absent tags differ from empty ones
+            key.append('\u0000');
+            if (value != null) key.append(value);
+            else key.append('\u0001');
+        }
+        return key.toString();
+    }
+
+    static @Nullable Rendered get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    static void put(String key, Rendered rendered) {
+        cache.put(key, rendered);
+    }
+
+    /**
+     * @return hit, miss and eviction counts of the cache since startup
+     */
+    public static CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return how many renders skipped the cache because they depend on more than the item
+     */
+    public static long getBypassed() {
+        return bypassed.sum();
+    }
+
+    public static long getSize() {
+        return cache.estimatedSize();
+    }
+
+    private static boolean readsMoreThanItem(SkyBlockItem item, @Nullable SkyBlockPlayer player) {
+        if (item.hasComponent(LoreUpdateComponent.class) || item.hasComponent(AbilityComponent.class)) return true;
+        if (player == null) return false;
+
+        ItemAttributeHandler handler = item.getAttributeHandler();
+        ArmorSetRegistry armorSet = ArmorSetRegistry.getArmorSet(handler.getPotentialType());
+        if (armorSet != null && armorSet.getClazz() != null) return true;
+
+        if (item.hasComponent(EnchantableComponent.class)
+                && item.getComponent(EnchantableComponent.class).showEnchantLores()) {
+            long enchantments = handler.getEnchantments().count();
+            // Descriptions are only listed when there are fewer than four enchantments
+            return enchantments > 0 && enchantments < 4;
+        }
+        return false;
+    }
+
+    record Rendered(List<Component> lore, Component displayName) {
+        ItemStack applyTo(ItemStack stack) {
+            return stack.with(DataComponents.LORE, lore)
+                    .with(DataComponents.CUSTOM_NAME, displayName);
+        }
+    }
+}
@@ -28,11 +28,31 @@ import org.jetbrains.annotations.Nullable;
 import org.tinylog.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SkyBlockItem {
-	public List<ItemAttribute> attributes = new ArrayList<>();
+	/*
+	 * Attributes are indexed by their ItemAttribute slot and only created once something reads or
+	 * writes them. Until then a slot is null and stands for the attribute's default, derived from
+	 * defaultsFrom, so items that leave most attributes at their defaults never build them. Reading
+	 * every attribute (stack tags, similarity, serialising) uses the built slots as they are and the
+	 * default of the others without building them.
+	 *
+	 * The array is sized on first use rather than at construction, so an item created before the
+	 * attributes were registered does not keep an array too small for them.
+	 */
+	private static final ItemAttribute[] NO_ATTRIBUTES = new ItemAttribute[0];
+	// Saved form of each slot's default, per defaultsFrom, see defaultOf
+	private static final Map<Object, DefaultAttribute[]> defaults = new ConcurrentHashMap<>();
+	private static final Object NO_DEFAULT_STATISTICS = new Object();
+
+	private ItemAttribute[] attributes = NO_ATTRIBUTES;
+	private @Nullable ItemStatistics defaultsFrom;
 	@Getter
 	@Setter
 	private int amount = 1;
@@ -94,16 +114,7 @@ public class SkyBlockItem {
 	private void loadAsItemType(ItemType type) {
         String id = type.name();
         config = ConfigurableSkyBlockItem.getFromID(id);
-		for (ItemAttribute attribute : ItemAttribute.getPossibleAttributes()) {
-            if (config != null) {
-                ItemStatistics statistics = config.getDefaultStatistics();
-                attribute.setValue(attribute.getDefaultValue(statistics));
-                attributes.add(attribute);
-                continue;
-            }
-			attribute.setValue(attribute.getDefaultValue(null));
-			attributes.add(attribute);
-		}
+		resetAttributes(config != null ? config.getDefaultStatistics() : null);
 
 		ItemAttributeType typeAttribute = (ItemAttributeType) getAttribute("item_type");
 		typeAttribute.setValue(type.name());
@@ -127,10 +138,7 @@ public class SkyBlockItem {
 	}
 
 	private void loadAsMaterial(Material material) {
-		for (ItemAttribute attribute : ItemAttribute.getPossibleAttributes()) {
-			attribute.setValue(attribute.getDefaultValue(null));
-			attributes.add(attribute);
-		}
+		resetAttributes(null);
 
 		ItemAttributeType typeAttribute = (ItemAttributeType) getAttribute("item_type");
 		typeAttribute.setValue(material.key().asString());
@@ -156,7 +164,6 @@ public class SkyBlockItem {
 			return;
 		}
 		String itemType = item.getTag(Tag.String("item_type"));
-		ItemStatistics statistics = ItemStatistics.empty();
 
 		ItemType type = ItemType.get(itemType);
 		if (type != null) {
@@ -168,16 +175,16 @@ public class SkyBlockItem {
 
 		ConfigurableSkyBlockItem config = ConfigurableSkyBlockItem.getFromID(itemType);
 
-		for (ItemAttribute attribute : ItemAttribute.getPossibleAttributes()) {
-			if (item.hasTag(Tag.String(attribute.getKey()))) {
-				attribute.setValue(attribute.loadFromString(item.getTag(Tag.String(attribute.getKey()))));
-				attributes.removeIf(a -> a.getKey().equals(attribute.getKey()));
-				attributes.add(attribute);
-			} else {
-				attribute.setValue(attribute.getDefaultValue(statistics));
-				attributes.removeIf(a -> a.getKey().equals(attribute.getKey()));
-				attributes.add(attribute);
-			}
+		// Whatever the stack does not carry falls back to its default, even if loading the type set it
+		resetAttributes(ItemStatistics.empty());
+		List<String> keys = ItemAttribute.getKeys();
+		for (int slot = 0; slot < keys.size(); slot++) {
+			String value = item.getTag(Tag.String(keys.get(slot)));
+			if (value == null) continue;
+
+			ItemAttribute attribute = ItemAttribute.newInstance(slot);
+			attribute.setValue(attribute.loadFromString(value));
+			slots()[slot] = attribute;
 		}
 
 		if (config != null) {
@@ -200,7 +207,110 @@ public class SkyBlockItem {
 	}
 
 	public ItemAttribute getAttribute(String key) {
-		return attributes.stream().filter(attribute -> attribute.getKey().equals(key)).findFirst().orElse(null);
+		int slot = ItemAttribute.getSlot(key);
+		if (slot < 0) return null;
+		return getAttribute(slot);
+	}
+
+	private ItemAttribute getAttribute(int slot) {
+		ItemAttribute[] slots = slots();
+		ItemAttribute attribute = slots[slot];
+		if (attribute == null) {
+			attribute = detachedDefault(slot);
+			slots[slot] = attribute;
+		}
+		return attribute;
+	}
+
+	/**
+	 * @return the slot array, grown to fit every registered attribute
+	 */
+	private ItemAttribute[] slots() {
+		int count = ItemAttribute.getSlotCount();
+		if (attributes.length < count) attributes = Arrays.copyOf(attributes, count);
+		return attributes;
+	}
+
+	private @Nullable ItemAttribute builtAttribute(int slot) {
+		return slot < attributes.length ? attributes[slot] : null;
+	}
+
+	// A new instance holding the slot's default, not stored on this item
+	private ItemAttribute detachedDefault(int slot) {
+		ItemAttribute attribute = ItemAttribute.newInstance(slot);
+		attribute.setValue(attribute.getDefaultValue(defaultsFrom));
+		return attribute;
+	}
+
+	/**
+	 * @return every attribute, with detached defaults for the slots that were never built
+	 */
+	private List<ItemAttribute> getAllAttributes() {
+		int count = ItemAttribute.getSlotCount();
+		List<ItemAttribute> all = new ArrayList<>(count);
+		for (int slot = 0; slot < count; slot++) {
+			ItemAttribute attribute = builtAttribute(slot);
+			all.add(attribute != null ? attribute : detachedDefault(slot));
+		}
+		return all;
+	}
+
+	private DefaultAttribute defaultOf(int slot) {
+		Object key = defaultsFrom == null ? NO_DEFAULT_STATISTICS : defaultsFrom;
+		DefaultAttribute[] forDefaults = defaults.computeIfAbsent(key,
+				ignored -> new DefaultAttribute[ItemAttribute.getSlotCount()]);
+		if (slot >= forDefaults.length) return DefaultAttribute.of(detachedDefault(slot));
+
+		// Racing threads compute the same value, so a lost write only costs a recompute
+		DefaultAttribute saved = forDefaults[slot];
+		if (saved == null) {
+			saved = DefaultAttribute.of(detachedDefault(slot));
+			forDefaults[slot] = saved;
+		}
+		return saved;
+	}
+
+	/**
+	 * @return what the attribute in the slot saves into, without building it if it was never built
+	 */
+	private String savedAttribute(int slot) {
+		ItemAttribute attribute = builtAttribute(slot);
+		return attribute != null ? attribute.saveIntoString() : defaultOf(slot).saved();
+	}
+
+	/**
+	 * @return the saved form of the slot's value, or null if the value is null
+	 */
+	private @Nullable String comparableAttribute(int slot) {
+		ItemAttribute attribute = builtAttribute(slot);
+		if (attribute == null) {
+			DefaultAttribute saved = defaultOf(slot);
+			return saved.isNull() ? null : saved.saved();
+		}
+		return attribute.getValue() == null ? null : attribute.saveIntoString();
+	}
+
+	/**
+	 * Writes every attribute into the stack's tags. Slots that were never built are written as
+	 * their default without being built.
+	 */
+	public ItemStack.Builder writeAttributeTags(ItemStack.Builder builder) {
+		List<String> keys = ItemAttribute.getKeys();
+		for (int slot = 0; slot < keys.size(); slot++) {
+			builder.setTag(Tag.String(keys.get(slot)), savedAttribute(slot));
+		}
+		return builder;
+	}
+
+	private void resetAttributes(@Nullable ItemStatistics defaultsFrom) {
+		Arrays.fill(slots(), null);
+		this.defaultsFrom = defaultsFrom;
+	}
+
+	private record DefaultAttribute(boolean isNull, String saved) {
+		static DefaultAttribute of(ItemAttribute attribute) {
+			return new DefaultAttribute(attribute.getValue() == null, attribute.saveIntoString());
+		}
 	}
 
 	public @Nullable ConfigurableSkyBlockItem toConfigurableItem() {
@@ -216,14 +326,16 @@ public class SkyBlockItem {
 	@Override
 	public SkyBlockItem clone() {
 		SkyBlockItem item = new SkyBlockItem(getMaterial());
-		List<ItemAttribute> attributesForClone = new ArrayList<>();
 		item.config = config;  // Add debug here
 		item.amount = amount;
-		ItemAttribute.getPossibleAttributes().forEach(attribute -> {
-			attribute.setValue(getAttribute(attribute.getKey()).getValue());
-			attributesForClone.add(attribute);
-		});
-		item.attributes = attributesForClone;
+		// Slots still at their default stay unbuilt in the clone too
+		item.resetAttributes(defaultsFrom);
+		for (int slot = 0; slot < attributes.length; slot++) {
+			if (attributes[slot] == null) continue;
+			ItemAttribute attribute = ItemAttribute.newInstance(slot);
+			attribute.setValue(attributes[slot].getValue());
+			item.slots()[slot] = attribute;
+		}
 		return item;
 	}
 
@@ -255,11 +367,7 @@ public class SkyBlockItem {
 
 	public ItemStack.Builder getItemStackBuilder() {
 		ItemStack.Builder itemStackBuilder = ItemStack.builder(getMaterial()).amount(amount);
-
-		for (ItemAttribute attribute : attributes) {
-			itemStackBuilder.setTag(Tag.String(attribute.getKey()), attribute.saveIntoString());
-		}
-
+		writeAttributeTags(itemStackBuilder);
 		return ItemStackCreator.clearAttributes(itemStackBuilder);
 	}
 
@@ -278,17 +386,10 @@ public class SkyBlockItem {
 	public boolean isSimilar(SkyBlockItem item) {
 		boolean allAttributesMatch = true;
 
-		for (ItemAttribute attribute : attributes) {
-			// If both are null, skip
-			if (attribute.getValue() == null && item.getAttribute(attribute.getKey()).getValue() == null)
-				continue;
-
-			if (attribute.getValue() != null && item.getAttribute(attribute.getKey()).getValue() != null) {
-				if (!attribute.saveIntoString().equals(item.getAttribute(attribute.getKey()).saveIntoString())) {
-					allAttributesMatch = false;
-					break;
-				}
-			} else {
+		int count = ItemAttribute.getSlotCount();
+		for (int slot = 0; slot < count; slot++) {
+			// Null values only match null values, the others match by what they save into
+			if (!Objects.equals(comparableAttribute(slot), item.comparableAttribute(slot))) {
 				allAttributesMatch = false;
 				break;
 			}
@@ -315,7 +416,7 @@ public class SkyBlockItem {
 	public UnderstandableSkyBlockItem toUnderstandable() {
 		return new UnderstandableSkyBlockItem(
 				getAttributeHandler().getPotentialType(),
-				attributes, amount, getMaterial()
+				getAllAttributes(), amount, getMaterial()
 		);
 	}
 
@@ -336,7 +437,7 @@ public class SkyBlockItem {
 				", itemType=" + getAttributeHandler().getTypeAsString() +
 				", config=" + config +
 				", amount=" + amount +
-				", attributes=" + attributes.stream().map(attribute -> attribute.getKey() + "=" + attribute.getValue()).reduce((s, s2) -> s + ", " + s2).orElse("null") +
+				", attributes=" + getAllAttributes().stream().map(attribute -> attribute.getKey() + "=" + attribute.getValue()).reduce((s, s2) -> s + ", " + s2).orElse("null") +
 				'}';
 	}
 
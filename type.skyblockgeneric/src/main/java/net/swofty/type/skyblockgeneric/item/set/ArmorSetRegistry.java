@@ -1,5 +1,6 @@
 package net.swofty.type.skyblockgeneric.item.set;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.swofty.commons.StringUtility;
 import net.swofty.commons.skyblock.item.ItemType;
@@ -26,6 +27,8 @@ public enum ArmorSetRegistry {
 	private final ItemType leggings;
 	private final ItemType chestplate;
 	private final ItemType helmet;
+	@Getter(AccessLevel.NONE)
+	private volatile ArmorSet instance;
 
 	ArmorSetRegistry(Class<? extends ArmorSet> clazz, ItemType boots, ItemType legging,
 					 ItemType chestplate, ItemType helmet) {
@@ -36,6 +39,24 @@ public enum ArmorSetRegistry {
 		this.helmet = helmet;
 	}
 
+	/**
+	 * @return the shared instance of this set's class, or null if it has none. Sets hold no state,
+	 * so one instance serves every player.
+	 */
+	public @Nullable ArmorSet getInstance() {
+		if (clazz == null) return null;
+		ArmorSet set = instance;
+		if (set == null) {
+			try {
+				set = clazz.getDeclaredConstructor().newInstance();
+			} catch (ReflectiveOperationException e) {
+				throw new RuntimeException(e);
+			}
+			instance = set;
+		}
+		return set;
+	}
+
 	public static @Nullable ArmorSetRegistry getArmorSet(Class<? extends ArmorSet> clazz) {
 		for (ArmorSetRegistry armorSetRegistry : values()) {
 			if (armorSetRegistry.getClazz() == clazz) {
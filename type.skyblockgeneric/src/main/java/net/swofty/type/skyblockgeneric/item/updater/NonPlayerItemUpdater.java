@@ -11,7 +11,6 @@ import net.minestom.server.network.player.ResolvableProfile;
 import net.minestom.server.potion.PotionType;
 import net.minestom.server.tag.Tag;
 import net.swofty.commons.skyblock.item.UnderstandableSkyBlockItem;
-import net.swofty.commons.skyblock.item.attribute.ItemAttribute;
 import net.swofty.commons.skyblock.item.attribute.attributes.ItemAttributeGemData;
 import net.swofty.commons.skyblock.item.attribute.attributes.ItemAttributePotionData;
 import net.swofty.type.generic.gui.inventory.ItemStackCreator;
@@ -66,10 +65,7 @@ public class NonPlayerItemUpdater {
 
         ItemStack.Builder builder = ItemStack.builder(baseMaterial).amount(item.getAmount());
         // Copy tags from original builder
-        for (ItemAttribute attribute : ItemAttribute.getPossibleAttributes()) {
-            builder = builder.set(Tag.String(attribute.getKey()),
-                    item.getAttribute(attribute.getKey()).saveIntoString());
-        }
+        item.writeAttributeTags(builder);
         builder = ItemStackCreator.clearAttributes(builder);
 
         ItemStack.Builder stack = updateItemLore(builder);
@@ -136,10 +132,7 @@ public class NonPlayerItemUpdater {
             stack.set(DataComponents.POTION_CONTENTS, createPotionContents(potionData));
         }
 
-        for (ItemAttribute attribute : ItemAttribute.getPossibleAttributes()) {
-            stack = stack.set(Tag.String(attribute.getKey()),
-                    item.getAttribute(attribute.getKey()).saveIntoString());
-        }
+        item.writeAttributeTags(stack);
 
         ItemStackCreator.clearAttributes(stack);
         return stack;
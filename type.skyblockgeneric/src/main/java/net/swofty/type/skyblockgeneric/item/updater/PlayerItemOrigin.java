@@ -6,9 +6,9 @@ import net.minestom.server.item.ItemStack;
 import net.swofty.type.skyblockgeneric.item.SkyBlockItem;
 import net.swofty.type.skyblockgeneric.user.SkyBlockPlayer;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -29,7 +29,7 @@ public enum PlayerItemOrigin {
         player.getInventory().setItemStack((Integer) entry.getValue(), entry.getKey());
     }, false);
 
-    private final static Map<UUID, OriginCache> cache = new HashMap<>();
+    private final static Map<UUID, OriginCache> cache = new ConcurrentHashMap<>();
 
     private final Function<Map.Entry<SkyBlockPlayer, Object>, ItemStack> retriever;
     private final BiConsumer<SkyBlockPlayer, Map.Entry<ItemStack, Object>> setter;
@@ -58,9 +58,7 @@ public enum PlayerItemOrigin {
     }
 
     public static OriginCache getFromCache(UUID uuid) {
-        if (!cache.containsKey(uuid))
-            cache.put(uuid, new OriginCache(new HashMap<>()));
-        return cache.get(uuid);
+        return cache.computeIfAbsent(uuid, ignored -> new OriginCache(new ConcurrentHashMap<>()));
     }
 
     public static void setCache(UUID uuid, OriginCache cache) {
@@ -71,11 +69,12 @@ public enum PlayerItemOrigin {
         cache.remove(uuid);
     }
 
-    public record OriginCache(HashMap<PlayerItemOrigin, SkyBlockItem> cache) {
+    public record OriginCache(Map<PlayerItemOrigin, SkyBlockItem> cache) {
         public @NonNull SkyBlockItem get(PlayerItemOrigin origin) {
-            if (!cache.containsKey(origin))
+            SkyBlockItem item = cache.get(origin);
+            if (item == null)
                 return new SkyBlockItem(ItemStack.AIR);
-            return cache.get(origin);
+            return item;
         }
 
         public void put(PlayerItemOrigin origin, SkyBlockItem item) {
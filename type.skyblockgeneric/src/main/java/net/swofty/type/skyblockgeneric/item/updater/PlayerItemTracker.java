@@ -0,0 +1,104 @@
+package net.swofty.type.skyblockgeneric.item.updater;
+
+import net.minestom.server.item.ItemStack;
+import net.swofty.commons.skyblock.statistics.ItemStatistics;
+import net.swofty.type.skyblockgeneric.data.datapoints.DatapointSkills;
+import net.swofty.type.skyblockgeneric.item.SkyBlockItem;
+import net.swofty.type.skyblockgeneric.skill.SkillCategories;
+import net.swofty.type.skyblockgeneric.user.SkyBlockPlayer;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Remembers what the item update loop last wrote into each of a player's looped slots and
+ * which player inputs it was rendered against, so a pass only re-renders the slots that
+ * changed since.
+ * <p>
+ * A slot is dirty when its stack is no longer the one we wrote, for instance after the
+ * player switched hotbar slot or swapped armour. Every looped slot is dirty when the
+ * player's skill levels, armour set, active pet or statistic totals changed, as lore
+ * depends on them.
+ */
+final class PlayerItemTracker {
+    static final PlayerItemOrigin[] LOOPED = Arrays.stream(PlayerItemOrigin.values())
+            .filter(PlayerItemOrigin::shouldBeLooped)
+            .toArray(PlayerItemOrigin[]::new);
+    private static final SkillCategories[] SKILLS = SkillCategories.values();
+
+    private static final Map<UUID, PlayerItemTracker> trackers = new ConcurrentHashMap<>();
+
+    // Held while a pass for this player is being checked or rendered
+    private final AtomicBoolean busy = new AtomicBoolean();
+    // The stack last seen in or written to each looped slot, indexed like LOOPED
+    private final ItemStack[] lastOutput = new ItemStack[LOOPED.length];
+    private boolean rendered;
+    private int lastInputs;
+    private ItemStatistics lastTotals;
+
+    static PlayerItemTracker of(SkyBlockPlayer player) {
+        return trackers.computeIfAbsent(player.getUuid(), ignored -> new PlayerItemTracker());
+    }
+
+    static void forget(UUID uuid) {
+        trackers.remove(uuid);
+    }
+
+    boolean tryAcquire() {
+        return busy.compareAndSet(false, true);
+    }
+
+    void release() {
+        busy.set(false);
+    }
+
+    /**
+     * Works out which looped slots need to be re-rendered. Must be called while acquired.
+     *
+     * @return the dirty slots indexed like {@link #LOOPED}, or null if nothing is dirty
+     */
+    boolean[] dirtySlots(SkyBlockPlayer player, ItemStack[] current) {
+        int inputs = inputsOf(player);
+        ItemStatistics totals = player.getStatistics().getCachedTotals();
+        boolean all = !rendered || inputs != lastInputs || !totals.equals(lastTotals);
+        if (all) {
+            rendered = true;
+            lastInputs = inputs;
+            lastTotals = totals;
+        }
+
+        boolean[] dirty = null;
+        for (int i = 0; i < LOOPED.length; i++) {
+            ItemStack stack = current[i];
+            if (!all && (stack == lastOutput[i] || (stack != null && stack.equals(lastOutput[i])))) continue;
+            if (dirty == null) dirty = new boolean[LOOPED.length];
+            dirty[i] = true;
+        }
+        return dirty;
+    }
+
+    /**
+     * Records what ended up in a slot after it was rendered, or the stack that was left
+     * as it was because it rendered to the same thing.
+     */
+    void written(int index, ItemStack stack) {
+        lastOutput[index] = stack;
+    }
+
+    private static int inputsOf(SkyBlockPlayer player) {
+        int hash = Objects.hashCode(player.getArmorSet());
+
+        DatapointSkills.PlayerSkills skills = player.getSkills();
+        for (SkillCategories skill : SKILLS) {
+            hash = 31 * hash + skills.getCurrentLevel(skill);
+        }
+
+        SkyBlockItem pet = player.getPetData().getEnabledPet();
+        hash = 31 * hash + (pet == null ? 0 : Objects.hashCode(pet.getAttributeHandler().getPotentialType()));
+        return hash;
+    }
+}
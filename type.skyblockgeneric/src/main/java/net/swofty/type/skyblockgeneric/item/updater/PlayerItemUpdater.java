@@ -13,7 +13,6 @@ import net.minestom.server.timer.Scheduler;
 import net.minestom.server.timer.TaskSchedule;
 import net.swofty.commons.skyblock.item.ItemType;
 import net.swofty.commons.skyblock.item.Rarity;
-import net.swofty.commons.skyblock.item.attribute.ItemAttribute;
 import net.swofty.commons.skyblock.item.attribute.attributes.ItemAttributeGemData;
 import net.swofty.commons.skyblock.item.attribute.attributes.ItemAttributePotionData;
 import net.swofty.type.skyblockgeneric.SkyBlockGenericLoader;
@@ -29,7 +28,6 @@ import net.swofty.type.skyblockgeneric.user.SkyBlockPlayer;
 import org.json.JSONObject;
 
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 
 public class PlayerItemUpdater {
     public static ItemStack.Builder playerUpdate(SkyBlockPlayer player, ItemStack stack) {
@@ -162,10 +160,7 @@ public class PlayerItemUpdater {
             item.getAttributeHandler().setGemData(gemData);
         }
 
-        for (ItemAttribute attribute : ItemAttribute.getPossibleAttributes()) {
-            toReturn.set(Tag.String(attribute.getKey()),
-                    item.getAttribute(attribute.getKey()).saveIntoString());
-        }
+        item.writeAttributeTags(toReturn);
 
         // Apply potion contents for proper color display
         if (potionData != null && isPotionMaterial(baseMaterial)) {
@@ -179,39 +174,80 @@ public class PlayerItemUpdater {
                         .set(DataComponents.LORE, stack.get(DataComponents.LORE)));
     }
 
+    /**
+     * Keeps the looped slots of every loaded player rendered. Checking a player is cheap and
+     * happens on the scheduler; only players with dirty slots (see {@link PlayerItemTracker})
+     * get a virtual thread to re-render them, and a player whose previous render is still
+     * running is skipped until the next pass.
+     */
     public static void updateLoop(Scheduler scheduler) {
         scheduler.submitTask(() -> {
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-
             SkyBlockGenericLoader.getLoadedPlayers().forEach(player -> {
-                futures.add(CompletableFuture.runAsync(() -> {
-                    PlayerItemOrigin.OriginCache cache = PlayerItemOrigin.getFromCache(player.getUuid());
-
-                    Arrays.stream(PlayerItemOrigin.values()).forEach(origin -> {
-                        if (!origin.shouldBeLooped()) return;
+                PlayerItemTracker tracker = PlayerItemTracker.of(player);
+                if (!tracker.tryAcquire()) return;
 
-                        ItemStack item = origin.getStack(player);
-                        if (item == null || item.isAir()) {
-                            cache.put(origin, new SkyBlockItem(Material.AIR));
-                            return;
-                        }
+                ItemStack[] current = new ItemStack[PlayerItemTracker.LOOPED.length];
+                for (int i = 0; i < current.length; i++) {
+                    current[i] = PlayerItemTracker.LOOPED[i].getStack(player);
+                }
 
-                        Map.Entry<SkyBlockItem, ItemStack.Builder> builder = playerUpdateFull(player, item, true);
-                        cache.put(origin, builder.getKey());
-                        origin.setStack(player, builder.getValue().build());
-                    });
+                boolean[] dirty = tracker.dirtySlots(player, current);
+                if (dirty == null) {
+                    tracker.release();
+                    return;
+                }
 
-                    PlayerItemOrigin.setCache(player.getUuid(), cache);
-                }));
+                Thread.startVirtualThread(() -> {
+                    try {
+                        renderSlots(player, tracker, current, dirty);
+                    } finally {
+                        tracker.release();
+                    }
+                });
             });
 
-            // Wait for all futures to complete, do it async so they're at the same time
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-
             return TaskSchedule.tick(10);
         });
     }
 
+    /**
+     * Forgets what was rendered for a player, call once they have left.
+     */
+    public static void clearTracking(UUID uuid) {
+        PlayerItemTracker.forget(uuid);
+    }
+
+    private static void renderSlots(SkyBlockPlayer player, PlayerItemTracker tracker,
+                                    ItemStack[] current, boolean[] dirty) {
+        PlayerItemOrigin.OriginCache cache = PlayerItemOrigin.getFromCache(player.getUuid());
+
+        for (int i = 0; i < dirty.length; i++) {
+            if (!dirty[i]) continue;
+            PlayerItemOrigin origin = PlayerItemTracker.LOOPED[i];
+
+            ItemStack item = current[i];
+            if (item == null || item.isAir()) {
+                cache.put(origin, new SkyBlockItem(Material.AIR));
+                tracker.written(i, item);
+                continue;
+            }
+
+            Map.Entry<SkyBlockItem, ItemStack.Builder> builder = playerUpdateFull(player, item, true);
+            ItemStack updated = builder.getValue().build();
+
+            // The player may have moved the item while it was rendering, leave the slot for the next pass
+            if (!item.equals(origin.getStack(player))) continue;
+            cache.put(origin, builder.getKey());
+
+            if (updated.equals(item)) {
+                tracker.written(i, item);
+                continue;
+            }
+            origin.setStack(player, updated);
+            tracker.written(i, updated);
+        }
+    }
+
     /**
      * Check if a material is a potion type
      */
@@ -8,6 +8,7 @@ import net.swofty.proxyapi.redis.ServiceToClient;
 import net.swofty.type.skyblockgeneric.SkyBlockGenericLoader;
 import net.swofty.type.skyblockgeneric.bazaar.BazaarAwarder;
 import net.swofty.type.skyblockgeneric.user.SkyBlockPlayer;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.tinylog.Logger;
 
@@ -22,6 +23,24 @@ public class RedisPropogateBazaarTransaction implements ServiceToClient {
 
     @Override
     public JSONObject onMessage(JSONObject message) {
+        // The bazaar batches every transaction from one window into a single broadcast
+        JSONArray transactions = message.optJSONArray("transactions");
+        if (transactions == null) {
+            return handleTransaction(message);
+        }
+
+        JSONArray results = new JSONArray();
+        for (int i = 0; i < transactions.length(); i++) {
+            results.put(handleTransaction(transactions.getJSONObject(i)));
+        }
+
+        JSONObject response = new JSONObject();
+        response.put("success", true);
+        response.put("results", results);
+        return response;
+    }
+
+    private JSONObject handleTransaction(JSONObject message) {
         try {
             String transactionType = message.getString("type");
             JSONObject data = message.getJSONObject("data");
@@ -40,7 +40,6 @@ import net.swofty.type.skyblockgeneric.item.components.ConstantStatisticsCompone
 import net.swofty.type.skyblockgeneric.item.components.PetComponent;
 import net.swofty.type.skyblockgeneric.item.components.StandardItemComponent;
 import net.swofty.type.skyblockgeneric.item.set.ArmorSetRegistry;
-import net.swofty.type.skyblockgeneric.item.set.impl.ArmorSet;
 import net.swofty.type.skyblockgeneric.item.updater.PlayerItemOrigin;
 import net.swofty.type.skyblockgeneric.levels.unlocks.SkyBlockLevelStatisticUnlock;
 import net.swofty.type.skyblockgeneric.mission.MissionData;
@@ -52,7 +51,6 @@ import net.swofty.type.skyblockgeneric.user.SkyBlockPlayer;
 import net.swofty.type.skyblockgeneric.utility.SoundSequences;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Constructor;
 import java.util.*;
 
 public class PlayerStatistics {
@@ -65,7 +63,9 @@ public class PlayerStatistics {
     @Setter
     @Getter
     private double manaRegenerationPercentBonus;
-    private ItemStatistics accessoryStatistics = ItemStatistics.builder().build();
+    private volatile ItemStatistics accessoryStatistics = ItemStatistics.builder().build();
+    private ItemStatistics cachedTotals;
+    private Object[] cachedTotalsInputs;
     private final List<TemporaryStatistic> temporaryStatistics = Collections.synchronizedList(new ArrayList<>());
     private final List<TemporaryConditionalStatistic> temporaryConditionalStatistics = Collections.synchronizedList(new ArrayList<>());
     BestiaryData bestiaryData = new BestiaryData();
@@ -104,34 +104,30 @@ public class PlayerStatistics {
 
     public ItemStatistics allArmorStatistics(SkyBlockPlayer causer, LivingEntity enemy) {
         PlayerItemOrigin.OriginCache cache = PlayerItemOrigin.getFromCache(player.getUuid());
-        ArrayList<SkyBlockItem> armorPieces = new ArrayList<>();
+        SkyBlockItem helmet = cache.get(PlayerItemOrigin.HELMET);
+        SkyBlockItem chestplate = cache.get(PlayerItemOrigin.CHESTPLATE);
+        SkyBlockItem leggings = cache.get(PlayerItemOrigin.LEGGINGS);
+        SkyBlockItem boots = cache.get(PlayerItemOrigin.BOOTS);
 
-        armorPieces.add(cache.get(PlayerItemOrigin.HELMET));
-        armorPieces.add(cache.get(PlayerItemOrigin.CHESTPLATE));
-        armorPieces.add(cache.get(PlayerItemOrigin.LEGGINGS));
-        armorPieces.add(cache.get(PlayerItemOrigin.BOOTS));
-
-        ItemStatistics total = ItemStatistics.builder().build();
-        for (SkyBlockItem item : armorPieces) {
+        ItemStatistics.Accumulator total = new ItemStatistics.Accumulator();
+        for (SkyBlockItem item : List.of(helmet, chestplate, leggings, boots)) {
             if (item.hasComponent(ConstantStatisticsComponent.class))
                 continue;
 
-            total = ItemStatistics.add(total, ItemStatistics.add(item.getAttributeHandler().getStatistics(), calculateExtraItemStatisticsToAdd(
-                    item,
-                    causer,
-                    enemy
-            )));
+            total.add(item.getAttributeHandler().getStatistics());
+            addExtraItemStatistics(item, causer, enemy, total);
         }
-        if (player.getArmorSet() != null) {
-            ArmorSetRegistry armorSetRegistry = player.getArmorSet();
-            try {
-                Constructor<? extends ArmorSet> constructor = armorSetRegistry.getClazz().getConstructor();
-                ArmorSet armorSet = constructor.newInstance();
-                total = ItemStatistics.add(total, armorSet.getStatistics());
-            } catch (Exception _) {
-            }
+
+        // Worked out from the same cached pieces as their statistics
+        ArmorSetRegistry armorSetRegistry = ArmorSetRegistry.getArmorSet(
+                boots.getAttributeHandler().getPotentialType(),
+                leggings.getAttributeHandler().getPotentialType(),
+                chestplate.getAttributeHandler().getPotentialType(),
+                helmet.getAttributeHandler().getPotentialType());
+        if (armorSetRegistry != null && armorSetRegistry.getInstance() != null) {
+            total.add(armorSetRegistry.getInstance().getStatistics());
         }
-        return total;
+        return total.build();
     }
 
     // Returns a map of Level : Amount of that level
@@ -168,21 +164,23 @@ public class PlayerStatistics {
 
     public ItemStatistics mainHandStatistics(SkyBlockPlayer causer, LivingEntity enemy) {
         SkyBlockItem item = PlayerItemOrigin.getFromCache(player.getUuid()).get(PlayerItemOrigin.MAIN_HAND);
+        if (!countsAsMainHand(item))
+            return ItemStatistics.empty();
+
+        ItemStatistics.Accumulator total = new ItemStatistics.Accumulator()
+                .add(item.getAttributeHandler().getStatistics());
+        addExtraItemStatistics(item, causer, enemy, total);
+        return total.build();
+    }
 
+    private boolean countsAsMainHand(SkyBlockItem item) {
         if (item.hasComponent(ConstantStatisticsComponent.class))
-            return ItemStatistics.empty();
+            return false;
         if (item.hasComponent(StandardItemComponent.class)) {
             StandardItemComponent standardItem = item.getComponent(StandardItemComponent.class);
-            if (standardItem.getType().isArmor())
-                return ItemStatistics.empty();
+            return !standardItem.getType().isArmor();
         }
-
-        return ItemStatistics.add(item.getAttributeHandler().getStatistics(),
-                calculateExtraItemStatisticsToAdd(
-                        item,
-                        causer,
-                        enemy
-                ));
+        return true;
     }
 
     public ItemStatistics petStatistics() {
@@ -197,23 +195,23 @@ public class PlayerStatistics {
     }
 
     public ItemStatistics spareStatistics() {
-        ItemStatistics spare = ItemStatistics.builder().build();
+        ItemStatistics.Accumulator spare = new ItemStatistics.Accumulator();
 
         int fairySouls = player.getFairySouls().getExchangedFairySouls().size();
-        spare = ItemStatistics.add(spare, ItemStatistics.builder().withBase(ItemStatistic.HEALTH, (double) (fairySouls * 2)).build());
+        spare.add(ItemStatistics.builder().withBase(ItemStatistic.HEALTH, (double) (fairySouls * 2)).build());
 
         DatapointSkills.PlayerSkills skills = player.getSkills();
-        spare = ItemStatistics.add(spare, skills.getSkillStatistics());
+        spare.add(skills.getSkillStatistics());
 
         DatapointSkyBlockExperience.PlayerSkyBlockExperience experience = player.getSkyBlockExperience();
         for (int i = 0; i < experience.getLevel().asInt(); i++) {
             List<SkyBlockLevelStatisticUnlock> unlocks = experience.getLevel().getStatisticUnlocks();
             for (SkyBlockLevelStatisticUnlock unlock : unlocks) {
-                spare = ItemStatistics.add(spare, unlock.getStatistics());
+                spare.add(unlock.getStatistics());
             }
         }
 
-        return spare;
+        return spare.build();
     }
 
     public long getInvulnerabilityTime() {
@@ -226,23 +224,79 @@ public class PlayerStatistics {
         return allStatistics(null, null);
     }
 
+    /**
+     * Every statistic of the player. Temporary statistics and, when hitting an enemy, statistics
+     * that depend on it are added on top of {@link #getCachedTotals()}, so outside combat this is
+     * usually the cached totals themselves.
+     */
     public ItemStatistics allStatistics(SkyBlockPlayer causer, LivingEntity enemy) {
-        ItemStatistics total = ItemStatistics.builder().build();
-        if (enemy instanceof BestiaryMob bestiaryMob) total = ItemStatistics.add(total, getBestiaryStatistics(causer, bestiaryMob));
-        total = ItemStatistics.add(total, allArmorStatistics(causer, enemy));
-        total = ItemStatistics.add(total, mainHandStatistics(causer, enemy));
-        total = ItemStatistics.add(total, spareStatistics());
-        total = ItemStatistics.add(total, getTemporaryStatistics());
-        total = ItemStatistics.add(total, petStatistics());
-        total = ItemStatistics.add(total, accessoryStatistics);
-        total = ItemStatistics.add(total, ItemStatistic.getOfAllBaseValues());
+        ItemStatistics totals = getCachedTotals();
+        ItemStatistics temporary = getTemporaryStatistics();
+        boolean hasBestiary = enemy instanceof BestiaryMob;
+        boolean inCombat = causer != null && enemy != null;
+        if (temporary == null && !hasBestiary && !inCombat) return totals;
+
+        ItemStatistics.Accumulator total = new ItemStatistics.Accumulator().add(totals);
+        if (temporary != null) total.add(temporary);
+        if (hasBestiary) total.add(getBestiaryStatistics(causer, (BestiaryMob) enemy));
+        if (inCombat) {
+            PlayerItemOrigin.OriginCache cache = PlayerItemOrigin.getFromCache(player.getUuid());
+            for (PlayerItemOrigin origin : List.of(PlayerItemOrigin.HELMET, PlayerItemOrigin.CHESTPLATE,
+                    PlayerItemOrigin.LEGGINGS, PlayerItemOrigin.BOOTS)) {
+                SkyBlockItem item = cache.get(origin);
+                if (item.hasComponent(ConstantStatisticsComponent.class)) continue;
+                addEventBasedStatistics(item, causer, enemy, total);
+            }
+
+            SkyBlockItem mainHand = cache.get(PlayerItemOrigin.MAIN_HAND);
+            if (countsAsMainHand(mainHand)) addEventBasedStatistics(mainHand, causer, enemy, total);
+        }
+        return total.build();
+    }
 
-        return total;
+    /**
+     * The sum of the player's armour, held item, skill, level, pet and accessory statistics. It is
+     * only recomputed when one of its inputs changed: the items cached for the looped slots, which
+     * are replaced whenever those slots are re-rendered, the accessory totals, the active pet and
+     * its level, skill statistics, fairy souls or SkyBlock level.
+     */
+    public synchronized ItemStatistics getCachedTotals() {
+        Object[] inputs = totalsInputs();
+        if (cachedTotals == null || !Arrays.equals(inputs, cachedTotalsInputs)) {
+            cachedTotals = new ItemStatistics.Accumulator()
+                    .add(allArmorStatistics(null, null))
+                    .add(mainHandStatistics(null, null))
+                    .add(spareStatistics())
+                    .add(petStatistics())
+                    .add(accessoryStatistics)
+                    .add(ItemStatistic.getOfAllBaseValues())
+                    .build();
+            cachedTotalsInputs = inputs;
+        }
+        return cachedTotals;
+    }
+
+    private Object[] totalsInputs() {
+        PlayerItemOrigin.OriginCache cache = PlayerItemOrigin.getFromCache(player.getUuid());
+        SkyBlockItem pet = player.getPetData().getEnabledPet();
+        return new Object[]{
+                cache.get(PlayerItemOrigin.HELMET),
+                cache.get(PlayerItemOrigin.CHESTPLATE),
+                cache.get(PlayerItemOrigin.LEGGINGS),
+                cache.get(PlayerItemOrigin.BOOTS),
+                cache.get(PlayerItemOrigin.MAIN_HAND),
+                accessoryStatistics,
+                pet,
+                pet == null ? null : pet.getAttributeHandler().getPetData().getAsLevel(pet.getAttributeHandler().getRarity()),
+                player.getSkills().getSkillStatistics(),
+                player.getFairySouls().getExchangedFairySouls().size(),
+                player.getSkyBlockExperience().getLevel()
+        };
     }
 
     public void updateAccessoryStatistics() {
         List<ItemType> usedAccessories = new ArrayList<>();
-        ItemStatistics total = ItemStatistics.builder().build();
+        ItemStatistics.Accumulator total = new ItemStatistics.Accumulator();
         for (ItemStack itemStack : player.getInventory().getItemStacks()) {
             if (SkyBlockItem.isSkyBlockItem(itemStack)) {
                 SkyBlockItem item = new SkyBlockItem(itemStack);
@@ -250,12 +304,8 @@ public class PlayerStatistics {
                 if (usedAccessories.contains(item.getAttributeHandler().getPotentialType())) continue;
 
                 usedAccessories.add(item.getAttributeHandler().getPotentialType());
-                total = ItemStatistics.add(total, ItemStatistics.add(item.getAttributeHandler().getStatistics(),
-                        calculateExtraItemStatisticsToAdd(
-                            item,
-                            null,
-                            null
-                        )));
+                total.add(item.getAttributeHandler().getStatistics());
+                addExtraItemStatistics(item, null, null, total);
             }
         }
         for (SkyBlockItem item : player.getAccessoryBag().getAllAccessories()) {
@@ -264,24 +314,23 @@ public class PlayerStatistics {
             if (usedAccessories.contains(item.getAttributeHandler().getPotentialType())) continue;
 
             usedAccessories.add(item.getAttributeHandler().getPotentialType());
-            total = ItemStatistics.add(total, ItemStatistics.add(item.getAttributeHandler().getStatistics(),
-                    calculateExtraItemStatisticsToAdd(
-                        item,
-                        null,
-                        null
-            )));
+            total.add(item.getAttributeHandler().getStatistics());
+            addExtraItemStatistics(item, null, null, total);
         }
-        accessoryStatistics = total;
+        accessoryStatistics = total.build();
     }
 
-    private ItemStatistics calculateExtraItemStatisticsToAdd(SkyBlockItem item, SkyBlockPlayer causer, LivingEntity enemy) {
-        ItemStatistics statistics = ItemStatistics.builder().build();
-        statistics = getReforgeStatistics(item, statistics);
-        statistics = getGemstoneStatistics(item, statistics);
-        statistics = getEnchantStatistics(item, statistics, causer, enemy);
-        statistics = getHotPotatoBookStatistics(item, statistics);
-
-        return statistics;
+    private void addExtraItemStatistics(SkyBlockItem item, SkyBlockPlayer causer, LivingEntity enemy,
+                                        ItemStatistics.Accumulator total) {
+        total.add(getReforgeStatistics(item, ItemStatistics.empty()));
+        total.add(getGemstoneStatistics(item, ItemStatistics.empty()));
+        total.add(getHotPotatoBookStatistics(item, ItemStatistics.empty()));
+        for (SkyBlockEnchantment enchantment : item.getAttributeHandler().getEnchantments().toList()) {
+            total.add(enchantment.type().getEnch().getStatistics(enchantment.level()));
+        }
+        if (causer != null && enemy != null) {
+            addEventBasedStatistics(item, causer, enemy, total);
+        }
     }
 
     private ItemStatistics getReforgeStatistics(SkyBlockItem item, ItemStatistics statistics) {
@@ -304,40 +353,37 @@ public class PlayerStatistics {
         return statistics;
     }
 
-    private ItemStatistics getEnchantStatistics(SkyBlockItem item, ItemStatistics statistics,
-                                                SkyBlockPlayer causer, LivingEntity enemy) {
+    private void addEventBasedStatistics(SkyBlockItem item, SkyBlockPlayer causer, LivingEntity enemy,
+                                         ItemStatistics.Accumulator total) {
         for (SkyBlockEnchantment enchantment : item.getAttributeHandler().getEnchantments().toList()) {
-            ItemStatistics enchantmentStatistics = enchantment.type().getEnch().getStatistics(enchantment.level()).clone();
-            statistics = ItemStatistics.add(statistics, enchantmentStatistics);
-
-            if (causer != null && enemy != null) {
-                if (enchantment.type().getEnch() instanceof EventBasedEnchant eventBasedStatistic) {
-                    statistics = ItemStatistics.add(statistics, eventBasedStatistic.getStatisticsOnDamage(
-                            causer,
-                            enemy,
-                            enchantment.level()
-                    ));
-                }
+            if (enchantment.type().getEnch() instanceof EventBasedEnchant eventBasedStatistic) {
+                total.add(eventBasedStatistic.getStatisticsOnDamage(
+                        causer,
+                        enemy,
+                        enchantment.level()
+                ));
             }
         }
-        return statistics;
     }
 
-    private ItemStatistics getTemporaryStatistics() {
-        ItemStatistics statistics = ItemStatistics.builder().build();
-
+    /**
+     * @return the sum of the active temporary statistics, or null if there are none
+     */
+    private @Nullable ItemStatistics getTemporaryStatistics() {
         synchronized (temporaryStatistics) {
             temporaryStatistics.removeIf(temporaryStatistic -> temporaryStatistic.getExpiration() < System.currentTimeMillis());
+            temporaryConditionalStatistics.removeIf(temporaryStatistic -> !temporaryStatistic.getExpiry().apply(player));
+            if (temporaryStatistics.isEmpty() && temporaryConditionalStatistics.isEmpty()) return null;
+
+            ItemStatistics.Accumulator statistics = new ItemStatistics.Accumulator();
             for (TemporaryStatistic temporaryStatistic : temporaryStatistics) {
-                statistics = ItemStatistics.add(statistics, temporaryStatistic.getStatistics());
+                statistics.add(temporaryStatistic.getStatistics());
             }
-
-            temporaryConditionalStatistics.removeIf(temporaryStatistic -> !temporaryStatistic.getExpiry().apply(player));
             for (TemporaryConditionalStatistic temporaryStatistic : temporaryConditionalStatistics) {
-                statistics = ItemStatistics.add(statistics, temporaryStatistic.getStatistics().apply(player));
+                statistics.add(temporaryStatistic.getStatistics().apply(player));
             }
 
-            return statistics;
+            return statistics.build();
         }
     }
 
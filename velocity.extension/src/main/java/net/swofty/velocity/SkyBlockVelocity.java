@@ -26,13 +26,9 @@ import com.velocitypowered.api.proxy.ServerConnection;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.api.proxy.server.ServerPing;
-import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
-import com.velocitypowered.proxy.network.Connections;
 import com.viaversion.vialoader.ViaLoader;
 import com.viaversion.vialoader.impl.platform.ViaBackwardsPlatformImpl;
 import com.viaversion.vialoader.impl.platform.ViaRewindPlatformImpl;
-import io.netty.channel.Channel;
-import io.netty.channel.ChannelPipeline;
 import lombok.Getter;
 import net.kyori.adventure.text.Component;
 import net.swofty.commons.ServerType;
@@ -49,8 +45,8 @@ import net.swofty.velocity.gamemanager.BalanceConfiguration;
 import net.swofty.velocity.gamemanager.BalanceConfigurations;
 import net.swofty.velocity.gamemanager.GameManager;
 import net.swofty.velocity.gamemanager.TransferHandler;
+import net.swofty.velocity.gamemanager.TransferScheduler;
 import net.swofty.velocity.presence.PresencePublisher;
-import net.swofty.velocity.packet.PlayerChannelHandler;
 import net.swofty.velocity.redis.ChannelListener;
 import net.swofty.velocity.redis.RedisListener;
 import net.swofty.velocity.redis.RedisMessage;
@@ -118,7 +114,6 @@ public class SkyBlockVelocity {
 		// Register packets
 		server.getEventManager().register(this, PostLoginEvent.class,
 				(AwaitingEventExecutor<PostLoginEvent>) postLoginEvent -> EventTask.withContinuation(continuation -> {
-					injectPlayer(postLoginEvent.getPlayer());
 					TestFlowManager.handlePlayerJoin(postLoginEvent.getPlayer().getUsername());
 					PresencePublisher.publish(postLoginEvent.getPlayer(), true, (String) null, null);
 
@@ -143,7 +138,7 @@ public class SkyBlockVelocity {
 							// Handle test flow player leave
 							TestFlowManager.handlePlayerLeave(disconnectEvent.getPlayer().getUsername());
 							PresencePublisher.publish(disconnectEvent.getPlayer(), false, (String) null, null);
-							removePlayer(disconnectEvent.getPlayer());
+							new TransferHandler(disconnectEvent.getPlayer()).forceRemoveFromLimbo();
 						})
 		);
 
@@ -305,31 +300,34 @@ public class SkyBlockVelocity {
                         return;
                     }*/
 
-					try {
-						ServerType serverTypeToTry = serverType;
-						if (!GameManager.hasType(serverTypeToTry) || !GameManager.isAnyEmpty(serverTypeToTry)) {
-							serverTypeToTry = ServerType.PROTOTYPE_LOBBY;
-						}
-
-						GameManager.GameServer server = BalanceConfigurations.getServerFor(event.getPlayer(), serverTypeToTry);
-						if (server == null) {
+					// Runs on the player's transfer queue, so it cannot interleave with the limbo transfer above
+					TransferScheduler.run(event.getPlayer(), () -> {
+						try {
+							ServerType serverTypeToTry = serverType;
+							if (!GameManager.hasType(serverTypeToTry) || !GameManager.isAnyEmpty(serverTypeToTry)) {
+								serverTypeToTry = ServerType.PROTOTYPE_LOBBY;
+							}
+
+							GameManager.GameServer server = TransferScheduler.selectServer(event.getPlayer(), serverTypeToTry).join();
+							if (server == null) {
+								transferHandler.forceRemoveFromLimbo();
+								event.getPlayer().disconnect(reason);
+								return;
+							}
+							transferHandler.noLimboTransferTo(server.registeredServer());
+
+							if (!serverTypeToTry.isSkyBlock()) {
+								event.getPlayer().sendPlainMessage("§cAn exception occurred in your connection, so you were put into the Prototype Lobby.");
+							} else {
+								event.getPlayer().sendPlainMessage("§cAn exception occurred in your connection, so you were put into another SkyBlock server.");
+							}
+							event.getPlayer().sendPlainMessage("§7Sending to server " + server.displayName() + "...");
+						} catch (Exception e) {
+							Logger.getAnonymousLogger().log(Level.SEVERE, "An exception occurred while trying to transfer " + event.getPlayer().getUsername() + " to " + serverType, e);
 							transferHandler.forceRemoveFromLimbo();
 							event.getPlayer().disconnect(reason);
-							return;
 						}
-						transferHandler.noLimboTransferTo(server.registeredServer());
-
-						if (!serverTypeToTry.isSkyBlock()) {
-							event.getPlayer().sendPlainMessage("§cAn exception occurred in your connection, so you were put into the Prototype Lobby.");
-						} else {
-							event.getPlayer().sendPlainMessage("§cAn exception occurred in your connection, so you were put into another SkyBlock server.");
-						}
-						event.getPlayer().sendPlainMessage("§7Sending to server " + server.displayName() + "...");
-					} catch (Exception e) {
-						Logger.getAnonymousLogger().log(Level.SEVERE, "An exception occurred while trying to transfer " + event.getPlayer().getUsername() + " to " + serverType, e);
-						transferHandler.forceRemoveFromLimbo();
-						event.getPlayer().disconnect(reason);
-					}
+					});
 				});
 	}
 
@@ -374,20 +372,4 @@ public class SkyBlockVelocity {
 				})
 				.filter(java.util.Objects::nonNull);
 	}
-
-	private void injectPlayer(Player player) {
-		final ConnectedPlayer connectedPlayer = (ConnectedPlayer) player;
-		Channel channel = connectedPlayer.getConnection().getChannel();
-		ChannelPipeline pipeline = channel.pipeline();
-		pipeline.addBefore(Connections.HANDLER, "PACKET", new PlayerChannelHandler(player));
-	}
-
-	private void removePlayer(final Player player) {
-		final ConnectedPlayer connectedPlayer = (ConnectedPlayer) player;
-		final Channel channel = connectedPlayer.getConnection().getChannel();
-
-		channel.eventLoop().submit(() -> {
-			channel.pipeline().remove("PACKET");
-		});
-	}
 }
@@ -3,10 +3,11 @@ package net.swofty.velocity.command;
 import com.velocitypowered.api.command.SimpleCommand;
 import net.swofty.velocity.gamemanager.GameManager;
 import net.swofty.velocity.gamemanager.GameManager.GameServer;
+import net.swofty.velocity.gamemanager.health.ServerHealth;
+import net.swofty.velocity.gamemanager.health.ServerHealthMonitor;
 import net.swofty.commons.ServerType;
 import net.kyori.adventure.text.Component;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -14,14 +15,19 @@ public class ServerStatusCommand implements SimpleCommand {
     @Override
     public void execute(Invocation invocation) {
         invocation.source().sendMessage(Component.text("***** Server Status *****"));
+        invocation.source().sendMessage(Component.text(String.format("Health checks: %d rounds, %d responses, %d removals",
+                ServerHealthMonitor.getRounds().sum(),
+                ServerHealthMonitor.getResponses().sum(),
+                ServerHealthMonitor.getRemovals().sum()
+        )));
 
-        Map<ServerType, ArrayList<GameServer>> serverMap = GameManager.getServers();
+        Map<ServerType, List<GameServer>> serverMap = GameManager.getServers();
         if (serverMap.isEmpty()) {
             invocation.source().sendMessage(Component.text("No servers are currently registered."));
             return;
         }
 
-        for (Map.Entry<ServerType, ArrayList<GameServer>> entry : serverMap.entrySet()) {
+        for (Map.Entry<ServerType, List<GameServer>> entry : serverMap.entrySet()) {
             ServerType type = entry.getKey();
             List<GameServer> gameServers = entry.getValue();
 
@@ -40,6 +46,19 @@ public class ServerStatusCommand implements SimpleCommand {
                         server.registeredServer().getPlayersConnected().size()
                 );
                 invocation.source().sendMessage(Component.text(msg));
+
+                ServerHealth health = ServerHealthMonitor.getHealth(server.internalID());
+                if (health == null || health.getHeartbeats() == 0) {
+                    invocation.source().sendMessage(Component.text("   No heartbeats yet"));
+                    continue;
+                }
+                String healthMsg = String.format("   RTT: last %dms, p50 <=%dms, p99 <=%dms, Phi: %.2f",
+                        health.getLastRtt(),
+                        health.rttPercentile(0.5),
+                        health.rttPercentile(0.99),
+                        ServerHealthMonitor.getPhi(server.internalID())
+                );
+                invocation.source().sendMessage(Component.text(healthMsg));
             }
         }
     }
@@ -1,9 +1,21 @@
 package net.swofty.velocity.gamemanager;
 
 import com.velocitypowered.api.proxy.Player;
+import net.swofty.commons.ServerType;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 public abstract class BalanceConfiguration {
     public abstract GameManager.GameServer getServer(Player player, List<GameManager.GameServer> servers);
+
+    /**
+     * Picks a server of the given type out of those accepted by {@code eligible}. By default
+     * the eligible servers are collected and passed to {@link #getServer(Player, List)}.
+     */
+    public GameManager.GameServer getServer(Player player, ServerType type, Predicate<GameManager.GameServer> eligible) {
+        List<GameManager.GameServer> servers = GameManager.getFromType(type);
+        servers.removeIf(eligible.negate());
+        return getServer(player, servers);
+    }
 }
@@ -11,6 +11,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 public class BalanceConfigurations {
 	public static HashMap<ServerType, List<BalanceConfiguration>> configurations = new HashMap<>(Map.ofEntries(
@@ -71,9 +72,9 @@ public class BalanceConfigurations {
 
 		try {
 			for (BalanceConfiguration configuration : configurations.get(type)) {
-				List<GameManager.GameServer> serversToConsider = GameManager.getFromType(type);
+				Predicate<GameManager.GameServer> eligible;
 				if (TestFlowManager.isPlayerInTestFlow(player.getUsername())) {
-					serversToConsider.removeIf(server -> {
+					eligible = server -> {
 						boolean remove = server.maxPlayers() <= server.registeredServer().getPlayersConnected().size();
 
 						if (!TestFlowManager.isServerInTestFlow(server.internalID())) {
@@ -88,23 +89,24 @@ public class BalanceConfigurations {
 							remove = true;
 						}
 
-						return remove;
-					});
+						return !remove;
+					};
 				} else {
-					serversToConsider.removeIf(server -> {
+					eligible = server -> {
 						boolean remove = server.maxPlayers() <= server.registeredServer().getPlayersConnected().size();
 
 						if (TestFlowManager.isServerInTestFlow(server.internalID())) {
 							remove = true;
 						}
 
-						return remove;
-					});
+						return !remove;
+					};
 				}
 
-				GameManager.GameServer server = configuration.getServer(player, serversToConsider);
+				GameManager.GameServer server = configuration.getServer(player, type, eligible);
 
 				if (server != null) {
+					GameManager.reserveSlot(server);
 					if (TestFlowManager.isPlayerInTestFlow(player.getUsername())) {
 						player.sendPlainMessage("§8Done overriding the server manager for your test flow.");
 					}
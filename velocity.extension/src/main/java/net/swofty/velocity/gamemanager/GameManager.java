@@ -3,27 +3,37 @@ package net.swofty.velocity.gamemanager;
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
-import lombok.Getter;
 import net.swofty.commons.ServerType;
 import net.swofty.commons.config.ConfigProvider;
-import net.swofty.commons.proxy.FromProxyChannels;
 import net.swofty.velocity.SkyBlockVelocity;
-import net.swofty.velocity.redis.RedisMessage;
-import net.swofty.velocity.testflow.TestFlowManager;
+import net.swofty.velocity.gamemanager.health.ServerHealthMonitor;
 import org.jetbrains.annotations.Nullable;
-import org.json.JSONObject;
 
 import java.net.InetSocketAddress;
-import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
+/**
+ * Registry of every game server known to the proxy.
+ * <p>
+ * Servers are indexed by UUID, by {@link RegisteredServer} and by type so lookups never scan
+ * the whole network. Each type also keeps its servers ordered by player count; the counts are
+ * refreshed on every heartbeat seen by {@link ServerHealthMonitor} and bumped by
+ * {@link #reserveSlot(GameServer)}, so picking the least loaded server during a mass transfer
+ * is a walk from the head of that order.
+ */
 public class GameManager {
     public static final int SLEEP_TIME = 300;
-    @Getter
-    private static Map<ServerType, ArrayList<GameServer>> servers = new HashMap<>();
 
-    public static GameServer addServer(ServerType type, UUID serverID, String host, int port, int maxPlayers) {
+    private static final Map<UUID, Registration> byId = new ConcurrentHashMap<>();
+    private static final Map<RegisteredServer, Registration> byRegisteredServer = new ConcurrentHashMap<>();
+    private static final Map<ServerType, TypeIndex> byType = new ConcurrentHashMap<>();
+
+    public static synchronized GameServer addServer(ServerType type, UUID serverID, String host, int port, int maxPlayers) {
         port = port == -1 ? getNextAvailablePort() : port;    // if port is -1 then get next available port
         host = (host == null || host.isEmpty()) ? ConfigProvider.settings().getHostName() : host; // if host is null then get from config
         RegisteredServer registeredServer = SkyBlockVelocity.getServer().registerServer(
@@ -41,101 +51,132 @@ public class GameManager {
                 rootName + displayName, shortenedRootName + displayName,
                 serverID, registeredServer, maxPlayers
         );
-        if (!servers.containsKey(type)) servers.put(type, new ArrayList<>(List.of(server)));
-        else servers.get(type).add(server);
+
+        Registration previous = byId.get(serverID);
+        if (previous != null) removeServer(previous.server());
+
+        Registration registration = new Registration(type, server);
+        byId.put(serverID, registration);
+        byRegisteredServer.put(registeredServer, registration);
+        byType.computeIfAbsent(type, k -> new TypeIndex()).add(server);
 
         return server;
     }
 
+    public static synchronized void removeServer(GameServer server) {
+        Registration registration = byId.get(server.internalID());
+        if (registration == null || registration.server() != server) return;
+
+        byId.remove(server.internalID());
+        byRegisteredServer.remove(server.registeredServer(), registration);
+        TypeIndex index = byType.get(registration.type());
+        if (index != null) index.remove(server);
+        ServerHealthMonitor.forget(server.internalID());
+    }
+
+    /**
+     * @return a snapshot of all servers grouped by type, safe to iterate and modify
+     */
+    public static Map<ServerType, List<GameServer>> getServers() {
+        Map<ServerType, List<GameServer>> snapshot = new EnumMap<>(ServerType.class);
+        byType.forEach((type, index) -> snapshot.put(type, new ArrayList<>(index.members)));
+        return snapshot;
+    }
+
+    public static Collection<GameServer> getAllServers() {
+        return byId.values().stream().map(Registration::server).toList();
+    }
+
     public static boolean isAnyEmpty(ServerType type) {
-        return servers.get(type).stream().anyMatch(gameServer -> gameServer.maxPlayers() > gameServer.registeredServer().getPlayersConnected().size());
+        TypeIndex index = byType.get(type);
+        return index != null && index.withFreeSlots.get() > 0;
     }
 
     public static @Nullable GameServer getFromRegisteredServer(RegisteredServer registeredServer) {
-        for (ArrayList<GameServer> gameServers : servers.values()) {
-            for (GameServer gameServer : gameServers) {
-                if (gameServer.registeredServer().equals(registeredServer)) {
-                    return gameServer;
-                }
-            }
-        }
-        return null;
+        if (registeredServer == null) return null;
+        Registration registration = byRegisteredServer.get(registeredServer);
+        return registration == null ? null : registration.server();
     }
 
     public static @Nullable ServerType getTypeFromRegisteredServer(RegisteredServer registeredServer) {
-        for (ServerType type : servers.keySet()) {
-            for (GameServer gameServer : servers.get(type)) {
-                if (gameServer.registeredServer().equals(registeredServer)) return type;
-            }
-        }
-        return null;
+        if (registeredServer == null) return null;
+        Registration registration = byRegisteredServer.get(registeredServer);
+        return registration == null ? null : registration.type();
     }
 
     public static @Nullable ServerType getTypeFromUUID(UUID uuid) {
-        for (ServerType type : servers.keySet()) {
-            for (GameServer gameServer : servers.get(type)) {
-                if (gameServer.internalID().equals(uuid)) return type;
-            }
-        }
-        return null;
+        if (uuid == null) return null;
+        Registration registration = byId.get(uuid);
+        return registration == null ? null : registration.type();
     }
 
     public static boolean hasType(ServerType type) {
-        return servers.containsKey(type) && !servers.get(type).isEmpty();
+        TypeIndex index = byType.get(type);
+        return index != null && !index.members.isEmpty();
     }
 
+    /**
+     * @return a copy of the servers of the given type, safe to modify
+     */
     public static List<GameServer> getFromType(ServerType type) {
-        return servers.get(type);
+        TypeIndex index = byType.get(type);
+        return index == null ? new ArrayList<>() : new ArrayList<>(index.members);
     }
 
-    public static GameServer getFromUUID(UUID uuid) {
-        for (ArrayList<GameServer> gameServers : servers.values()) {
-            for (GameServer gameServer : gameServers) {
-                if (gameServer.internalID().equals(uuid)) return gameServer;
-            }
+    public static @Nullable GameServer getFromUUID(UUID uuid) {
+        if (uuid == null) return null;
+        Registration registration = byId.get(uuid);
+        return registration == null ? null : registration.server();
+    }
+
+    /**
+     * Walks the servers of a type from the least to the most loaded and returns the first one
+     * accepted by the filter.
+     */
+    public static @Nullable GameServer getLeastLoaded(ServerType type, Predicate<GameServer> filter) {
+        TypeIndex index = byType.get(type);
+        if (index == null) return null;
+        for (Load load : index.byLoad) {
+            if (filter.test(load.server())) return load.server();
         }
         return null;
     }
 
+    /**
+     * Counts a player that is about to be sent to the server before its next heartbeat,
+     * so the rest of a transfer burst spreads over the other servers.
+     */
+    public static void reserveSlot(GameServer server) {
+        TypeIndex index = typeIndexOf(server);
+        if (index != null) index.adjust(server, 1);
+    }
+
+    /**
+     * Re-reads the player count of the server into its type's load order.
+     */
+    public static void refreshLoad(GameServer server) {
+        TypeIndex index = typeIndexOf(server);
+        if (index != null) index.setLoad(server, server.registeredServer().getPlayersConnected().size());
+    }
+
+    private static @Nullable TypeIndex typeIndexOf(GameServer server) {
+        Registration registration = byId.get(server.internalID());
+        return registration == null ? null : byType.get(registration.type());
+    }
+
     public static void loopServers(ProxyServer server) {
-        server.getScheduler().buildTask(SkyBlockVelocity.getPlugin(), () -> {
-            servers.forEach((serverType, registeredServers) -> {
-                registeredServers.forEach(registeredServer -> {
-                    RegisteredServer givenServer = registeredServer.registeredServer();
-                    AtomicBoolean pingSuccess = new AtomicBoolean(false);
-                    long startTime = System.currentTimeMillis();
-
-                    RedisMessage.sendMessageToServer(registeredServer.internalID(),
-                            FromProxyChannels.PING_SERVER, new JSONObject()
-                    ).thenRun(() -> {
-                        pingSuccess.set(true);
-                    });
-
-                    server.getScheduler().buildTask(SkyBlockVelocity.getPlugin(), () -> {
-                        if (!pingSuccess.get()) {
-                            System.out.println("Server " + givenServer.getServerInfo().getName() + " is offline! Removing from list...");
-                            System.out.println("Ping was sent at " + startTime + " and was not received at " + System.currentTimeMillis() + " (" + (System.currentTimeMillis() - startTime) + "ms)");
-                            servers.get(serverType).remove(registeredServer);
-
-                            TestFlowManager.handleServerDisconnect(registeredServer.internalID);
-                        }
-                    }).delay(Duration.ofMillis(SLEEP_TIME)).schedule();
-                });
-            });
-        }).repeat(Duration.ofMillis(SLEEP_TIME)).schedule();
+        ServerHealthMonitor.start(server);
     }
 
     private static int getNextAvailableDisplayName() {
         Set<Integer> used = new HashSet<>();
-        for (ArrayList<GameServer> list : servers.values()) {
-            for (GameServer gs : list) {
-                String digits = gs.displayName().replaceAll("[^0-9]", "");
-                if (!digits.isEmpty()) {
-                    try {
-                        int n = Integer.parseInt(digits);
-                        if (n > 0) used.add(n);
-                    } catch (NumberFormatException ignored) {}
-                }
+        for (Registration registration : byId.values()) {
+            String digits = registration.server().displayName().replaceAll("[^0-9]", "");
+            if (!digits.isEmpty()) {
+                try {
+                    int n = Integer.parseInt(digits);
+                    if (n > 0) used.add(n);
+                } catch (NumberFormatException ignored) {}
             }
         }
         int candidate = 1;
@@ -145,14 +186,10 @@ public class GameManager {
 
 
     private static int getNextAvailablePort() {
-        if (servers.isEmpty()) return 20000;
-        if (servers.values().stream().allMatch(ArrayList::isEmpty)) return 20000;
-
-        ArrayList<GameServer> gameServers = new ArrayList<>();
-        servers.values().forEach(gameServers::addAll);
-
-        int highestPort = gameServers.stream().mapToInt(gameServer -> gameServer.registeredServer().getServerInfo().getAddress().getPort()).max().getAsInt();
-        return highestPort + 1;
+        OptionalInt highestPort = byId.values().stream()
+                .mapToInt(registration -> registration.server().registeredServer().getServerInfo().getAddress().getPort())
+                .max();
+        return highestPort.isPresent() ? highestPort.getAsInt() + 1 : 20000;
     }
 
     public record GameServer(String displayName, String shortDisplayName,
@@ -162,4 +199,62 @@ public class GameManager {
             return maxPlayers > registeredServer().getPlayersConnected().size();
         }
     }
+
+    private record Registration(ServerType type, GameServer server) { }
+
+    private record Load(GameServer server, int players) {
+        boolean hasFreeSlots() {
+            return players < server.maxPlayers();
+        }
+    }
+
+    private static final Comparator<Load> LOAD_ORDER = Comparator
+            .comparingInt(Load::players)
+            .thenComparing(load -> load.server().internalID());
+
+    /**
+     * The servers of one type, in registration order and in load order. Writes are
+     * serialised on the index so a server's load entry is never added twice; reads of
+     * either view are lock-free.
+     */
+    private static final class TypeIndex {
+        private final List<GameServer> members = new CopyOnWriteArrayList<>();
+        private final NavigableSet<Load> byLoad = new ConcurrentSkipListSet<>(LOAD_ORDER);
+        private final Map<UUID, Load> loads = new HashMap<>();
+        private final AtomicInteger withFreeSlots = new AtomicInteger();
+
+        synchronized void add(GameServer server) {
+            members.add(server);
+            put(new Load(server, server.registeredServer().getPlayersConnected().size()));
+        }
+
+        synchronized void remove(GameServer server) {
+            members.remove(server);
+            Load old = loads.remove(server.internalID());
+            if (old != null) drop(old);
+        }
+
+        synchronized void setLoad(GameServer server, int players) {
+            Load old = loads.get(server.internalID());
+            if (old == null || old.server() != server || old.players() == players) return;
+            drop(old);
+            put(new Load(server, players));
+        }
+
+        synchronized void adjust(GameServer server, int delta) {
+            Load old = loads.get(server.internalID());
+            if (old != null) setLoad(server, old.players() + delta);
+        }
+
+        private void put(Load load) {
+            loads.put(load.server().internalID(), load);
+            byLoad.add(load);
+            if (load.hasFreeSlots()) withFreeSlots.incrementAndGet();
+        }
+
+        private void drop(Load load) {
+            byLoad.remove(load);
+            if (load.hasFreeSlots()) withFreeSlots.decrementAndGet();
+        }
+    }
 }
\ No newline at end of file
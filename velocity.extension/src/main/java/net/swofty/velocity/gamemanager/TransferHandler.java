@@ -7,21 +7,43 @@ import net.swofty.commons.ServerType;
 import net.swofty.commons.config.ConfigProvider;
 import net.swofty.commons.proxy.FromProxyChannels;
 import net.swofty.velocity.SkyBlockVelocity;
+import net.swofty.velocity.packet.PlayerChannelHandler;
 import net.swofty.velocity.redis.RedisMessage;
 import org.json.JSONObject;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public record TransferHandler(Player player) {
-	public static final Map<Player, ServerType> playersGoalServerType = new HashMap<>();
-	private static final Map<Player, RegisteredServer> playersOriginServer = new HashMap<>();
-	private static final List<Player> disregard = new ArrayList<>();
+	private static final Map<Player, ServerType> playersGoalServerType = new ConcurrentHashMap<>();
+	private static final Map<Player, RegisteredServer> playersOriginServer = new ConcurrentHashMap<>();
+	private static final Set<Player> disregard = ConcurrentHashMap.newKeySet();
 
 	public boolean isInLimbo() {
 		return playersGoalServerType.containsKey(player);
 	}
 
+	/**
+	 * Marks the player as waiting in limbo for a server of the given type and starts
+	 * filtering the packets sent to them.
+	 */
+	public void enterLimbo(ServerType goal) {
+		// Filter first, so nothing is sent unfiltered once the player counts as in limbo
+		PlayerChannelHandler.install(player);
+		playersGoalServerType.put(player, goal);
+		TransferScheduler.setState(player, TransferScheduler.State.IN_LIMBO);
+	}
+
+	/**
+	 * Stops treating the player as being in limbo and removes their packet filter.
+	 */
+	public void leaveLimbo() {
+		if (playersGoalServerType.remove(player) != null) {
+			PlayerChannelHandler.uninstall(player);
+		}
+	}
+
 	public void addToDisregard() {
 		disregard.add(player);
 	}
@@ -36,7 +58,7 @@ public record TransferHandler(Player player) {
 			return;
 		}
 
-		new Thread(() -> {
+		TransferScheduler.run(player, () -> {
 			boolean hasEmptyServer = GameManager.hasType(type) && GameManager.isAnyEmpty(type);
 			if (!hasEmptyServer) {
 				player.sendMessage(Component.text(
@@ -47,16 +69,16 @@ public record TransferHandler(Player player) {
 
 			RegisteredServer limboServer = SkyBlockVelocity.getLimboServer();
 
-			player.createConnectionRequest(limboServer).connectWithIndication();
-			playersGoalServerType.put(player, type);
+			TransferScheduler.setState(player, TransferScheduler.State.SENDING_TO_LIMBO);
 			playersOriginServer.put(player, currentServer);
-		}).start();
+			player.createConnectionRequest(limboServer).connectWithIndication();
+			enterLimbo(type);
+		});
 	}
 
 	public CompletableFuture<Boolean> sendToLimbo() {
-		CompletableFuture<Boolean> future = new CompletableFuture<>();
-
-		new Thread(() -> {
+		return TransferScheduler.run(player, () -> {
+			TransferScheduler.setState(player, TransferScheduler.State.SENDING_TO_LIMBO);
 			if (player.getCurrentServer().isPresent()) {
 				RegisteredServer previousServer = player.getCurrentServer().get().getServer();
 				playersOriginServer.put(player, previousServer);
@@ -64,15 +86,16 @@ public record TransferHandler(Player player) {
 
 			RegisteredServer limboServer = SkyBlockVelocity.getLimboServer();
 			player.createConnectionRequest(limboServer).connectWithIndication();
-			future.complete(true);
-		}).start();
-
-		return future;
+		}).thenApply(ignored -> true);
 	}
 
 	public void previousServerIsFinished(RegisteredServer manualPick) {
-		new Thread(() -> {
+		TransferScheduler.run(player, () -> {
 			if (disregard.contains(player)) return;
+			if (!TransferScheduler.transition(player, TransferScheduler.State.IN_LIMBO, TransferScheduler.State.CONNECTING)) {
+				System.out.println("Ignoring finished transfer of " + player.getUsername() + ", they are not in limbo");
+				return;
+			}
 
 			RegisteredServer originServer = playersOriginServer.get(player);
 			ServerType originServerType = GameManager.getTypeFromRegisteredServer(originServer);
@@ -86,27 +109,33 @@ public record TransferHandler(Player player) {
 							.put("origin-type", originServerType.name())
 			);
 
-			playersGoalServerType.remove(player);
+			leaveLimbo();
 			playersOriginServer.remove(player);
 
 			GameManager.GameServer manualPickAsGame = GameManager.getFromUUID(serverUUID);
 			player.sendMessage(Component.text("§7Sending to server " + manualPickAsGame.displayName() + "..."));
 			player.createConnectionRequest(manualPick).connectWithIndication();
+			TransferScheduler.clearState(player);
 
 			RedisMessage.sendMessageToServer(originServerUUID,
 					FromProxyChannels.PLAYER_HAS_SWITCHED_FROM_HERE,
 					new JSONObject().put("uuid", player.getUniqueId().toString()));
-		}).start();
+		});
 	}
 
 	public void previousServerIsFinished() {
-		new Thread(() -> {
+		TransferScheduler.run(player, () -> {
 			if (disregard.contains(player)) return;
+			if (!TransferScheduler.transition(player, TransferScheduler.State.IN_LIMBO, TransferScheduler.State.SELECTING_SERVER)) {
+				System.out.println("Ignoring finished transfer of " + player.getUsername() + ", they are not in limbo");
+				return;
+			}
 
 			ServerType type = playersGoalServerType.get(player);
-			GameManager.GameServer server = BalanceConfigurations.getServerFor(player, type);
+			GameManager.GameServer server = TransferScheduler.selectServer(player, type).join();
 
 			if (server == null) {
+				forceRemoveFromLimbo();
 				player.disconnect(Component.text("§cThere are no Hypixel (type=" + type.name() + ") servers available at the moment."));
 				return;
 			}
@@ -123,7 +152,8 @@ public record TransferHandler(Player player) {
 			);
 
 			playersOriginServer.remove(player);
-			playersGoalServerType.remove(player);
+			leaveLimbo();
+			TransferScheduler.setState(player, TransferScheduler.State.CONNECTING);
 
 			try {
 				Thread.sleep(ConfigProvider.settings().getTransferTimeout());
@@ -133,24 +163,27 @@ public record TransferHandler(Player player) {
 
 			player.sendMessage(Component.text("§7Sending to server " + server.displayName() + "..."));
 			player.createConnectionRequest(server.registeredServer()).connectWithIndication();
+			TransferScheduler.clearState(player);
 
 			RedisMessage.sendMessageToServer(originServerUUID,
 					FromProxyChannels.PLAYER_HAS_SWITCHED_FROM_HERE,
 					new JSONObject().put("uuid", player.getUniqueId().toString()));
-		}).start();
+		});
 	}
 
 	public void noLimboTransferTo(ServerType type) {
-		new Thread(() -> {
+		TransferScheduler.run(player, () -> {
 			RegisteredServer originServer = playersOriginServer.get(player);
 			ServerType originServerType = GameManager.getTypeFromRegisteredServer(originServer);
 
-			playersGoalServerType.remove(player);
+			leaveLimbo();
 			playersOriginServer.remove(player);
+			TransferScheduler.setState(player, TransferScheduler.State.SELECTING_SERVER);
 
-			GameManager.GameServer server = BalanceConfigurations.getServerFor(player, type);
+			GameManager.GameServer server = TransferScheduler.selectServer(player, type).join();
 
 			if (server == null) {
+				TransferScheduler.clearState(player);
 				player.disconnect(Component.text("§cThere are no Hypixel (type=" + type.name() + ") servers available at the moment."));
 				return;
 			}
@@ -163,23 +196,27 @@ public record TransferHandler(Player player) {
 				);
 			}
 
+			TransferScheduler.setState(player, TransferScheduler.State.CONNECTING);
 			player.sendMessage(Component.text("§7Sending to server " + server.displayName() + "..."));
 			player.createConnectionRequest(server.registeredServer()).connectWithIndication();
-		}).start();
+			TransferScheduler.clearState(player);
+		});
 	}
 
 	public void forceRemoveFromLimbo() {
-		playersGoalServerType.remove(player);
+		leaveLimbo();
 		playersOriginServer.remove(player);
+		TransferScheduler.clearState(player);
 	}
 
 	public void noLimboTransferTo(RegisteredServer toTransferTo) {
-		new Thread(() -> {
+		TransferScheduler.run(player, () -> {
 			RegisteredServer originServer = playersOriginServer.get(player);
 			ServerType originServerType = GameManager.getTypeFromRegisteredServer(originServer);
 
-			playersGoalServerType.remove(player);
+			leaveLimbo();
 			playersOriginServer.remove(player);
+			TransferScheduler.setState(player, TransferScheduler.State.CONNECTING);
 
 			ServerType type = GameManager.getTypeFromRegisteredServer(toTransferTo);
 			UUID serverUUID = UUID.fromString(toTransferTo.getServerInfo().getName());
@@ -192,8 +229,8 @@ public record TransferHandler(Player player) {
 				);
 			}
 
-			GameManager.GameServer toTransferToAsGame = GameManager.getFromUUID(serverUUID);
 			player.createConnectionRequest(toTransferTo).connectWithIndication();
-		}).start();
+			TransferScheduler.clearState(player);
+		});
 	}
 }
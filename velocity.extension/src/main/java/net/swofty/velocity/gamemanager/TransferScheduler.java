@@ -0,0 +1,117 @@
+package net.swofty.velocity.gamemanager;
+
+import com.velocitypowered.api.proxy.Player;
+import net.swofty.commons.ServerType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs player transfers on virtual threads.
+ * <p>
+ * The steps of one player's transfers run one after another in the order they were
+ * submitted, while different players proceed in parallel. Each player in a transfer has a
+ * {@link State}, moved forward with {@link #transition(Player, State, State)} so a step that
+ * arrives out of turn is noticed instead of acting on half-updated state.
+ * <p>
+ * Picking a target server is batched per {@link ServerType}: picks for a type are made one
+ * at a time by a single drainer, so every pick sees the slots reserved by the ones before
+ * it and a burst of players spreads over the servers instead of piling onto one.
+ */
+public final class TransferScheduler {
+    public enum State {
+        SENDING_TO_LIMBO,
+        IN_LIMBO,
+        SELECTING_SERVER,
+        CONNECTING
+    }
+
+    private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Map<UUID, CompletableFuture<Void>> queues = new ConcurrentHashMap<>();
+    private static final Map<UUID, State> states = new ConcurrentHashMap<>();
+
+    private static final Map<ServerType, Queue<Selection>> pendingSelections = new ConcurrentHashMap<>();
+    private static final Set<ServerType> draining = ConcurrentHashMap.newKeySet();
+
+    private TransferScheduler() {}
+
+    /**
+     * Queues a step of the player's transfer behind their previous steps.
+     */
+    public static CompletableFuture<Void> run(Player player, Runnable step) {
+        UUID uuid = player.getUniqueId();
+        CompletableFuture<Void> next = queues.compute(uuid, (k, tail) -> {
+            CompletableFuture<Void> previous = tail == null ? CompletableFuture.completedFuture(null) : tail;
+            return previous.thenRunAsync(() -> {
+                try {
+                    step.run();
+                } catch (Exception e) {
+                    System.out.println("Transfer step for " + player.getUsername() + " failed: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }, executor);
+        });
+        next.whenComplete((ignored, throwable) -> queues.remove(uuid, next));
+        return next;
+    }
+
+    public static @Nullable State getState(Player player) {
+        return states.get(player.getUniqueId());
+    }
+
+    public static void setState(Player player, State state) {
+        states.put(player.getUniqueId(), state);
+    }
+
+    /**
+     * Moves the player from one state to another.
+     *
+     * @param from the state the player must be in, or null if they must not be transferring
+     * @return false if the player was not in {@code from}
+     */
+    public static boolean transition(Player player, @Nullable State from, State to) {
+        if (from == null) return states.putIfAbsent(player.getUniqueId(), to) == null;
+        return states.replace(player.getUniqueId(), from, to);
+    }
+
+    public static void clearState(Player player) {
+        states.remove(player.getUniqueId());
+    }
+
+    /**
+     * Picks the server the player should be sent to, batched with other players heading to
+     * the same type. Completes with null if there is no server to send them to.
+     */
+    public static CompletableFuture<GameManager.GameServer> selectServer(Player player, ServerType type) {
+        CompletableFuture<GameManager.GameServer> result = new CompletableFuture<>();
+        pendingSelections.computeIfAbsent(type, k -> new ConcurrentLinkedQueue<>()).add(new Selection(player, result));
+        if (draining.add(type)) executor.execute(() -> drainSelections(type));
+        return result;
+    }
+
+    private static void drainSelections(ServerType type) {
+        Queue<Selection> queue = pendingSelections.get(type);
+        do {
+            Selection selection;
+            while ((selection = queue.poll()) != null) {
+                try {
+                    selection.result().complete(BalanceConfigurations.getServerFor(selection.player(), type));
+                } catch (Exception e) {
+                    selection.result().completeExceptionally(e);
+                }
+            }
+            draining.remove(type);
+            // A pick queued after the last poll but before the flag was cleared is picked up here
+        } while (!queue.isEmpty() && draining.add(type));
+    }
+
+    private record Selection(Player player, CompletableFuture<GameManager.GameServer> result) { }
+}
@@ -12,9 +12,7 @@ import org.bson.Document;
 import org.jetbrains.annotations.NotNull;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -42,25 +40,18 @@ public class IslandCheck extends BalanceConfiguration {
     private static AtomicReference<GameManager.GameServer> getGameServerAtomicReference(UUID islandUUID) {
         AtomicReference<GameManager.GameServer> toSendTo = new AtomicReference<>(null);
 
-        for (Map.Entry<ServerType, ArrayList<GameManager.GameServer>> entry : GameManager.getServers().entrySet()) {
-            ServerType serverType = entry.getKey();
-            if (serverType == ServerType.SKYBLOCK_ISLAND) {
-                ArrayList<GameManager.GameServer> gameServers = entry.getValue();
+        GameManager.getFromType(ServerType.SKYBLOCK_ISLAND).forEach(gameServer -> {
+            JSONObject jsonResponse = RedisMessage.sendMessageToServer(
+                    gameServer.internalID(),
+                    FromProxyChannels.DOES_SERVER_HAVE_ISLAND,
+                    new JSONObject().put("island-uuid", islandUUID.toString())).join();
 
-                gameServers.forEach(gameServer -> {
-                    JSONObject jsonResponse = RedisMessage.sendMessageToServer(
-                            gameServer.internalID(),
-                            FromProxyChannels.DOES_SERVER_HAVE_ISLAND,
-                            new JSONObject().put("island-uuid", islandUUID.toString())).join();
+            boolean hasIsland = jsonResponse.getBoolean("server-has-it");
 
-                    boolean hasIsland = jsonResponse.getBoolean("server-has-it");
-
-                    if (hasIsland) {
-                        toSendTo.set(gameServer);
-                    }
-                });
+            if (hasIsland) {
+                toSendTo.set(gameServer);
             }
-        }
+        });
         return toSendTo;
     }
 }
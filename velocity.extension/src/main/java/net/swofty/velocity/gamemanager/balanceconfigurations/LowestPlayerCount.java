@@ -1,10 +1,12 @@
 package net.swofty.velocity.gamemanager.balanceconfigurations;
 
 import com.velocitypowered.api.proxy.Player;
+import net.swofty.commons.ServerType;
 import net.swofty.velocity.gamemanager.BalanceConfiguration;
 import net.swofty.velocity.gamemanager.GameManager;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 public class LowestPlayerCount extends BalanceConfiguration {
 
@@ -17,4 +19,10 @@ public class LowestPlayerCount extends BalanceConfiguration {
             return Integer.compare(server1Players, server2Players);
         }).orElse(null);
     }
+
+    @Override
+    public GameManager.GameServer getServer(Player player, ServerType type, Predicate<GameManager.GameServer> eligible) {
+        // Walk the type's load order instead of sorting every candidate
+        return GameManager.getLeastLoaded(type, eligible);
+    }
 }
@@ -0,0 +1,107 @@
+package net.swofty.velocity.gamemanager.health;
+
+/**
+ * Heartbeat history of one server: an RTT histogram, and the recent intervals between
+ * heartbeats used to compute a phi-accrual suspicion level.
+ * <p>
+ * Phi is {@code -log10} of the probability that a heartbeat still arrives this late, given
+ * the observed intervals. It grows smoothly while a server stays silent, so a single late
+ * ping under a GC pause barely moves it while a dead server crosses any threshold quickly.
+ */
+public class ServerHealth {
+    // Upper bounds, in milliseconds, of the RTT histogram buckets; the last one is open
+    private static final long[] RTT_BUCKETS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, Long.MAX_VALUE};
+    private static final int INTERVAL_WINDOW = 50;
+
+    private final long[] rttCounts = new long[RTT_BUCKETS.length];
+    private final long[] intervals = new long[INTERVAL_WINDOW];
+    private int intervalCount;
+    private int nextInterval;
+    private long intervalSum;
+    private long intervalSquareSum;
+
+    private long lastHeartbeat;
+    private long lastRtt = -1;
+    private long heartbeats;
+
+    /**
+     * @param since            when the server was first seen; treated as its first heartbeat
+     * @param expectedInterval the ping interval, used to seed the interval history
+     */
+    public ServerHealth(long since, long expectedInterval) {
+        this.lastHeartbeat = since;
+        long spread = expectedInterval / 4;
+        addInterval(expectedInterval - spread);
+        addInterval(expectedInterval + spread);
+    }
+
+    public synchronized void heartbeat(long now, long rtt) {
+        addInterval(now - lastHeartbeat);
+        lastHeartbeat = now;
+        lastRtt = rtt;
+        heartbeats++;
+
+        int bucket = 0;
+        while (rtt > RTT_BUCKETS[bucket]) bucket++;
+        rttCounts[bucket]++;
+    }
+
+    private void addInterval(long interval) {
+        if (intervalCount == INTERVAL_WINDOW) {
+            long evicted = intervals[nextInterval];
+            intervalSum -= evicted;
+            intervalSquareSum -= evicted * evicted;
+        } else {
+            intervalCount++;
+        }
+        intervals[nextInterval] = interval;
+        nextInterval = (nextInterval + 1) % INTERVAL_WINDOW;
+        intervalSum += interval;
+        intervalSquareSum += interval * interval;
+    }
+
+    /**
+     * @param minStdDeviation  lower bound on the interval deviation, so a very regular server
+     *                         is not suspected the moment one heartbeat is a little late
+     * @param acceptablePause  silence added to the mean interval before suspicion starts to grow
+     */
+    public synchronized double phi(long now, double minStdDeviation, long acceptablePause) {
+        double mean = (double) intervalSum / intervalCount;
+        double variance = (double) intervalSquareSum / intervalCount - mean * mean;
+        double stdDeviation = Math.max(Math.sqrt(Math.max(variance, 0)), minStdDeviation);
+
+        // Logistic approximation of the normal CDF
+        double y = (now - lastHeartbeat - mean - acceptablePause) / stdDeviation;
+        double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+        return y > 0
+                ? -Math.log10(e / (1 + e))
+                : -Math.log10(1 - 1 / (1 + e));
+    }
+
+    /**
+     * @return the upper bound of the histogram bucket holding the given percentile, in
+     *         milliseconds, or -1 before the first heartbeat
+     */
+    public synchronized long rttPercentile(double percentile) {
+        if (heartbeats == 0) return -1;
+        long rank = (long) Math.ceil(percentile * heartbeats);
+        long seen = 0;
+        for (int bucket = 0; bucket < RTT_BUCKETS.length - 1; bucket++) {
+            seen += rttCounts[bucket];
+            if (seen >= rank) return RTT_BUCKETS[bucket];
+        }
+        return RTT_BUCKETS[RTT_BUCKETS.length - 2];
+    }
+
+    public synchronized long getLastRtt() {
+        return lastRtt;
+    }
+
+    public synchronized long getHeartbeats() {
+        return heartbeats;
+    }
+
+    public synchronized long getLastHeartbeat() {
+        return lastHeartbeat;
+    }
+}
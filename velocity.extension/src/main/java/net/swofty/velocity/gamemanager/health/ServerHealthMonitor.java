@@ -0,0 +1,108 @@
+package net.swofty.velocity.gamemanager.health;
+
+import com.velocitypowered.api.proxy.ProxyServer;
+import lombok.Getter;
+import net.swofty.commons.proxy.FromProxyChannels;
+import net.swofty.velocity.SkyBlockVelocity;
+import net.swofty.velocity.gamemanager.GameManager;
+import net.swofty.velocity.redis.RedisMessage;
+import net.swofty.velocity.testflow.TestFlowManager;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONObject;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks that the registered servers are alive.
+ * <p>
+ * Every interval one ping is broadcast to all servers and each answer counts as a heartbeat
+ * for the server that sent it. At the start of the next round every server is judged on its
+ * phi-accrual suspicion level (see {@link ServerHealth}) and removed once it passes
+ * {@link #PHI_THRESHOLD}, instead of on the first missed ping.
+ */
+public class ServerHealthMonitor {
+    public static final double PHI_THRESHOLD = 8.0;
+    public static final double MIN_STD_DEVIATION_MS = 100;
+    public static final long ACCEPTABLE_PAUSE_MS = 300;
+
+    private static final Map<UUID, ServerHealth> health = new ConcurrentHashMap<>();
+    private static volatile @Nullable UUID currentRound;
+
+    @Getter
+    private static final LongAdder rounds = new LongAdder();
+    @Getter
+    private static final LongAdder responses = new LongAdder();
+    @Getter
+    private static final LongAdder removals = new LongAdder();
+
+    public static void start(ProxyServer server) {
+        server.getScheduler().buildTask(SkyBlockVelocity.getPlugin(), ServerHealthMonitor::runRound)
+                .repeat(Duration.ofMillis(GameManager.SLEEP_TIME))
+                .schedule();
+    }
+
+    private static void runRound() {
+        long now = System.currentTimeMillis();
+
+        // Answers to the previous round arriving from now on are too late to count
+        UUID previousRound = currentRound;
+        if (previousRound != null) RedisMessage.endBroadcast(previousRound);
+
+        for (GameManager.GameServer gameServer : GameManager.getAllServers()) {
+            ServerHealth serverHealth = health.computeIfAbsent(gameServer.internalID(),
+                    k -> new ServerHealth(now, GameManager.SLEEP_TIME));
+            double phi = serverHealth.phi(now, MIN_STD_DEVIATION_MS, ACCEPTABLE_PAUSE_MS);
+            if (phi <= PHI_THRESHOLD) continue;
+
+            System.out.println("Server " + gameServer.registeredServer().getServerInfo().getName() + " is offline! Removing from list...");
+            System.out.println("Last heartbeat was received at " + serverHealth.getLastHeartbeat() + ", " + (now - serverHealth.getLastHeartbeat()) + "ms ago (phi " + String.format("%.1f", phi) + ")");
+            GameManager.removeServer(gameServer);
+            removals.increment();
+
+            TestFlowManager.handleServerDisconnect(gameServer.internalID());
+        }
+
+        rounds.increment();
+        currentRound = RedisMessage.broadcastToServers(FromProxyChannels.PING_SERVER, new JSONObject(),
+                response -> onPong(response, now));
+    }
+
+    private static void onPong(JSONObject response, long sentAt) {
+        // Our own broadcast and answers from outdated servers carry no server
+        if (!response.has("server-uuid")) return;
+
+        UUID serverUUID;
+        try {
+            serverUUID = UUID.fromString(response.getString("server-uuid"));
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+
+        GameManager.GameServer gameServer = GameManager.getFromUUID(serverUUID);
+        if (gameServer == null) return;
+
+        long now = System.currentTimeMillis();
+        health.computeIfAbsent(serverUUID, k -> new ServerHealth(sentAt, GameManager.SLEEP_TIME))
+                .heartbeat(now, now - sentAt);
+        responses.increment();
+        GameManager.refreshLoad(gameServer);
+    }
+
+    public static @Nullable ServerHealth getHealth(UUID serverUUID) {
+        return health.get(serverUUID);
+    }
+
+    public static double getPhi(UUID serverUUID) {
+        ServerHealth serverHealth = health.get(serverUUID);
+        if (serverHealth == null) return 0;
+        return serverHealth.phi(System.currentTimeMillis(), MIN_STD_DEVIATION_MS, ACCEPTABLE_PAUSE_MS);
+    }
+
+    public static void forget(UUID serverUUID) {
+        health.remove(serverUUID);
+    }
+}
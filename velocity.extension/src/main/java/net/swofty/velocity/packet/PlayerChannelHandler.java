@@ -1,56 +1,93 @@
 package net.swofty.velocity.packet;
 
 import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.network.Connections;
 import com.velocitypowered.proxy.protocol.packet.*;
 import com.velocitypowered.proxy.protocol.packet.chat.SystemChatPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.legacy.LegacyChatPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.session.SessionPlayerChatPacket;
 import com.velocitypowered.proxy.protocol.packet.config.*;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.ChannelPromise;
-import net.swofty.velocity.gamemanager.TransferHandler;
+import io.netty.util.ReferenceCountUtil;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Drops outbound packets that would leak the world of the server a player is leaving while
+ * they wait in limbo. The handler is added to a player's pipeline the first time they enter
+ * limbo and stays there, outside limbo it only reads a volatile flag per packet; see
+ * {@link #install(Player)} and {@link #uninstall(Player)}.
+ */
 public final class PlayerChannelHandler extends ChannelDuplexHandler {
-    private final Player player;
-    private RespawnPacket respawn = null;
+    private static final String NAME = "PACKET";
 
-    public PlayerChannelHandler(final Player player) {
-        this.player = player;
-    }
+    // Packets a player in limbo is still allowed to receive
+    private static final Set<Class<?>> ALLOWED_IN_LIMBO = identitySet(
+            BossBarPacket.class,
+            StartUpdatePacket.class,
+            KeepAlivePacket.class,
+            RegistrySyncPacket.class,
+            FinishedUpdatePacket.class,
+            PluginMessagePacket.class,
+            LegacyChatPacket.class,
+            SystemChatPacket.class,
+            SessionPlayerChatPacket.class,
+            KnownPacksPacket.class,
+            TagsUpdatePacket.class
+    );
+
+    private volatile boolean inLimbo = true;
 
     @Override
     public void write(final ChannelHandlerContext ctx, final Object packet, final ChannelPromise promise) throws Exception {
-        try {
-            if (new TransferHandler(player).isInLimbo()
-                    //&& packet.getClass() != RespawnPacket.class
-                    //&& packet.getClass() != JoinGamePacket.class
-                    && packet.getClass() != BossBarPacket.class
-                    && packet.getClass() != StartUpdatePacket.class
-                    && packet.getClass() != KeepAlivePacket.class
-                    && packet.getClass() != RegistrySyncPacket.class
-                    && packet.getClass() != FinishedUpdatePacket.class
-                    && packet.getClass() != PluginMessagePacket.class
-                    && packet.getClass() != LegacyChatPacket.class
-                    && packet.getClass() != SystemChatPacket.class
-                    && packet.getClass() != SessionPlayerChatPacket.class
-                    && packet.getClass() != KnownPacksPacket.class
-                    && packet.getClass() != TagsUpdatePacket.class
-            ) {
-                //System.out.println("Blocked packet " + packet.getClass().getSimpleName() + " from being sent to " + player.getUsername() + " because they are in limbo.");
-                return;
-            }
-            if (respawn == null && packet.getClass() == RespawnPacket.class) {
-                respawn = (RespawnPacket) packet;
-            }
-            if (packet.getClass() != RespawnPacket.class && new TransferHandler(player).isInLimbo()) {
-                if (respawn != null) {
-                    write(ctx, respawn, ctx.newPromise());
-                }
+        if (inLimbo && !ALLOWED_IN_LIMBO.contains(packet.getClass())) {
+            ReferenceCountUtil.release(packet);
+            promise.trySuccess();
+            return;
+        }
+
+        super.write(ctx, packet, promise);
+    }
+
+    /**
+     * Starts filtering the packets sent to a player, any packet written after this returns
+     * is filtered. Does nothing if already filtering.
+     */
+    public static void install(Player player) {
+        ChannelPipeline pipeline = channelOf(player).pipeline();
+        synchronized (pipeline) {
+            if (pipeline.get(NAME) instanceof PlayerChannelHandler handler) {
+                handler.inLimbo = true;
+            } else if (pipeline.get(Connections.HANDLER) != null) {
+                pipeline.addBefore(Connections.HANDLER, NAME, new PlayerChannelHandler());
             }
-        } catch (Exception ignored) {}
+        }
+    }
 
+    /**
+     * Stops filtering the packets sent to a player, any packet written after this returns
+     * is let through. Does nothing if not filtering.
+     */
+    public static void uninstall(Player player) {
+        if (channelOf(player).pipeline().get(NAME) instanceof PlayerChannelHandler handler) {
+            handler.inLimbo = false;
+        }
+    }
 
-        super.write(ctx, packet, promise);
+    private static Channel channelOf(Player player) {
+        return ((ConnectedPlayer) player).getConnection().getChannel();
+    }
+
+    private static Set<Class<?>> identitySet(Class<?>... classes) {
+        Set<Class<?>> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        Collections.addAll(set, classes);
+        return Collections.unmodifiableSet(set);
     }
-}
\ No newline at end of file
+}
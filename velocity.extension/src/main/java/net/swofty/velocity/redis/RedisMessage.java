@@ -5,13 +5,15 @@ import net.swofty.redisapi.api.ChannelRegistry;
 import net.swofty.redisapi.api.RedisAPI;
 import org.json.JSONObject;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class RedisMessage {
-    private static final Map<UUID, CompletableFuture<JSONObject>> callbacks = new HashMap<>();
+    private static final Map<UUID, CompletableFuture<JSONObject>> callbacks = new ConcurrentHashMap<>();
+    private static final Map<UUID, Consumer<JSONObject>> broadcastCallbacks = new ConcurrentHashMap<>();
 
     public static CompletableFuture<JSONObject> sendMessageToServer(UUID server,
                                                                 FromProxyChannels channel,
@@ -20,6 +22,8 @@ public class RedisMessage {
         CompletableFuture<JSONObject> future = new CompletableFuture<>();
 
         callbacks.put(requestID, future);
+        // Also drops the callback when the caller gives up on the future, e.g. through orTimeout
+        future.whenComplete((response, throwable) -> callbacks.remove(requestID));
 
         RedisAPI.getInstance().publishMessage(
                 server.toString(),
@@ -29,6 +33,28 @@ public class RedisMessage {
         return future;
     }
 
+    /**
+     * Sends one message to every server. Each response is handed to {@code onResponse} until
+     * {@link #endBroadcast(UUID)} is called with the returned request ID.
+     */
+    public static UUID broadcastToServers(FromProxyChannels channel,
+                                          JSONObject message,
+                                          Consumer<JSONObject> onResponse) {
+        UUID requestID = UUID.randomUUID();
+        broadcastCallbacks.put(requestID, onResponse);
+
+        RedisAPI.getInstance().publishMessage(
+                "all",
+                ChannelRegistry.getFromName(channel.getChannelName()),
+                requestID + "}=-=-={" + message.toString());
+
+        return requestID;
+    }
+
+    public static void endBroadcast(UUID requestID) {
+        broadcastCallbacks.remove(requestID);
+    }
+
     public static void registerProxyToServer(FromProxyChannels channel) {
         RedisAPI.getInstance().registerChannel(channel.getChannelName(), (event) -> {
             String[] split = event.message.split("}=-=-=\\{");
@@ -36,8 +62,14 @@ public class RedisMessage {
             String rawMessage = split[1];
 
             try {
-                callbacks.get(request).complete(new JSONObject(rawMessage));
-                callbacks.remove(request);
+                Consumer<JSONObject> broadcastCallback = broadcastCallbacks.get(request);
+                if (broadcastCallback != null) {
+                    broadcastCallback.accept(new JSONObject(rawMessage));
+                    return;
+                }
+
+                CompletableFuture<JSONObject> callback = callbacks.remove(request);
+                if (callback != null) callback.complete(new JSONObject(rawMessage));
             } catch (Exception e) {
                 System.out.println("RedisMessage: Error while processing message");
                 System.out.println("Channel: " + event.channel);
@@ -94,11 +94,11 @@ public class ListenerPlayerHandler extends RedisListener {
                 transferHandler.sendToLimbo().join();
 
                 // Trick the packet blocker into thinking player is in normal transfer process
-                TransferHandler.playersGoalServerType.put(player, ServerType.SKYBLOCK_HUB);
+                transferHandler.enterLimbo(ServerType.SKYBLOCK_HUB);
 
 				CompletableFuture.delayedExecutor(ConfigProvider.settings().getTransferTimeout(), TimeUnit.MILLISECONDS)
 						.execute(() -> {
-							TransferHandler.playersGoalServerType.remove(player);
+							transferHandler.leaveLimbo();
 							transferHandler.noLimboTransferTo(serverInfo.registeredServer());
 							transferHandler.removeFromDisregard();
 						});